@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.perf.blocking;
+
+import ratpack.func.Action;
+import ratpack.handling.Context;
+import ratpack.handling.Handler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+/**
+ * Reads a file with blocking IO for each request, and sends its content.
+ */
+public class FileReadingHandler implements Handler {
+
+  private final Path file;
+
+  public FileReadingHandler(Path file) {
+    this.file = file;
+  }
+
+  public void handle(final Context context) {
+    context.blocking(new Callable<byte[]>() {
+      public byte[] call() throws Exception {
+        return Files.readAllBytes(file);
+      }
+    }).then(new Action<byte[]>() {
+      public void execute(byte[] bytes) {
+        context.getResponse().send(bytes);
+      }
+    });
+  }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.perf.blocking;
+
+import ratpack.func.Action;
+import ratpack.handling.Context;
+import ratpack.handling.Handler;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Simulates waiting on a slow downstream resource, tying up a blocking thread for each request.
+ */
+public class SleepingHandler implements Handler {
+
+  private final long sleepMillis;
+
+  public SleepingHandler(long sleepMillis) {
+    this.sleepMillis = sleepMillis;
+  }
+
+  public void handle(final Context context) {
+    context.blocking(new Callable<String>() {
+      public String call() throws Exception {
+        Thread.sleep(sleepMillis);
+        return "ok";
+      }
+    }).then(new Action<String>() {
+      public void execute(String result) {
+        context.render(result);
+      }
+    });
+  }
+
+}
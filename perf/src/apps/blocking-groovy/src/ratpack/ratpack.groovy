@@ -0,0 +1,24 @@
+import ratpack.perf.blocking.*
+import ratpack.perf.incl.*
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import static ratpack.groovy.Groovy.*
+
+ratpack {
+  handlers {
+    handler("stop", new StopHandler())
+    handler("startup", new StartupHandler())
+    handler("memory", new MemoryHandler())
+    handler("jfr", new FlightRecorderHandler())
+
+    handler("blocking", new SleepingHandler(10))
+
+    Path file = Files.createTempFile("ratpack-perf", ".txt")
+    file.toFile().deleteOnExit()
+    Files.write(file, ("x" * 4096).bytes)
+
+    handler("blocking-io", new FileReadingHandler(file))
+  }
+}
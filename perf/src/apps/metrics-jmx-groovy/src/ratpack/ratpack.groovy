@@ -16,6 +16,9 @@ ratpack {
 
   handlers {
     handler("stop", new StopHandler())
+    handler("startup", new StartupHandler())
+    handler("memory", new MemoryHandler())
+    handler("jfr", new FlightRecorderHandler())
 
     handler("render") {
       render "ok"
@@ -0,0 +1,30 @@
+import ratpack.form.Form
+import ratpack.jackson.JacksonModule
+import ratpack.perf.incl.*
+
+import static ratpack.groovy.Groovy.*
+import static ratpack.jackson.Jackson.fromJson
+import static ratpack.jackson.Jackson.json
+
+ratpack {
+  bindings {
+    add new JacksonModule()
+  }
+
+  handlers {
+    handler("stop", new StopHandler())
+    handler("startup", new StartupHandler())
+    handler("memory", new MemoryHandler())
+    handler("jfr", new FlightRecorderHandler())
+
+    handler("json") {
+      def body = parse(fromJson(Map))
+      render json(body)
+    }
+
+    handler("upload") {
+      def form = parse(Form)
+      render form.file("file").bytes.length.toString()
+    }
+  }
+}
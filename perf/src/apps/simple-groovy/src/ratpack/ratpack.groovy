@@ -4,6 +4,9 @@ import static ratpack.groovy.Groovy.*
 ratpack {
   handlers {
     handler("stop", new StopHandler())
+    handler("startup", new StartupHandler())
+    handler("memory", new MemoryHandler())
+    handler("jfr", new FlightRecorderHandler())
 
     handler("render") {
       render "ok"
@@ -20,6 +20,10 @@ public class HandlerFactory implements ratpack.launch.HandlerFactory {
       <% } %>
         handler("stop", new StopHandler()).
 
+        handler("startup", new StartupHandler()).
+        handler("memory", new MemoryHandler()).
+        handler("jfr", new FlightRecorderHandler()).
+
         handler("render", new Handler() {
           public void handle(Context context) {
             context.render("ok");
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.perf.streaming;
+
+import ratpack.websocket.WebSocket;
+import ratpack.websocket.WebSocketClose;
+import ratpack.websocket.WebSocketHandler;
+import ratpack.websocket.WebSocketMessage;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends each message received on a websocket to every open websocket, including the sender.
+ * <p>
+ * A single instance must be shared by all connections.
+ */
+public class BroadcastHandler implements WebSocketHandler<WebSocket> {
+
+  private final Set<WebSocket> webSockets = ConcurrentHashMap.newKeySet();
+
+  public WebSocket onOpen(WebSocket webSocket) {
+    webSockets.add(webSocket);
+    return webSocket;
+  }
+
+  public void onClose(WebSocketClose<WebSocket> close) {
+    webSockets.remove(close.getOpenResult());
+  }
+
+  public void onMessage(WebSocketMessage<WebSocket> frame) {
+    String text = frame.getText();
+    for (WebSocket webSocket : webSockets) {
+      if (webSocket.isOpen()) {
+        webSocket.send(text);
+      }
+    }
+  }
+
+}
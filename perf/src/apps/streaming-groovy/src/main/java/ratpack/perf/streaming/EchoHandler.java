@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.perf.streaming;
+
+import ratpack.websocket.WebSocket;
+import ratpack.websocket.WebSocketClose;
+import ratpack.websocket.WebSocketHandler;
+import ratpack.websocket.WebSocketMessage;
+
+/**
+ * Sends each message received on a websocket straight back to the sender.
+ */
+public class EchoHandler implements WebSocketHandler<WebSocket> {
+
+  public WebSocket onOpen(WebSocket webSocket) {
+    return webSocket;
+  }
+
+  public void onClose(WebSocketClose<WebSocket> close) {
+  }
+
+  public void onMessage(WebSocketMessage<WebSocket> frame) {
+    frame.getConnection().send(frame.getText());
+  }
+
+}
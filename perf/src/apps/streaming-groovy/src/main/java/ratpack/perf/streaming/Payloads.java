@@ -0,0 +1,105 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.perf.streaming;
+
+import com.google.common.collect.ImmutableList;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.reactivestreams.Publisher;
+import ratpack.func.Function;
+import ratpack.sse.ServerSentEvent;
+import ratpack.stream.Streams;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Content for the streaming endpoints, created once so that only the cost of serving it is measured.
+ */
+public abstract class Payloads {
+
+  public static final int FILE_SIZE = 64 * 1024;
+  public static final int CHUNK_SIZE = 1024;
+  public static final int CHUNKS = 16;
+  public static final int EVENTS = 16;
+
+  private static final Path FILE = createFile();
+  private static final List<String> TEXT_CHUNKS = createChunks();
+  private static final List<ServerSentEvent> SERVER_SENT_EVENTS = createEvents();
+
+  private Payloads() {
+  }
+
+  public static Path file() {
+    return FILE;
+  }
+
+  public static Publisher<String> textChunks() {
+    return Streams.publish(TEXT_CHUNKS);
+  }
+
+  public static Publisher<ByteBuf> bufferChunks() {
+    return Streams.map(Streams.publish(TEXT_CHUNKS), new Function<String, ByteBuf>() {
+      public ByteBuf apply(String chunk) {
+        return Unpooled.copiedBuffer(chunk, StandardCharsets.US_ASCII);
+      }
+    });
+  }
+
+  public static Publisher<ServerSentEvent> events() {
+    return Streams.publish(SERVER_SENT_EVENTS);
+  }
+
+  private static Path createFile() {
+    try {
+      Path file = Files.createTempFile("ratpack-perf", ".bin");
+      file.toFile().deleteOnExit();
+      byte[] bytes = new byte[FILE_SIZE];
+      new Random(0).nextBytes(bytes);
+      Files.write(file, bytes);
+      return file;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static List<String> createChunks() {
+    char[] chars = new char[CHUNK_SIZE];
+    Arrays.fill(chars, 'x');
+    String chunk = new String(chars);
+    ImmutableList.Builder<String> chunks = ImmutableList.builder();
+    for (int i = 0; i < CHUNKS; ++i) {
+      chunks.add(chunk);
+    }
+    return chunks.build();
+  }
+
+  private static List<ServerSentEvent> createEvents() {
+    ImmutableList.Builder<ServerSentEvent> events = ImmutableList.builder();
+    for (int i = 0; i < EVENTS; ++i) {
+      events.add(ServerSentEvent.builder().id(Integer.toString(i)).type("tick").data("event " + i).build());
+    }
+    return events.build();
+  }
+
+}
@@ -0,0 +1,44 @@
+import ratpack.perf.incl.*
+import ratpack.perf.streaming.*
+
+import static ratpack.groovy.Groovy.*
+import static ratpack.http.ResponseChunks.stringChunks
+import static ratpack.sse.ServerSentEvents.serverSentEvents
+import static ratpack.websocket.WebSockets.websocket
+
+ratpack {
+  handlers {
+    handler("stop", new StopHandler())
+    handler("startup", new StartupHandler())
+    handler("memory", new MemoryHandler())
+    handler("jfr", new FlightRecorderHandler())
+
+    def file = Payloads.file()
+    handler("file") {
+      render file
+    }
+
+    handler("chunks") {
+      render stringChunks(Payloads.textChunks())
+    }
+
+    handler("stream") {
+      // Raw streams are not chunked, so the length must be known for the connection to be reused
+      response.headers.set("Content-Length", Payloads.CHUNKS * Payloads.CHUNK_SIZE)
+      response.sendStream(Payloads.bufferChunks())
+    }
+
+    handler("sse") {
+      render serverSentEvents(Payloads.events())
+    }
+
+    handler("websocket-echo") {
+      websocket(context, new EchoHandler())
+    }
+
+    def broadcast = new BroadcastHandler()
+    handler("websocket-broadcast") {
+      websocket(context, broadcast)
+    }
+  }
+}
@@ -18,6 +18,9 @@ ratpack {
 
   handlers {
     handler("stop", new StopHandler())
+    handler("startup", new StartupHandler())
+    handler("memory", new MemoryHandler())
+    handler("jfr", new FlightRecorderHandler())
 
     def endpoint = System.getProperty("endpoint")
 
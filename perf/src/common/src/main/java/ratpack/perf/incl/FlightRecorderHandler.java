@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.perf.incl;
+
+import ratpack.handling.*;
+import ratpack.util.MultiValueMap;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Records lock contention in the app with Java Flight Recorder, for the harness to capture over a run.
+ * <p>
+ * {@code jfr?start} starts a recording, and {@code jfr?stop=<file>} stops it and writes it to the given file.
+ * The recorder is driven through JMX so that this compiles on JVMs without the flight recorder API.
+ * If the JVM has no flight recorder, responds with a 404.
+ */
+public class FlightRecorderHandler implements Handler {
+
+  private static final String SETTINGS = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+    + "<configuration version=\"2.0\" label=\"Contention\">"
+    + "<event name=\"jdk.JavaMonitorEnter\"><setting name=\"enabled\">true</setting><setting name=\"stackTrace\">true</setting><setting name=\"threshold\">100 us</setting></event>"
+    + "<event name=\"jdk.ThreadPark\"><setting name=\"enabled\">true</setting><setting name=\"stackTrace\">true</setting><setting name=\"threshold\">100 us</setting></event>"
+    + "<event name=\"jdk.CPULoad\"><setting name=\"enabled\">true</setting><setting name=\"period\">1 s</setting></event>"
+    + "</configuration>";
+
+  private static final String[] ID = {"long"};
+
+  private Long recording;
+
+  public synchronized void handle(Context context) throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName recorder = new ObjectName("jdk.management.jfr:type=FlightRecorder");
+    if (!server.isRegistered(recorder)) {
+      context.clientError(404);
+      return;
+    }
+
+    MultiValueMap<String, String> params = context.getRequest().getQueryParams();
+    if (params.containsKey("start")) {
+      if (recording == null) {
+        recording = (Long) server.invoke(recorder, "newRecording", null, null);
+        server.invoke(recorder, "setConfiguration", new Object[]{recording, SETTINGS}, new String[]{"long", "java.lang.String"});
+        server.invoke(recorder, "startRecording", new Object[]{recording}, ID);
+      }
+    } else if (params.containsKey("stop")) {
+      if (recording != null) {
+        server.invoke(recorder, "stopRecording", new Object[]{recording}, ID);
+        server.invoke(recorder, "copyTo", new Object[]{recording, params.get("stop")}, new String[]{"long", "java.lang.String"});
+        server.invoke(recorder, "closeRecording", new Object[]{recording}, ID);
+        recording = null;
+      }
+    } else {
+      context.clientError(400);
+      return;
+    }
+
+    context.render("ok");
+  }
+
+}
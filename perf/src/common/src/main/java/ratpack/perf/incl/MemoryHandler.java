@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.perf.incl;
+
+import ratpack.handling.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reports the heap used after a full GC, the bytes allocated by live threads so far and the CPU time used by the process so far, as JSON,
+ * for the harness to sample before and after a run.
+ */
+public class MemoryHandler implements Handler {
+
+  public void handle(Context context) {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    memory.gc();
+    long heapAfterGc = memory.getHeapMemoryUsage().getUsed();
+
+    long allocated = -1;
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+      if (sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()) {
+        allocated = 0;
+        for (long bytes : sunThreads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+          if (bytes > 0) {
+            allocated += bytes;
+          }
+        }
+      }
+    }
+
+    long cpuTime = -1;
+    OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    if (os instanceof com.sun.management.OperatingSystemMXBean) {
+      cpuTime = ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+    }
+
+    context.getResponse().send("application/json", "{\"heapAfterGc\": " + heapAfterGc + ", \"allocated\": " + allocated + ", \"cpuTime\": " + cpuTime + "}");
+  }
+
+}
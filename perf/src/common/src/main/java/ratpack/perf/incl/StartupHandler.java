@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.perf.incl;
+
+import ratpack.handling.*;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reports the time since the app's JVM started, as JSON, so the harness can measure the time to the first request.
+ */
+public class StartupHandler implements Handler {
+
+  public void handle(Context context) {
+    long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+    context.getResponse().send("application/json", "{\"uptime\": " + uptime + "}");
+  }
+
+}
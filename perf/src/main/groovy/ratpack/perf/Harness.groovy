@@ -21,13 +21,17 @@ import groovy.json.JsonSlurper
 import groovy.util.logging.Slf4j
 import org.gradle.tooling.GradleConnector
 import org.gradle.tooling.ProjectConnection
+import ratpack.perf.support.AppCpu
+import ratpack.perf.support.AppMemory
+import ratpack.perf.support.Contention
+import ratpack.perf.support.Endpoint
 import ratpack.perf.support.HtmlReportGenerator
 import ratpack.perf.support.LatchResultHandler
-import ratpack.perf.support.Requester
+import ratpack.perf.support.LoadGenerator
+import ratpack.perf.support.RunResults
 import ratpack.perf.support.SessionResults
 
 import java.util.concurrent.CountDownLatch
-import java.util.concurrent.Executors
 
 //@CompileStatic
 @Slf4j
@@ -68,10 +72,22 @@ class Harness {
 
     LinkedList<String> apps = appsBaseDir.listFiles().findAll { File it -> it.directory && (!it.name.startsWith(".")) }.collect { File it -> it.name } as LinkedList<String>
 
-    def concurrency = Math.ceil(Runtime.runtime.availableProcessors() * 2).toInteger()
-    log.debug "Request concurrency: $concurrency"
-    def executor = Executors.newFixedThreadPool(concurrency)
-    def requester = new Requester("http://localhost:5050")
+    def baseUrl = "http://localhost:5050"
+    def rate = Integer.getInteger("rate", 2000)
+    def connections = Integer.getInteger("connections", 256)
+    log.debug "Request rate: $rate/s, max connections: $connections"
+    Map<Integer, LoadGenerator> loadGenerators = [:].withDefault { Integer maxConnections -> new LoadGenerator("localhost", 5050, maxConnections) }
+
+    // In sweep mode, each endpoint is tested with each combination of app thread count and client concurrency
+    def sweep = Boolean.getBoolean("sweep")
+    List<Integer> threadCounts = sweep ? integers("threads", defaultThreadCounts()) : [-1]
+    List<Integer> concurrencies = sweep ? integers("concurrency", [16, 64, 256]) : [connections]
+    if (sweep) {
+      log.info "Sweeping threads: $threadCounts, concurrency: $concurrencies"
+    }
+
+    def recordContention = Boolean.getBoolean("jfr")
+    def startupTarget = Long.getLong("startupTarget", -1)
 
     // Make sure we can compile each of the apps…
 
@@ -94,8 +110,8 @@ class Harness {
       }
     }
 
-    def warmup = new Settings(10000, 3, 1)
-    def real = new Settings(100000, 10, 1)
+    def warmup = new Settings(rate, 10, 1)
+    def real = new Settings(rate, 60, 1)
 
     if (Boolean.getBoolean("smoke")) {
       warmup = new Settings(10, 1, 1)
@@ -103,7 +119,7 @@ class Harness {
     }
 
     if (Boolean.getBoolean("quick")) {
-      real = new Settings(10000, 5, 1)
+      real = new Settings(rate, 15, 1)
     }
 
     // Start testing…
@@ -122,9 +138,9 @@ class Harness {
         log.debug "Connecting to $versionDir..."
         def connection = openConnection(versionDir)
         try {
-          def endpoints = new JsonSlurper().parse(new File(versionDir, "endpoints.json")) as List<String>
-          endpoints.each { String endpoint ->
-            if (!filters.testEndpoint(appName, endpoint)) {
+          def endpoints = (new JsonSlurper().parse(new File(versionDir, "endpoints.json")) as List).collect { Endpoint.of(it) }
+          endpoints.each { Endpoint endpoint ->
+            if (!filters.testEndpoint(appName, endpoint.name)) {
               log.debug "skipping $appName:$endpoint as it is filtered out"
               return
             }
@@ -133,24 +149,47 @@ class Harness {
             log.info "Testing endpoint: $endpoint"
 
             String endpointName = "$appName:$endpoint"
-            def versionName = version
-
-            log.info "starting app…"
-            startApp(connection, endpoint)
-            log.info "app started"
-
-            try {
-              requester.run("warmup", warmup, executor, endpoint)
-              def results = requester.run("real", real, executor, endpoint)
 
-              sessionResults.endpoints[endpointName].results[versionName] = results
-
-              log.info "Average ms per request: " + results.msPerRequest
-            } catch (Throwable e) {
-              log.error "Exception while testing app", e
-            } finally {
-              log.info "stopping..."
-              requester.stopApp()
+            threadCounts.each { int threads ->
+              log.info "starting app…"
+              def timeToFirstRequestMs = startApp(connection, baseUrl, endpoint.name, threads)
+              log.info "app started, first request served ${timeToFirstRequestMs}ms after JVM start"
+              if (startupTarget > 0 && timeToFirstRequestMs > startupTarget) {
+                log.warn "Time to first request of ${timeToFirstRequestMs}ms exceeds the target of ${startupTarget}ms"
+              }
+
+              try {
+                loadGenerators[concurrencies.first()].run("warmup", warmup, endpoint)
+
+                concurrencies.each { int concurrency ->
+                  def versionName = sweep ? "$version-t$threads-c$concurrency".toString() : version
+                  def recording = recordContention ? new File(resultsDir, "$appName-$endpoint-${versionName}.jfr") : null
+                  try {
+                    def results = measure(baseUrl, loadGenerators[concurrency], real, endpoint, recording)
+                    results.appThreads = threads
+                    results.timeToFirstRequestMs = timeToFirstRequestMs
+                    sessionResults.endpoints[endpointName].results[versionName] = results
+
+                    log.info "Achieved $results.requestsPerSecond of $results.targetRequestsPerSecond requests per second with $concurrency connections" + (threads > 0 ? " and $threads threads" : "")
+                    log.info "Latency ms: mean $results.msPerRequest, percentiles $results.latencyMs"
+                    log.info "Statuses: $results.statuses, errors: $results.errors"
+                    log.info "Heap after GC: $results.memory.heapAfterGcBytes bytes, allocated: $results.memory.allocatedBytesPerSecond bytes/s ($results.memory.allocatedBytesPerRequest bytes/request)"
+                    if (results.cpu) {
+                      log.info "CPU: $results.cpu.coresUsed cores used, $results.cpu.requestsPerCoreSecond requests per core second"
+                    }
+                    if (results.contention != null) {
+                      log.info "Contention: ${results.contention ?: "none recorded"}"
+                    }
+                  } catch (Throwable e) {
+                    log.error "Exception while testing app", e
+                  }
+                }
+              } catch (Throwable e) {
+                log.error "Exception while testing app", e
+              } finally {
+                log.info "stopping..."
+                stopApp(baseUrl)
+              }
             }
           }
 
@@ -162,6 +201,8 @@ class Harness {
       }
     }
 
+    loadGenerators.values()*.close()
+
     log.info "Generating results..."
 
     def jsonResults = JsonOutput.prettyPrint(JsonOutput.toJson(sessionResults))
@@ -181,37 +222,106 @@ class Harness {
     }
   }
 
-  private static void startApp(ProjectConnection connection, String endpoint) {
+  private static RunResults measure(String baseUrl, LoadGenerator loadGenerator, Settings settings, Endpoint endpoint, File recording) {
+    def before = AppMemory.sample(baseUrl)
+    def recorded = recording && startRecording(baseUrl)
+    def results = loadGenerator.run("real", settings, endpoint)
+    if (recorded) {
+      results.contention = stopRecording(baseUrl, recording)
+    }
+    def after = AppMemory.sample(baseUrl)
+
+    def requests = (long) results.statuses.values().sum(0L)
+    results.memory = AppMemory.between(before, after, requests)
+    results.cpu = AppCpu.between(before, after, requests)
+    results
+  }
+
+  private static boolean startRecording(String baseUrl) {
+    try {
+      new URL("$baseUrl/jfr?start").text
+      true
+    } catch (FileNotFoundException ignore) {
+      log.warn "App does not support flight recording, contention will not be reported"
+      false
+    }
+  }
+
+  private static List<Contention> stopRecording(String baseUrl, File recording) {
+    new URL("$baseUrl/jfr?stop=${URLEncoder.encode(recording.absolutePath, "UTF-8")}").text
+    Contention.read(recording)
+  }
+
+  private static List<Integer> integers(String property, List<Integer> defaultValue) {
+    def value = System.getProperty(property)
+    value ? value.split(",")*.trim()*.toInteger() : defaultValue
+  }
+
+  private static List<Integer> defaultThreadCounts() {
+    // Powers of two up to Ratpack's default of twice the number of cores
+    def max = Runtime.runtime.availableProcessors() * 2
+    (0..<32).collect { 1 << it }.findAll { it <= max }
+  }
+
+  private static void stopApp(String baseUrl) {
+    new URL("$baseUrl/stop").text
+
+    // Wait for the port to be released, so that the next app's startup is not measured against this one
+    def stopAt = System.currentTimeMillis() + 30 * 1000
+    while (System.currentTimeMillis() < stopAt) {
+      try {
+        new Socket("localhost", 5050).close()
+        sleep 10
+      } catch (ConnectException ignore) {
+        return
+      }
+    }
+  }
+
+  /**
+   * Starts the app, returning the time in ms from the start of its JVM to it serving its first request.
+   */
+  private static long startApp(ProjectConnection connection, String baseUrl, String endpoint, int threads) {
     def output = new ByteArrayOutputStream()
     def latch = new CountDownLatch(1)
     def resultHandler = new LatchResultHandler(latch)
 
-    connection.newBuild().withArguments("-u", "run", "-Pendpoint=$endpoint").setStandardOutput(output).setStandardError(output).run(resultHandler)
+    def arguments = ["-u", "run", "-Pendpoint=$endpoint".toString()]
+    if (threads > 0) {
+      arguments << "-Pthreads=$threads".toString()
+    }
+    connection.newBuild().withArguments(arguments as String[]).setStandardOutput(output).setStandardError(output).run(resultHandler)
 
     def timeoutMins = 1
-    def retryMs = 500
+    def retryMs = 10
     def startAt = System.currentTimeMillis()
     def stopAt = startAt + (timeoutMins * 60 * 1000)
 
+    // Poll frequently, so that the first successful request is close to the earliest the app could serve one
     String outputString = ""
+    long timeToFirstRequestMs = -1
     while (latch.count && System.currentTimeMillis() < stopAt) {
-      outputString = output.toString()
-      if (outputString.lastIndexOf("Ratpack started for http://localhost:") > -1) {
+      try {
+        timeToFirstRequestMs = new JsonSlurper().parseText(new URL("$baseUrl/startup").text).uptime as long
         latch.countDown()
+      } catch (IOException ignore) {
+        outputString = output.toString()
+        if (outputString.contains("ratpack.launch.LaunchException")) {
+          throw new RuntimeException("App failed to launch: $outputString")
+        }
+        sleep retryMs
       }
-      if (outputString.contains("ratpack.launch.LaunchException")) {
-        throw new RuntimeException("App failed to launch: $outputString")
-      }
-      sleep retryMs
     }
 
     if (resultHandler.complete) {
-      throw new Exception("Build finished early: ${outputString}")
+      throw new Exception("Build finished early: ${output.toString()}")
     }
 
     if (resultHandler.failure) {
-      throw new Exception("Build failed: ${outputString}", resultHandler.failure)
+      throw new Exception("Build failed: ${output.toString()}", resultHandler.failure)
     }
+
+    timeToFirstRequestMs
   }
 
   private static ProjectConnection openConnection(File dir) {
@@ -18,13 +18,13 @@ package ratpack.perf
 
 class Settings {
 
-  final int numRequests
-  final int rounds
+  final int requestsPerSecond
+  final int duration
   final int cooldown
 
-  Settings(int numRequests, int rounds, int cooldown) {
-    this.numRequests = numRequests
-    this.rounds = rounds
+  Settings(int requestsPerSecond, int duration, int cooldown) {
+    this.requestsPerSecond = requestsPerSecond
+    this.duration = duration
     this.cooldown = cooldown
   }
 }
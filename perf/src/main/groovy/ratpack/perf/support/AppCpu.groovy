@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.perf.support
+
+import groovy.transform.CompileStatic
+
+import java.math.RoundingMode
+
+/**
+ * CPU use of the app under test over a run, from the process CPU time reported by the app's {@code memory} endpoint.
+ */
+@CompileStatic
+class AppCpu {
+
+  private final static int DECIMAL_ACCURACY = 3
+
+  /**
+   * Average number of cores busy over the run (i.e. CPU time / elapsed time).
+   */
+  final BigDecimal coresUsed
+
+  /**
+   * Completed requests per second of CPU time, i.e. throughput per fully used core.
+   */
+  final BigDecimal requestsPerCoreSecond
+
+  AppCpu(BigDecimal coresUsed, BigDecimal requestsPerCoreSecond) {
+    this.coresUsed = coresUsed
+    this.requestsPerCoreSecond = requestsPerCoreSecond
+  }
+
+  static AppCpu between(AppMemory.Sample before, AppMemory.Sample after, long requests) {
+    if (before.cpuTime < 0 || after.cpuTime < 0) {
+      return null
+    }
+
+    def cpuSeconds = (after.cpuTime - before.cpuTime) / 1_000_000_000d
+    def seconds = (after.nanoTime - before.nanoTime) / 1_000_000_000d
+    new AppCpu(scale(cpuSeconds / seconds), cpuSeconds > 0 ? scale(requests / cpuSeconds) : BigDecimal.ZERO)
+  }
+
+  private static BigDecimal scale(double value) {
+    new BigDecimal(value).setScale(DECIMAL_ACCURACY, RoundingMode.HALF_UP)
+  }
+
+}
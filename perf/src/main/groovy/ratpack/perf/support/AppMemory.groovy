@@ -0,0 +1,81 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.perf.support
+
+import groovy.json.JsonSlurper
+import groovy.transform.CompileStatic
+
+/**
+ * Memory use of the app under test over a run, from the app's {@code memory} endpoint sampled before and after the run.
+ */
+@CompileStatic
+class AppMemory {
+
+  /**
+   * Heap used after a full GC at the end of the run.
+   */
+  final long heapAfterGcBytes
+
+  /**
+   * Allocation rate over the run, or -1 if the app's JVM can't report allocations.
+   */
+  final long allocatedBytesPerSecond
+
+  /**
+   * Bytes allocated per completed request, or -1 if the app's JVM can't report allocations.
+   */
+  final long allocatedBytesPerRequest
+
+  AppMemory(long heapAfterGcBytes, long allocatedBytesPerSecond, long allocatedBytesPerRequest) {
+    this.heapAfterGcBytes = heapAfterGcBytes
+    this.allocatedBytesPerSecond = allocatedBytesPerSecond
+    this.allocatedBytesPerRequest = allocatedBytesPerRequest
+  }
+
+  static Sample sample(String baseUrl) {
+    def json = new JsonSlurper().parseText(new URL("$baseUrl/memory").text) as Map<String, Number>
+    def cpuTime = json.cpuTime == null ? -1L : json.cpuTime.longValue()
+    new Sample(System.nanoTime(), json.heapAfterGc.longValue(), json.allocated.longValue(), cpuTime)
+  }
+
+  static AppMemory between(Sample before, Sample after, long requests) {
+    if (before.allocated < 0 || after.allocated < 0) {
+      return new AppMemory(after.heapAfterGc, -1, -1)
+    }
+
+    def allocated = after.allocated - before.allocated
+    def seconds = (after.nanoTime - before.nanoTime) / 1_000_000_000d
+    new AppMemory(after.heapAfterGc, (long) (allocated / seconds), requests ? (long) (allocated / requests) : -1)
+  }
+
+  @CompileStatic
+  static class Sample {
+    final long nanoTime
+    final long heapAfterGc
+    final long allocated
+    final long cpuTime
+
+    Sample(long nanoTime, long heapAfterGc, long allocated, long cpuTime) {
+      this.nanoTime = nanoTime
+      this.heapAfterGc = heapAfterGc
+      this.allocated = allocated
+      this.cpuTime = cpuTime
+    }
+  }
+
+}
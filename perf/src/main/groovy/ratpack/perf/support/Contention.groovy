@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.perf.support
+
+import groovy.util.logging.Slf4j
+
+import java.math.RoundingMode
+
+/**
+ * Lock contention in the app under test over a run, summarised from a flight recording made by the app's {@code jfr} endpoint.
+ * <p>
+ * Blocking on monitors ({@code jdk.JavaMonitorEnter}) and parking on {@code java.util.concurrent} locks ({@code jdk.ThreadPark})
+ * is grouped by the class of the lock and the first frame outside of the JDK that was waiting for it.
+ * Idle pool threads waiting for work are ignored.
+ * <p>
+ * The flight recorder consumer API is used dynamically, so that the harness can run on JVMs without it.
+ */
+@Slf4j
+class Contention {
+
+  private final static int DECIMAL_ACCURACY = 3
+  private final static String JDK_CLASSES = /^(java|javax|jdk|sun|com\.sun)\..*/
+
+  /**
+   * {@code monitor} or {@code park}.
+   */
+  final String kind
+
+  /**
+   * The class of the monitor, or of the object parked on (e.g. a lock or queue).
+   */
+  final String lock
+
+  /**
+   * The first non JDK method that was waiting.
+   */
+  final String site
+
+  final long count
+  final BigDecimal totalMs
+
+  Contention(String kind, String lock, String site, long count, BigDecimal totalMs) {
+    this.kind = kind
+    this.lock = lock
+    this.site = site
+    this.count = count
+    this.totalMs = totalMs
+  }
+
+  static List<Contention> read(File recording, int limit = 10) {
+    def recordingFile
+    try {
+      recordingFile = Class.forName("jdk.jfr.consumer.RecordingFile")
+    } catch (ClassNotFoundException ignore) {
+      log.info "Flight recorder consumer API not available, recording left at $recording"
+      return null
+    }
+
+    Map<List<String>, long[]> totals = [:].withDefault { new long[2] }
+    recordingFile.readAllEvents(recording.toPath()).each { event ->
+      def frames = event.stackTrace?.frames ?: []
+      def key
+      switch (event.eventType.name) {
+        case "jdk.JavaMonitorEnter":
+          key = ["monitor", event.getClass("monitorClass")?.name]
+          break
+        case "jdk.ThreadPark":
+          if (frames.any { isIdleWorker(it) }) {
+            return
+          }
+          key = ["park", event.getClass("parkedClass")?.name]
+          break
+        default:
+          return
+      }
+
+      def site = frames.find { !(it.method.type.name ==~ JDK_CLASSES) }
+      key << (site ? "${site.method.type.name}.${site.method.name}".toString() : null)
+
+      def total = totals[key]
+      total[0]++
+      total[1] += event.duration.toNanos()
+    }
+
+    totals.sort { -it.value[1] }.take(limit).collect { List<String> key, long[] total ->
+      new Contention(key[0], key[1], key[2], total[0], new BigDecimal(total[1] / 1_000_000d).setScale(DECIMAL_ACCURACY, RoundingMode.HALF_UP))
+    }
+  }
+
+  private static boolean isIdleWorker(frame) {
+    def type = frame.method.type.name
+    def method = frame.method.name
+    (type == "java.util.concurrent.ThreadPoolExecutor" && method == "getTask") || (type == "java.util.concurrent.ForkJoinPool" && method == "awaitWork")
+  }
+
+  @Override
+  String toString() {
+    "$kind $lock at $site: $count times, $totalMs ms"
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.perf.support
+
+import groovy.transform.CompileStatic
+
+import java.nio.charset.StandardCharsets
+
+/**
+ * An endpoint of an app under test, as defined in the app's {@code endpoints.json}.
+ * <p>
+ * An entry is either a string, which is the path of an endpoint to {@code GET}, or an object with the following keys:
+ * <ul>
+ * <li>{@code name} - the name of the endpoint (required)</li>
+ * <li>{@code path} - the path to request (default: the name)</li>
+ * <li>{@code method} - the HTTP method (default: {@code GET})</li>
+ * <li>{@code contentType} and {@code body} - a request body to send</li>
+ * <li>{@code upload} - the size in bytes of a file to send as a {@code multipart/form-data} upload, in a field named {@code file}</li>
+ * <li>{@code close} - if {@code true}, a new connection is used for each request (e.g. for responses that are only delimited by the connection closing)</li>
+ * <li>{@code websocket} - if {@code true}, each request is a text message sent over a websocket opened to the path,
+ * which completes when the same message is received back</li>
+ * </ul>
+ */
+@CompileStatic
+class Endpoint {
+
+  private static final String BOUNDARY = "ratpack-perf-boundary"
+
+  final String name
+  final String path
+  final String method
+  final String contentType
+  final byte[] body
+  final boolean close
+  final boolean websocket
+
+  Endpoint(String name, String path, String method, String contentType, byte[] body, boolean close, boolean websocket) {
+    this.name = name
+    this.path = path
+    this.method = method
+    this.contentType = contentType
+    this.body = body
+    this.close = close
+    this.websocket = websocket
+  }
+
+  static Endpoint of(Object definition) {
+    if (definition instanceof Map) {
+      def map = (Map<String, Object>) definition
+      def name = map.name.toString()
+      def path = (map.path ?: name).toString()
+      def method = (map.method ?: "GET").toString()
+      String contentType = map.contentType?.toString()
+      def body = map.body?.toString()?.getBytes(StandardCharsets.UTF_8)
+      if (map.upload) {
+        contentType = "multipart/form-data; boundary=$BOUNDARY".toString()
+        body = multipart(((Number) map.upload).intValue())
+      }
+      new Endpoint(name, path, method, contentType, body, map.close as boolean, map.websocket as boolean)
+    } else {
+      def name = definition.toString()
+      new Endpoint(name, name, "GET", null, null, false, false)
+    }
+  }
+
+  private static byte[] multipart(int size) {
+    def out = new ByteArrayOutputStream(size + 256)
+    def head = "--$BOUNDARY\r\nContent-Disposition: form-data; name=\"file\"; filename=\"upload.bin\"\r\nContent-Type: application/octet-stream\r\n\r\n"
+    out.write(head.getBytes(StandardCharsets.US_ASCII))
+    def random = new Random(0)
+    def content = new byte[size]
+    random.nextBytes(content)
+    out.write(content)
+    out.write("\r\n--$BOUNDARY--\r\n".getBytes(StandardCharsets.US_ASCII))
+    out.toByteArray()
+  }
+
+  @Override
+  String toString() {
+    name
+  }
+
+}
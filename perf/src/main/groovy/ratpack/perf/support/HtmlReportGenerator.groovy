@@ -92,6 +92,47 @@ abstract class HtmlReportGenerator {
               });
             });
 
+            $("body").append("<table id='details'><thead><tr>" +
+              "<th>endpoint</th><th>version</th><th>app threads</th><th>connections</th><th>target req/s</th><th>req/s</th>" +
+              "<th>mean ms</th><th>p50 ms</th><th>p90 ms</th><th>p99 ms</th><th>p99.9 ms</th><th>p99.99 ms</th><th>max ms</th>" +
+              "<th>statuses</th><th>errors</th><th>heap after GC MB</th><th>alloc MB/s</th><th>alloc bytes/req</th>" +
+              "<th>cores used</th><th>req/s per core</th><th>top contention</th><th>first request ms</th>" +
+              "</tr></thead><tbody/></table>");
+
+            var mb = function(bytes) {
+              return bytes < 0 ? "n/a" : (bytes / (1024 * 1024)).toFixed(2);
+            };
+
+            var detailsBody = $("table#details tbody");
+            $.each(endpoints, function(endpoint, data) {
+              $.each(versions, function(index, version) {
+                var result = data.results[version];
+                if (!result || !result.latencyMs) {
+                  return;
+                }
+                var latency = result.latencyMs;
+                var statuses = $.map(result.statuses, function(count, status) { return status + ": " + count; }).join(", ");
+                var memory = result.memory || {heapAfterGcBytes: -1, allocatedBytesPerSecond: -1, allocatedBytesPerRequest: -1};
+                var cpu = result.cpu || {coresUsed: "n/a", requestsPerCoreSecond: "n/a"};
+                var contention = result.contention ? $.map(result.contention.slice(0, 3), function(c) {
+                  return c.kind + " " + c.lock + " at " + c.site + ": " + c.count + " (" + c.totalMs + " ms)";
+                }).join("; ") : "n/a";
+                var row = $("<tr>").appendTo(detailsBody);
+                $.each([
+                  endpoint, version, result.appThreads > 0 ? result.appThreads : "default", result.connections,
+                  result.targetRequestsPerSecond, result.requestsPerSecond,
+                  result.msPerRequest, latency["50"], latency["90"], latency["99"], latency["99.9"], latency["99.99"], latency["max"],
+                  statuses, result.errors,
+                  mb(memory.heapAfterGcBytes), mb(memory.allocatedBytesPerSecond),
+                  memory.allocatedBytesPerRequest < 0 ? "n/a" : memory.allocatedBytesPerRequest,
+                  cpu.coresUsed, cpu.requestsPerCoreSecond, contention,
+                  result.timeToFirstRequestMs < 0 ? "n/a" : result.timeToFirstRequestMs
+                ], function(i, value) {
+                  $("<td>").text(value).appendTo(row);
+                });
+              });
+            });
+
             var width = (56 + (endpointNames.length * 231) + 2 + 10) + "px";
             $("#chart").css({width: width});
             $("#data").css({width: width});
@@ -138,19 +179,22 @@ abstract class HtmlReportGenerator {
       }
       style {
         mkp.yieldUnescaped("""
-          table#data {
+          table#data, table#details {
             margin-top: 2em;
             border-spacing: 0;
             border-collapse: collapse;
             font-family: monospace;
           }
-          table#data td, table#data th {
+          table#data td, table#data th, table#details td, table#details th {
             padding: 5px 0;
             border: 1px solid black;
           }
-          table#data th {
+          table#data th, table#details th {
             background-color: lightgrey;
           }
+          table#details td, table#details th {
+            padding: 5px;
+          }
           table#data tbody td {
             width: 220px;
             padding-left: 10px;
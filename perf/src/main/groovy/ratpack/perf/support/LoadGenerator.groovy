@@ -0,0 +1,385 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.perf.support
+
+import groovy.transform.CompileStatic
+import groovy.util.logging.Slf4j
+import io.netty.bootstrap.Bootstrap
+import io.netty.buffer.Unpooled
+import io.netty.channel.*
+import io.netty.channel.group.ChannelGroup
+import io.netty.channel.group.DefaultChannelGroup
+import io.netty.channel.nio.NioEventLoopGroup
+import io.netty.channel.socket.SocketChannel
+import io.netty.channel.socket.nio.NioSocketChannel
+import io.netty.handler.codec.http.*
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame
+import io.netty.handler.codec.http.websocketx.WebSocketClientProtocolHandler
+import io.netty.handler.codec.http.websocketx.WebSocketFrame
+import io.netty.handler.codec.http.websocketx.WebSocketVersion
+import io.netty.util.concurrent.GlobalEventExecutor
+import org.HdrHistogram.Histogram
+import org.HdrHistogram.Recorder
+import ratpack.perf.Settings
+
+import java.math.RoundingMode
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * An open loop load generator: requests are issued at a constant rate, regardless of how quickly responses come back.
+ * <p>
+ * Latency is measured from when each request was due to be sent, not when it was actually sent,
+ * so time spent waiting for a free connection counts (i.e. no coordinated omission).
+ * Requests are sent over up to {@code maxConnections} keep-alive connections, one request at a time per connection.
+ * <p>
+ * For websocket endpoints, each connection is a websocket and each request is a text message that completes when the same text is received back.
+ * Such round trips are counted under the {@code 101} (switching protocols) status.
+ */
+@Slf4j
+@CompileStatic
+class LoadGenerator implements Closeable {
+
+  private final static int DECIMAL_ACCURACY = 5
+
+  private final String host
+  private final int port
+  private final int maxConnections
+  private final EventLoopGroup group = new NioEventLoopGroup()
+
+  LoadGenerator(String host, int port, int maxConnections) {
+    this.host = host
+    this.port = port
+    this.maxConnections = maxConnections
+  }
+
+  RunResults run(String name, Settings settings, Endpoint endpoint) {
+    log.info "starting $name... ($settings.requestsPerSecond requests per second for $settings.duration seconds)"
+    def run = new Run(group, host, port, maxConnections, endpoint, settings.requestsPerSecond, settings.requestsPerSecond * settings.duration)
+    def results = run.execute()
+    log.info "done"
+    sleep(settings.cooldown * 1000)
+    results
+  }
+
+  void close() {
+    group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly()
+  }
+
+  private static class Run {
+
+    final String host
+    final int port
+    final int maxConnections
+    final Endpoint endpoint
+    final String path
+    final int rate
+    final long total
+
+    final Recorder recorder = new Recorder(3)
+    final ConcurrentHashMap<Integer, AtomicLong> statusCounts = new ConcurrentHashMap<>()
+    final AtomicLong errors = new AtomicLong()
+    final AtomicLong finished = new AtomicLong()
+
+    final ConcurrentLinkedQueue<Channel> idle = new ConcurrentLinkedQueue<>()
+    final ConcurrentLinkedQueue<Long> pending = new ConcurrentLinkedQueue<>()
+    final AtomicInteger connections = new AtomicInteger()
+    final AtomicInteger connecting = new AtomicInteger()
+    final ChannelGroup channels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE)
+
+    final Bootstrap bootstrap
+
+    long startNanos
+    long issued
+
+    Run(EventLoopGroup group, String host, int port, int maxConnections, Endpoint endpoint, int rate, long total) {
+      this.host = host
+      this.port = port
+      this.maxConnections = maxConnections
+      this.endpoint = endpoint
+      this.path = "/$endpoint.path"
+      this.rate = rate
+      this.total = total
+
+      bootstrap = new Bootstrap().group(group).channel(NioSocketChannel).option(ChannelOption.TCP_NODELAY, true).handler(new ChannelInitializer<SocketChannel>() {
+        @Override
+        protected void initChannel(SocketChannel ch) throws Exception {
+          if (endpoint.websocket) {
+            def uri = new URI("ws://$host:$port$path")
+            ch.pipeline().addLast(
+              new HttpClientCodec(),
+              new HttpObjectAggregator(65536),
+              new HandshakeResponseReleaser(),
+              new WebSocketClientProtocolHandler(uri, WebSocketVersion.V13, null, false, HttpHeaders.EMPTY_HEADERS, 65536),
+              new WebSocketResponseHandler(Run.this)
+            )
+          } else {
+            ch.pipeline().addLast(new HttpClientCodec(), new ResponseHandler(Run.this))
+          }
+        }
+      })
+    }
+
+    RunResults execute() {
+      startNanos = System.nanoTime()
+      def ticker = bootstrap.group().next().scheduleAtFixedRate({ tick() } as Runnable, 0, 1, TimeUnit.MILLISECONDS)
+
+      // Allow for the run, plus a grace period for the last responses
+      def deadline = startNanos + TimeUnit.SECONDS.toNanos((long) (total / rate) + 10)
+      while (finished.get() < total && System.nanoTime() < deadline) {
+        sleep 10
+      }
+      def elapsedNanos = System.nanoTime() - startNanos
+
+      ticker.cancel(false)
+      channels.close().awaitUninterruptibly()
+
+      def timedOut = total - finished.get()
+      results(recorder.intervalHistogram, elapsedNanos, timedOut)
+    }
+
+    private void tick() {
+      def due = Math.min(total, (long) ((System.nanoTime() - startNanos) * rate / 1_000_000_000d))
+      while (issued < due) {
+        pending.add(startNanos + (long) (issued * 1_000_000_000d / rate))
+        ++issued
+      }
+      drain()
+      if (pending.size() > connecting.get() && connections.get() < maxConnections) {
+        connect()
+      }
+    }
+
+    private void connect() {
+      connections.incrementAndGet()
+      connecting.incrementAndGet()
+      bootstrap.connect(host, port).addListener(new ChannelFutureListener() {
+        @Override
+        void operationComplete(ChannelFuture future) throws Exception {
+          connecting.decrementAndGet()
+          if (future.success) {
+            channels.add(future.channel())
+            if (!endpoint.websocket) {
+              release(future.channel())
+            }
+          } else {
+            connections.decrementAndGet()
+            errors.incrementAndGet()
+          }
+        }
+      })
+    }
+
+    void release(Channel channel) {
+      idle.add(channel)
+      drain()
+    }
+
+    void disconnected(Channel channel) {
+      idle.remove(channel)
+      connections.decrementAndGet()
+    }
+
+    void completed(long intendedStartNanos, int status) {
+      recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos))
+      def count = statusCounts.get(status)
+      if (count == null) {
+        count = statusCounts.putIfAbsent(status, new AtomicLong()) ?: statusCounts.get(status)
+      }
+      count.incrementAndGet()
+      finished.incrementAndGet()
+    }
+
+    void failed() {
+      errors.incrementAndGet()
+      finished.incrementAndGet()
+    }
+
+    private void drain() {
+      while (!pending.empty) {
+        def channel = idle.poll()
+        if (channel == null) {
+          return
+        }
+        def intendedStart = pending.poll()
+        if (intendedStart == null) {
+          idle.add(channel)
+          return
+        }
+        send(channel, intendedStart)
+      }
+    }
+
+    private void send(Channel channel, long intendedStart) {
+      if (endpoint.websocket) {
+        def handler = channel.pipeline().get(WebSocketResponseHandler)
+        handler.inFlight = intendedStart
+        channel.writeAndFlush(new TextWebSocketFrame(handler.expected))
+        return
+      }
+
+      def content = endpoint.body ? Unpooled.wrappedBuffer(endpoint.body) : Unpooled.EMPTY_BUFFER
+      def request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.valueOf(endpoint.method), path, content)
+      request.headers().set(HttpHeaders.Names.HOST, "$host:$port".toString())
+      if (endpoint.close) {
+        request.headers().set(HttpHeaders.Names.CONNECTION, HttpHeaders.Values.CLOSE)
+      }
+      if (endpoint.body != null) {
+        request.headers().set(HttpHeaders.Names.CONTENT_LENGTH, endpoint.body.length)
+        if (endpoint.contentType) {
+          request.headers().set(HttpHeaders.Names.CONTENT_TYPE, endpoint.contentType)
+        }
+      }
+      channel.pipeline().get(ResponseHandler).inFlight = intendedStart
+      channel.writeAndFlush(request)
+    }
+
+    private RunResults results(Histogram histogram, long elapsedNanos, long timedOut) {
+      def percentiles = [50d, 90d, 99d, 99.9d, 99.99d].collectEntries { double percentile ->
+        [percentile.toString() - ~/\.0$/, millis(histogram.getValueAtPercentile(percentile))]
+      } as Map<String, BigDecimal>
+      percentiles["max"] = millis(histogram.maxValue)
+
+      def statuses = statusCounts.collectEntries { Integer status, AtomicLong count -> [status.toString(), count.get()] } as Map<String, Long>
+      def completed = histogram.totalCount
+      def throughput = new BigDecimal(completed * 1_000_000_000d / elapsedNanos).setScale(DECIMAL_ACCURACY, RoundingMode.HALF_UP)
+      def mean = histogram.totalCount ? new BigDecimal(histogram.mean / 1000).setScale(DECIMAL_ACCURACY, RoundingMode.HALF_UP) : BigDecimal.ZERO
+
+      new RunResults(mean, rate, throughput, percentiles, statuses, errors.get() + timedOut, maxConnections)
+    }
+
+    private static BigDecimal millis(long micros) {
+      new BigDecimal(micros).divide(new BigDecimal(1000)).setScale(DECIMAL_ACCURACY, RoundingMode.HALF_UP)
+    }
+  }
+
+  private static class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
+
+    private final Run run
+    long inFlight = -1
+    private int status
+    private boolean keepAlive
+
+    ResponseHandler(Run run) {
+      this.run = run
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) throws Exception {
+      if (msg instanceof HttpResponse) {
+        status = ((HttpResponse) msg).status.code()
+        keepAlive = HttpHeaders.isKeepAlive((HttpResponse) msg)
+      }
+      if (msg instanceof LastHttpContent) {
+        def start = inFlight
+        inFlight = -1
+        run.completed(start, status)
+        if (keepAlive && ctx.channel().active) {
+          run.release(ctx.channel())
+        } else {
+          ctx.close()
+        }
+      }
+    }
+
+    @Override
+    void channelInactive(ChannelHandlerContext ctx) throws Exception {
+      run.disconnected(ctx.channel())
+      if (inFlight != -1) {
+        inFlight = -1
+        run.failed()
+      }
+    }
+
+    @Override
+    void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+      log.debug "request failed", cause
+      ctx.close()
+    }
+  }
+
+  private static class WebSocketResponseHandler extends SimpleChannelInboundHandler<WebSocketFrame> {
+
+    private final Run run
+    long inFlight = -1
+    private long sequence
+
+    WebSocketResponseHandler(Run run) {
+      this.run = run
+    }
+
+    /**
+     * The text of the message in flight, unique to this connection.
+     * Other connections' messages may be received too (e.g. when broadcasting), and are ignored.
+     */
+    String getExpected() {
+      "${System.identityHashCode(this)}-$sequence"
+    }
+
+    @Override
+    void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+      if (evt == WebSocketClientProtocolHandler.ClientHandshakeStateEvent.HANDSHAKE_COMPLETE) {
+        run.release(ctx.channel())
+      }
+      super.userEventTriggered(ctx, evt)
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, WebSocketFrame msg) throws Exception {
+      if (inFlight != -1 && msg instanceof TextWebSocketFrame && ((TextWebSocketFrame) msg).text() == expected) {
+        def start = inFlight
+        inFlight = -1
+        ++sequence
+        run.completed(start, HttpResponseStatus.SWITCHING_PROTOCOLS.code())
+        run.release(ctx.channel())
+      }
+    }
+
+    @Override
+    void channelInactive(ChannelHandlerContext ctx) throws Exception {
+      run.disconnected(ctx.channel())
+      if (inFlight != -1) {
+        inFlight = -1
+        run.failed()
+      }
+    }
+
+    @Override
+    void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+      log.debug "websocket request failed", cause
+      ctx.close()
+    }
+  }
+
+  /**
+   * The websocket handshake handler of this Netty version does not release the handshake response.
+   */
+  private static class HandshakeResponseReleaser extends ChannelInboundHandlerAdapter {
+    @Override
+    void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+      ctx.fireChannelRead(msg)
+      if (msg instanceof FullHttpResponse && ((FullHttpResponse) msg).refCnt() > 0) {
+        ((FullHttpResponse) msg).release()
+      }
+    }
+  }
+
+}
@@ -21,10 +21,67 @@ import groovy.transform.CompileStatic
 @CompileStatic
 class RunResults {
 
+  /**
+   * Mean client side latency.
+   */
   final BigDecimal msPerRequest
 
-  RunResults(BigDecimal msPerRequest) {
+  final int targetRequestsPerSecond
+  final BigDecimal requestsPerSecond
+
+  /**
+   * Client side latency in ms by percentile (e.g. "99.9"), and "max".
+   */
+  final Map<String, BigDecimal> latencyMs
+
+  /**
+   * Number of responses by status code.
+   */
+  final Map<String, Long> statuses
+
+  /**
+   * Connection failures, and requests that failed or did not complete in time.
+   */
+  final long errors
+
+  /**
+   * Maximum number of concurrent connections used by the client.
+   */
+  final int connections
+
+  /**
+   * The number of request handling threads of the app under test, or -1 for the app's default.
+   */
+  int appThreads = -1
+
+  /**
+   * The time in ms from the start of the app's JVM to it serving its first request, or -1 if unknown.
+   */
+  long timeToFirstRequestMs = -1
+
+  /**
+   * Memory statistics of the app under test, if available.
+   */
+  AppMemory memory
+
+  /**
+   * CPU statistics of the app under test, if available.
+   */
+  AppCpu cpu
+
+  /**
+   * The most significant lock contention in the app under test, if recorded.
+   */
+  List<Contention> contention
+
+  RunResults(BigDecimal msPerRequest, int targetRequestsPerSecond, BigDecimal requestsPerSecond, Map<String, BigDecimal> latencyMs, Map<String, Long> statuses, long errors, int connections) {
     this.msPerRequest = msPerRequest
+    this.targetRequestsPerSecond = targetRequestsPerSecond
+    this.requestsPerSecond = requestsPerSecond
+    this.latencyMs = latencyMs
+    this.statuses = statuses
+    this.errors = errors
+    this.connections = connections
   }
 
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ratpack.exec.ExecControl;
+import ratpack.exec.ExecController;
+import ratpack.exec.Execution;
+import ratpack.exec.Promise;
+import ratpack.exec.internal.DefaultExecController;
+import ratpack.func.Action;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Starting executions, and running promise chains within them (i.e. draining {@code ExecutionBacking} segments).
+ * <p>
+ * Executions are forked from the benchmark thread and run on the exec controller's compute thread, so the measurements include the hand off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExecutionBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Depth {
+    @Param({"1", "10", "100"})
+    public int segments;
+  }
+
+  private ExecController controller;
+  private ExecControl control;
+
+  @Setup
+  public void setup() {
+    controller = new DefaultExecController(1);
+    control = controller.getControl();
+  }
+
+  @TearDown
+  public void tearDown() {
+    controller.close();
+  }
+
+  @Benchmark
+  public void fork() throws Exception {
+    run(execution -> {
+    });
+  }
+
+  /**
+   * A chain of {@link Promise#map} transformations of one promise.
+   */
+  @Benchmark
+  public int promiseMapChain(Depth depth) throws Exception {
+    AtomicInteger result = new AtomicInteger();
+    run(execution -> {
+      Promise<Integer> promise = control.promise(f -> f.success(0));
+      for (int i = 0; i < depth.segments; ++i) {
+        promise = promise.map(v -> v + 1);
+      }
+      promise.then(result::set);
+    });
+    return result.get();
+  }
+
+  /**
+   * Promises subscribed to one after the other, each fulfilled asynchronously.
+   */
+  @Benchmark
+  public int sequentialPromises(Depth depth) throws Exception {
+    AtomicInteger result = new AtomicInteger();
+    run(execution -> next(0, depth.segments, result));
+    return result.get();
+  }
+
+  private void next(int i, int segments, AtomicInteger result) {
+    control.<Integer>promise(f -> controller.getExecutor().execute(() -> f.success(i + 1))).then(v -> {
+      if (v < segments) {
+        next(v, segments, result);
+      } else {
+        result.set(v);
+      }
+    });
+  }
+
+  private void run(Action<? super Execution> action) throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    control.fork(action, error::set, execution -> latch.countDown());
+    if (!latch.await(10, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("execution did not complete");
+    }
+    if (error.get() != null) {
+      throw new IllegalStateException("execution failed", error.get());
+    }
+  }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ratpack.handling.Context;
+import ratpack.handling.Handler;
+import ratpack.launch.LaunchConfig;
+import ratpack.registry.Registries;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch of a request along a chain of handlers that each call {@link Context#next()}, to a final handler that sends the response.
+ * <p>
+ * Compare the results for different chain lengths to get the cost per handler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HandlerDispatchBenchmark {
+
+  @Param({"1", "10", "50"})
+  public int handlers;
+
+  private RequestHarness harness;
+  private Handler[] chain;
+  private Handler[] registryChain;
+
+  private static class Thing {
+  }
+
+  @Setup
+  public void setup() {
+    harness = new RequestHarness(Registries.registry().build());
+
+    chain = new Handler[handlers + 1];
+    Arrays.fill(chain, (Handler) Context::next);
+    chain[handlers] = context -> context.getResponse().send("ok");
+
+    Thing thing = new Thing();
+    registryChain = new Handler[handlers + 1];
+    Arrays.fill(registryChain, (Handler) context -> context.next(Registries.just(thing)));
+    registryChain[handlers] = context -> {
+      context.get(Thing.class);
+      context.get(LaunchConfig.class);
+      context.getResponse().send("ok");
+    };
+  }
+
+  @TearDown
+  public void tearDown() {
+    harness.close();
+  }
+
+  @Benchmark
+  public int next() throws Exception {
+    return harness.handle("/", chain);
+  }
+
+  /**
+   * Each handler adds a registry entry, as path and prefix handlers do, and the last looks up objects from the top and bottom of the hierarchy.
+   */
+  @Benchmark
+  public int nextWithRegistry() throws Exception {
+    return harness.handle("/", registryChain);
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.benchmarks;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.openjdk.jmh.annotations.*;
+import ratpack.http.Headers;
+import ratpack.http.MutableHeaders;
+import ratpack.http.internal.NettyHeadersBackedHeaders;
+import ratpack.http.internal.NettyHeadersBackedMutableHeaders;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading typical request headers and writing typical response headers through Ratpack's header abstractions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HeadersBenchmark {
+
+  private Headers requestHeaders;
+
+  @Setup
+  public void setup() {
+    HttpHeaders headers = new DefaultHttpHeaders();
+    headers.add(HttpHeaders.Names.HOST, "localhost:5050");
+    headers.add(HttpHeaders.Names.USER_AGENT, "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/38.0 Safari/537.36");
+    headers.add(HttpHeaders.Names.ACCEPT, "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8");
+    headers.add(HttpHeaders.Names.ACCEPT_ENCODING, "gzip, deflate, sdch");
+    headers.add(HttpHeaders.Names.ACCEPT_LANGUAGE, "en-US,en;q=0.8");
+    headers.add(HttpHeaders.Names.COOKIE, "JSESSIONID=1234567890abcdef");
+    headers.add(HttpHeaders.Names.CONNECTION, HttpHeaders.Values.KEEP_ALIVE);
+    requestHeaders = new NettyHeadersBackedHeaders(headers);
+  }
+
+  @Benchmark
+  public String getRequestHeader() {
+    return requestHeaders.get(HttpHeaders.Names.ACCEPT);
+  }
+
+  @Benchmark
+  public String getMissingRequestHeader() {
+    return requestHeaders.get(HttpHeaders.Names.IF_MODIFIED_SINCE);
+  }
+
+  @Benchmark
+  public MutableHeaders setResponseHeaders() {
+    MutableHeaders responseHeaders = new NettyHeadersBackedMutableHeaders(new DefaultHttpHeaders());
+    responseHeaders.set(HttpHeaders.Names.CONTENT_TYPE, "text/plain;charset=UTF-8");
+    responseHeaders.set(HttpHeaders.Names.CONTENT_LENGTH, 1234);
+    responseHeaders.set(HttpHeaders.Names.CACHE_CONTROL, "no-cache");
+    responseHeaders.set(HttpHeaders.Names.CONNECTION, HttpHeaders.Values.KEEP_ALIVE);
+    return responseHeaders;
+  }
+
+}
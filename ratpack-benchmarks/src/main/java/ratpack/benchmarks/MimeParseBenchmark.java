@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.*;
+import ratpack.http.internal.MimeParse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Content negotiation against typical {@code Accept} headers, as done by {@code Context.byContent()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MimeParseBenchmark {
+
+  private static final List<String> SUPPORTED = ImmutableList.of("application/json", "application/xml", "text/html", "text/plain");
+
+  private static final Map<String, String> ACCEPT_HEADERS = ImmutableMap.of(
+    "browser", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8",
+    "json", "application/json",
+    "any", "*/*"
+  );
+
+  @Param({"browser", "json", "any"})
+  public String client;
+
+  private String accept;
+
+  @Setup
+  public void setup() {
+    accept = ACCEPT_HEADERS.get(client);
+  }
+
+  @Benchmark
+  public String bestMatch() {
+    return MimeParse.bestMatch(SUPPORTED, accept);
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ratpack.path.PathBinder;
+import ratpack.path.PathBinders;
+import ratpack.path.PathBinding;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding of request paths by the binders created for {@code path()} and {@code prefix()} handlers (i.e. {@code TokenPathBinder}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PathBindingBenchmark {
+
+  private final PathBinder literal = PathBinders.parse("api/v1/status", true);
+  private final PathBinder tokens = PathBinders.parse("api/:version/users/:id", true);
+  private final PathBinder optionalTokens = PathBinders.parse("api/:version/users/:id?/:section?", true);
+  private final PathBinder prefix = PathBinders.parse("api/:version", false);
+  private final PathBinder nested = PathBinders.parse("users/:id", true);
+
+  @Benchmark
+  public PathBinding literal() {
+    return literal.bind("api/v1/status", null);
+  }
+
+  @Benchmark
+  public PathBinding literalMiss() {
+    return literal.bind("api/v1/users", null);
+  }
+
+  @Benchmark
+  public PathBinding tokens() {
+    return tokens.bind("api/v1/users/1234", null);
+  }
+
+  @Benchmark
+  public PathBinding encodedTokens() {
+    return tokens.bind("api/v1/users/j%C3%BCrgen%20smith", null);
+  }
+
+  @Benchmark
+  public PathBinding optionalTokens() {
+    return optionalTokens.bind("api/v1/users/1234", null);
+  }
+
+  @Benchmark
+  public PathBinding prefixThenPath() {
+    return nested.bind("api/v1/users/1234", prefix.bind("api/v1/users/1234", null));
+  }
+
+}
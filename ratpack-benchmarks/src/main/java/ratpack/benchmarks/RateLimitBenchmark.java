@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ratpack.handling.Handler;
+import ratpack.handling.Handlers;
+import ratpack.handling.RateLimiterBuilder;
+import ratpack.handling.internal.DefaultRateLimiter;
+import ratpack.registry.Registries;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of {@link Handlers#rateLimit(ratpack.handling.RateLimiter, Handler)} when requests are allowed, which is the common case.
+ * <p>
+ * Compare {@code limited} with {@code unlimited} for the overhead per request, and run the {@code tryAcquire} benchmarks with
+ * several threads (e.g. {@code -t 4}) for the contention on one key and across a million keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RateLimitBenchmark {
+
+  private static final int KEYS = 1000000;
+
+  private RequestHarness harness;
+  private Handler[] unlimited;
+  private Handler[] limited;
+  private DefaultRateLimiter limiter;
+
+  @Setup
+  public void setup() {
+    harness = new RequestHarness(Registries.registry().build());
+
+    Handler render = context -> context.getResponse().send("ok");
+    unlimited = new Handler[]{Handlers.path(":user", render)};
+
+    // high enough that nothing is ever rejected
+    RateLimiterBuilder builder = RateLimiterBuilder.perSecond(1e9).burst(Integer.MAX_VALUE).maxKeys(KEYS * 2);
+    limited = new Handler[]{Handlers.path(":user", Handlers.rateLimit(builder.keyByPathToken("user").build(), render))};
+
+    limiter = (DefaultRateLimiter) builder.build();
+    for (int i = 0; i < KEYS; ++i) {
+      limiter.tryAcquire(i, System.nanoTime());
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    harness.close();
+  }
+
+  @Benchmark
+  public int unlimited() throws Exception {
+    return harness.handle("/user", unlimited);
+  }
+
+  @Benchmark
+  public int limited() throws Exception {
+    return harness.handle("/user", limited);
+  }
+
+  @Benchmark
+  public long tryAcquireOneKey() {
+    return limiter.tryAcquire(0, System.nanoTime());
+  }
+
+  @Benchmark
+  public long tryAcquireManyKeys() {
+    return limiter.tryAcquire(ThreadLocalRandom.current().nextInt(KEYS), System.nanoTime());
+  }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.benchmarks;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Iterables;
+import com.google.common.reflect.TypeToken;
+import org.openjdk.jmh.annotations.*;
+import ratpack.func.Action;
+import ratpack.launch.LaunchConfig;
+import ratpack.launch.LaunchConfigBuilder;
+import ratpack.registry.NotInRegistryException;
+import ratpack.registry.Registries;
+import ratpack.registry.Registry;
+import ratpack.registry.internal.CachingRegistry;
+import ratpack.server.internal.NettyHandlerAdapter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in a request registry hierarchy: the base registry, then a number of single entry layers (as added by path bindings and {@code context.next(registry)}).
+ * The base registry has two joined layers of its own, as when handler profiling and a request limit are configured, and resolves types through them from a cache.
+ * <p>
+ * The {@code legacy} implementation reproduces the previous shape of these hierarchies, where each single entry layer was wrapped in a {@link CachingRegistry}
+ * and joins were nested rather than flattened, for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegistryBenchmark {
+
+  @Param({"1", "5", "10"})
+  public int layers;
+
+  @Param({"current", "legacy"})
+  public String implementation;
+
+  private LaunchConfig launchConfig;
+  private Registry base;
+  private Registry registry;
+
+  private static class Layer {
+  }
+
+  private static class BaseLayer {
+  }
+
+  private static class Top {
+  }
+
+  private static class Missing {
+  }
+
+  @Setup
+  public void setup() {
+    launchConfig = LaunchConfigBuilder.noBaseDir().threads(1).build();
+    Registry appBase = NettyHandlerAdapter.buildBaseRegistry(() -> {
+      throw new UnsupportedOperationException();
+    }, launchConfig);
+    if (implementation.equals("legacy")) {
+      base = new LegacyHierarchicalRegistry(new LegacyHierarchicalRegistry(appBase, new CachingRegistry(Registries.just(new BaseLayer()))), new CachingRegistry(Registries.just(new BaseLayer())));
+    } else {
+      base = new CachingRegistry(Registries.join(Registries.join(appBase, Registries.just(new BaseLayer())), Registries.just(new BaseLayer())));
+    }
+    registry = build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    launchConfig.getExecController().close();
+  }
+
+  private Registry build() {
+    boolean legacy = implementation.equals("legacy");
+    Registry registry = base;
+    for (int i = 0; i < layers; ++i) {
+      Object object = i == layers - 1 ? new Top() : new Layer();
+      registry = legacy ? new LegacyHierarchicalRegistry(registry, new CachingRegistry(Registries.just(object))) : Registries.join(registry, Registries.just(object));
+    }
+    return registry;
+  }
+
+  @Benchmark
+  public Object getFromTop() {
+    return registry.get(Top.class);
+  }
+
+  @Benchmark
+  public Object getFromBase() {
+    return registry.get(LaunchConfig.class);
+  }
+
+  @Benchmark
+  public Object getMissing() {
+    return registry.maybeGet(Missing.class);
+  }
+
+  @Benchmark
+  public int getAll() {
+    return Iterables.size(registry.getAll(Layer.class));
+  }
+
+  /**
+   * Builds the hierarchy and does one lookup, as is done for each request.
+   */
+  @Benchmark
+  public Object buildAndGetFromBase() {
+    return build().get(LaunchConfig.class);
+  }
+
+  private static class LegacyHierarchicalRegistry implements Registry {
+
+    private final Registry parent;
+    private final Registry child;
+
+    private LegacyHierarchicalRegistry(Registry parent, Registry child) {
+      this.parent = parent;
+      this.child = child;
+    }
+
+    @Override
+    public <O> O get(Class<O> type) throws NotInRegistryException {
+      return get(TypeToken.of(type));
+    }
+
+    @Override
+    public <O> O get(TypeToken<O> type) throws NotInRegistryException {
+      O object = maybeGet(type);
+      if (object == null) {
+        throw new NotInRegistryException(type);
+      }
+      return object;
+    }
+
+    @Override
+    public <O> O maybeGet(Class<O> type) {
+      return maybeGet(TypeToken.of(type));
+    }
+
+    @Override
+    public <O> O maybeGet(TypeToken<O> type) {
+      O object = child.maybeGet(type);
+      if (object == null) {
+        object = parent.maybeGet(type);
+      }
+      return object;
+    }
+
+    @Override
+    public <O> Iterable<? extends O> getAll(Class<O> type) {
+      return getAll(TypeToken.of(type));
+    }
+
+    @Override
+    public <O> Iterable<? extends O> getAll(TypeToken<O> type) {
+      return Iterables.concat(child.getAll(type), parent.getAll(type));
+    }
+
+    @Override
+    public <T> T first(TypeToken<T> type, Predicate<? super T> predicate) {
+      T object = child.first(type, predicate);
+      if (object == null) {
+        object = parent.first(type, predicate);
+      }
+      return object;
+    }
+
+    @Override
+    public <T> Iterable<? extends T> all(TypeToken<T> type, Predicate<? super T> predicate) {
+      return Iterables.concat(child.all(type, predicate), parent.all(type, predicate));
+    }
+
+    @Override
+    public <T> boolean each(TypeToken<T> type, Predicate<? super T> predicate, Action<? super T> action) throws Exception {
+      boolean childFound = child.each(type, predicate, action);
+      boolean parentFound = parent.each(type, predicate, action);
+      return childFound || parentFound;
+    }
+  }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ratpack.handling.Context;
+import ratpack.handling.Handler;
+import ratpack.registry.Registries;
+import ratpack.registry.RegistryBuilder;
+import ratpack.render.RendererSupport;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch of {@link Context#render(Object)} to the renderer for the object, with a number of other renderers in the registry ahead of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RenderBenchmark {
+
+  @Param({"0", "10"})
+  public int otherRenderers;
+
+  private RequestHarness harness;
+  private Handler[] render;
+
+  private static class IntegerRenderer extends RendererSupport<Integer> {
+    @Override
+    public void render(Context context, Integer object) throws Exception {
+      context.getResponse().send(object.toString());
+    }
+  }
+
+  @Setup
+  public void setup() {
+    RegistryBuilder registry = Registries.registry();
+    for (int i = 0; i < otherRenderers; ++i) {
+      registry.add(new IntegerRenderer());
+    }
+    harness = new RequestHarness(registry.build());
+    render = new Handler[]{context -> context.render("ok")};
+  }
+
+  @TearDown
+  public void tearDown() {
+    harness.close();
+  }
+
+  @Benchmark
+  public int render() throws Exception {
+    return harness.handle("/", render);
+  }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import ratpack.event.internal.DefaultEventController;
+import ratpack.exec.ExecControl;
+import ratpack.file.internal.ResponseTransmitter;
+import ratpack.func.Actions;
+import ratpack.handling.Handler;
+import ratpack.handling.RequestOutcome;
+import ratpack.handling.internal.DefaultContext;
+import ratpack.http.Response;
+import ratpack.http.internal.DefaultRequest;
+import ratpack.http.internal.DefaultResponse;
+import ratpack.http.internal.NettyHeadersBackedHeaders;
+import ratpack.http.internal.NettyHeadersBackedMutableHeaders;
+import ratpack.launch.LaunchConfig;
+import ratpack.launch.LaunchConfigBuilder;
+import ratpack.registry.Registries;
+import ratpack.registry.Registry;
+import ratpack.render.internal.DefaultRenderController;
+import ratpack.server.BindAddress;
+import ratpack.server.internal.NettyHandlerAdapter;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatches requests through {@link DefaultContext} the same way {@link NettyHandlerAdapter} does, without a network or Netty channel.
+ * <p>
+ * Requests are started from the calling thread and handled on the exec controller's compute threads, so the measurements include the hand off.
+ */
+final class RequestHarness implements AutoCloseable {
+
+  private static final BindAddress BIND_ADDRESS = new BindAddress() {
+    @Override
+    public String getHost() {
+      return "localhost";
+    }
+
+    @Override
+    public int getPort() {
+      return 5050;
+    }
+  };
+
+  private final LaunchConfig launchConfig;
+  private final ExecControl execControl;
+  private final Registry registry;
+  private final DefaultContext.ApplicationConstants applicationConstants;
+
+  RequestHarness(Registry userRegistry) {
+    this.launchConfig = LaunchConfigBuilder.noBaseDir().threads(1).build();
+    this.execControl = launchConfig.getExecController().getControl();
+    Registry baseRegistry = NettyHandlerAdapter.buildBaseRegistry(() -> {
+      throw new UnsupportedOperationException();
+    }, launchConfig);
+    this.registry = Registries.join(baseRegistry, userRegistry);
+    this.applicationConstants = new DefaultContext.ApplicationConstants(launchConfig, new DefaultRenderController());
+  }
+
+  /**
+   * Handles a GET request with the given handlers, waiting for the response to be sent.
+   *
+   * @param uri the request URI
+   * @param handlers the handlers
+   * @return the number of response body bytes (including streamed bytes)
+   * @throws Exception if the response is not sent in time, or is not a 200
+   */
+  int handle(String uri, Handler[] handlers) throws Exception {
+    Transmitter transmitter = new Transmitter();
+    DefaultRequest request = new DefaultRequest(new NettyHeadersBackedHeaders(new DefaultHttpHeaders()), "GET", uri, Unpooled.EMPTY_BUFFER);
+    Response response = new DefaultResponse(execControl, new NettyHeadersBackedMutableHeaders(new DefaultHttpHeaders()), launchConfig.getBufferAllocator(), transmitter);
+    DefaultContext.RequestConstants requestConstants = new DefaultContext.RequestConstants(
+      applicationConstants, BIND_ADDRESS, request, response, null, new DefaultEventController<RequestOutcome>().getRegistry()
+    );
+
+    DefaultContext.start(execControl, requestConstants, registry, handlers, context -> context.clientError(404), Actions.noop());
+
+    if (!transmitter.latch.await(10, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("no response sent for " + uri);
+    }
+    if (!HttpResponseStatus.OK.equals(transmitter.status)) {
+      throw new IllegalStateException("unexpected response status " + transmitter.status + " for " + uri);
+    }
+    return transmitter.length;
+  }
+
+  @Override
+  public void close() {
+    launchConfig.getExecController().close();
+  }
+
+  private static class Transmitter implements ResponseTransmitter {
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private volatile HttpResponseStatus status;
+    private volatile int length;
+
+    @Override
+    public void transmit(HttpResponseStatus status, ByteBuf body) {
+      this.status = status;
+      this.length = body.readableBytes();
+      body.release();
+      latch.countDown();
+    }
+
+    @Override
+    public void transmit(HttpResponseStatus responseStatus, BasicFileAttributes basicFileAttributes, Path file) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Subscriber<Object> transmitter(HttpResponseStatus status) {
+      // Requests one element at a time, like the real transmitter does while the channel is writable
+      return new Subscriber<Object>() {
+        private Subscription subscription;
+        private int streamed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+          this.subscription = subscription;
+          subscription.request(1);
+        }
+
+        @Override
+        public void onNext(Object element) {
+          ByteBuf buffer = (ByteBuf) element;
+          streamed += buffer.readableBytes();
+          buffer.release();
+          subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+          latch.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+          Transmitter.this.status = status;
+          Transmitter.this.length = streamed;
+          latch.countDown();
+        }
+      };
+    }
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import org.openjdk.jmh.annotations.*;
+import ratpack.http.internal.HttpHeaderConstants;
+import ratpack.http.internal.HttpHeaderDateFormat;
+import ratpack.http.internal.HttpHeaderValues;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Setting and encoding the headers that every response has, with the cached values that {@code DefaultResponseTransmitter} uses
+ * ({@code cached}) and with values formatted per response ({@code formatted}).
+ * <p>
+ * The {@code gc.alloc.rate.norm} results are the bytes allocated per response for these headers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseHeadersBenchmark {
+
+  @Param({"cached", "formatted"})
+  public String values;
+
+  private EmbeddedChannel channel;
+  private boolean cached;
+  private Date lastModified;
+
+  @Setup
+  public void setup() {
+    channel = new EmbeddedChannel(new HttpResponseEncoder());
+    cached = values.equals("cached");
+    lastModified = new Date();
+  }
+
+  @TearDown
+  public void tearDown() {
+    channel.finish();
+  }
+
+  @Benchmark
+  public int encode() {
+    HttpHeaders headers = new DefaultHttpHeaders(false);
+    headers.set(HttpHeaderConstants.CONTENT_TYPE, HttpHeaderConstants.PLAIN_TEXT_UTF8);
+    if (cached) {
+      headers.set(HttpHeaderConstants.DATE, HttpHeaderValues.date());
+      headers.set(HttpHeaderConstants.CONTENT_LENGTH, HttpHeaderValues.contentLength(123));
+      headers.set(HttpHeaderConstants.CONNECTION, HttpHeaderConstants.KEEP_ALIVE);
+    } else {
+      headers.set(HttpHeaders.Names.DATE, HttpHeaderDateFormat.get().format(new Date()));
+      headers.set(HttpHeaders.Names.CONTENT_LENGTH, 123);
+      headers.set(HttpHeaders.Names.CONNECTION, HttpHeaders.Values.KEEP_ALIVE);
+    }
+
+    FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.EMPTY_BUFFER);
+    response.headers().set(headers);
+    channel.writeOutbound(response);
+
+    int length = 0;
+    ByteBuf encoded;
+    while ((encoded = (ByteBuf) channel.readOutbound()) != null) {
+      length += encoded.readableBytes();
+      encoded.release();
+    }
+    return length;
+  }
+
+  @Benchmark
+  public String formatDate() {
+    return cached ? HttpHeaderValues.format(lastModified) : HttpHeaderDateFormat.get().format(lastModified);
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import ratpack.handling.Handler;
+import ratpack.http.Response;
+import ratpack.registry.Registries;
+import ratpack.stream.Streams;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Elements per second streamed through {@link Response#sendStream(Publisher)}, i.e. dispatched to the response transmitter by {@code ExecControl.stream()}.
+ * <p>
+ * The elements are tiny, so that the cost of dispatching each element into the execution dominates.
+ * They are published either synchronously when requested, or from a separate thread (like an upstream service or blocking source would).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StreamBenchmark {
+
+  private static final int ELEMENTS = 10000;
+
+  private static final ByteBuf CHUNK = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(new byte[]{'x'}));
+
+  private RequestHarness harness;
+  private ExecutorService publishingThread;
+  private Handler[] synchronous;
+  private Handler[] asynchronous;
+
+  @Setup
+  public void setup() {
+    harness = new RequestHarness(Registries.registry().build());
+    publishingThread = Executors.newSingleThreadExecutor();
+    synchronous = new Handler[]{context -> context.getResponse().sendStream(Streams.publish(Collections.nCopies(ELEMENTS, CHUNK)))};
+    asynchronous = new Handler[]{context -> context.getResponse().sendStream(new ThreadPublisher())};
+  }
+
+  @TearDown
+  public void tearDown() {
+    harness.close();
+    publishingThread.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ELEMENTS)
+  public int synchronousPublisher() throws Exception {
+    return harness.handle("/", synchronous);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ELEMENTS)
+  public int asynchronousPublisher() throws Exception {
+    return harness.handle("/", asynchronous);
+  }
+
+  /**
+   * Publishes the elements from the publishing thread as they are requested.
+   */
+  private class ThreadPublisher implements Publisher<ByteBuf> {
+    @Override
+    public void subscribe(Subscriber<? super ByteBuf> subscriber) {
+      AtomicLong demand = new AtomicLong();
+      long[] sent = {0};
+      Runnable publish = () -> {
+        long requested = demand.get();
+        while (requested > 0) {
+          for (long i = 0; i < requested && sent[0] < ELEMENTS; ++i) {
+            subscriber.onNext(CHUNK);
+            ++sent[0];
+          }
+          if (sent[0] == ELEMENTS) {
+            subscriber.onComplete();
+            return;
+          }
+          requested = demand.addAndGet(-requested);
+        }
+      };
+
+      subscriber.onSubscribe(new Subscription() {
+        @Override
+        public void request(long n) {
+          if (demand.getAndAdd(n) == 0) {
+            publishingThread.execute(publish);
+          }
+        }
+
+        @Override
+        public void cancel() {
+        }
+      });
+    }
+  }
+
+}
@@ -29,6 +29,8 @@ import com.google.inject.Injector;
 import com.google.inject.Singleton;
 import com.google.inject.matcher.Matchers;
 import com.google.inject.name.Names;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import ratpack.codahale.metrics.internal.*;
 import ratpack.func.Action;
 import ratpack.guice.HandlerDecoratingModule;
@@ -36,6 +38,7 @@ import ratpack.guice.internal.GuiceUtil;
 import ratpack.handling.Handler;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An extension module that provides support for Coda Hale's Metrics.
@@ -82,6 +85,11 @@ import java.io.File;
  * Additional custom metrics can be registered with the provided {@link MetricRegistry} instance
  * </p>
  * <p>
+ * The timers and histograms use Coda Hale's default reservoirs, whose percentiles are approximations.
+ * Accurate high percentiles (e.g. p99.9 and p99.99) can be recorded by using <a href="http://hdrhistogram.github.io/HdrHistogram/" target="_blank">HdrHistogram</a>
+ * backed reservoirs instead, see {@link #hdrHistogram()}.
+ * </p>
+ * <p>
  * Example custom metrics: (Groovy DSL)
  * </p>
  * <pre class="groovy-ratpack-dsl">
@@ -164,22 +172,31 @@ import java.io.File;
  */
 public class CodaHaleMetricsModule extends AbstractModule implements HandlerDecoratingModule {
 
+  private final static Logger LOGGER = LoggerFactory.getLogger(CodaHaleMetricsModule.class);
+
+  private static final String METRIC_REGISTRY_NAME = "ratpack-metrics";
+  private static final long DEFAULT_HDR_HISTOGRAM_SNAPSHOT_INTERVAL_SECONDS = 30;
+
   private boolean reportMetricsToJmx;
   private boolean reportMetricsToConsole;
   private File csvReportDirectory;
   private boolean healthChecksEnabled;
   private boolean jvmMetricsEnabled;
   private boolean reportMetricsToWebsocket;
+  private boolean reportMetricsToPrometheus;
   private boolean metricsEnabled;
+  private boolean hdrHistogramEnabled;
+  private long hdrHistogramSnapshotIntervalNanos;
+  private long hdrHistogramExpectedIntervalNanos;
 
   private boolean isMetricsEnabled() {
-    return metricsEnabled || jvmMetricsEnabled || reportMetricsToConsole || reportMetricsToWebsocket || reportMetricsToJmx || csvReportDirectory != null;
+    return metricsEnabled || hdrHistogramEnabled || jvmMetricsEnabled || reportMetricsToConsole || reportMetricsToWebsocket || reportMetricsToPrometheus || reportMetricsToJmx || csvReportDirectory != null;
   }
 
   @Override
   protected void configure() {
     if (isMetricsEnabled()) {
-      final MetricRegistry metricRegistry = SharedMetricRegistries.getOrCreate("ratpack-metrics");
+      final MetricRegistry metricRegistry = createMetricRegistry();
       bind(MetricRegistry.class).toInstance(metricRegistry);
 
       MeteredMethodInterceptor meteredMethodInterceptor = new MeteredMethodInterceptor();
@@ -211,6 +228,10 @@ public class CodaHaleMetricsModule extends AbstractModule implements HandlerDeco
         bind(MetricsBroadcaster.class).in(Singleton.class);
         bind(MetricRegistryJsonMapper.class).in(Singleton.class);
       }
+
+      if (reportMetricsToPrometheus) {
+        bind(PrometheusTextEncoder.class).in(Singleton.class);
+      }
     }
 
     if (healthChecksEnabled) {
@@ -221,6 +242,22 @@ public class CodaHaleMetricsModule extends AbstractModule implements HandlerDeco
     bind(HealthCheckResultsRenderer.class).in(Singleton.class);
   }
 
+  private MetricRegistry createMetricRegistry() {
+    if (hdrHistogramEnabled) {
+      MetricRegistry metricRegistry = new HdrHistogramMetricRegistry(hdrHistogramSnapshotIntervalNanos, hdrHistogramExpectedIntervalNanos);
+      MetricRegistry existing = SharedMetricRegistries.add(METRIC_REGISTRY_NAME, metricRegistry);
+      if (existing == null) {
+        return metricRegistry;
+      }
+      if (!(existing instanceof HdrHistogramMetricRegistry)) {
+        LOGGER.warn("HdrHistogram reservoirs are not used, as the shared metric registry '{}' was already created without them", METRIC_REGISTRY_NAME);
+      }
+      return existing;
+    } else {
+      return SharedMetricRegistries.getOrCreate(METRIC_REGISTRY_NAME);
+    }
+  }
+
   /**
    * Enables the collection of metrics.
    *
@@ -236,6 +273,52 @@ public class CodaHaleMetricsModule extends AbstractModule implements HandlerDeco
     return this;
   }
 
+  /**
+   * Use <a href="http://hdrhistogram.github.io/HdrHistogram/" target="_blank">HdrHistogram</a> backed reservoirs for timers and histograms.  The collecting of metrics will also be enabled.
+   * <p>
+   * This is the same as calling {@link #hdrHistogram(long, long, TimeUnit)} with a snapshot interval of 30 seconds and no coordinated omission correction.
+   *
+   * @return this {@code CodaHaleMetricsModule}
+   * @see #hdrHistogram(long, long, TimeUnit)
+   */
+  public CodaHaleMetricsModule hdrHistogram() {
+    return hdrHistogram(TimeUnit.SECONDS.toNanos(DEFAULT_HDR_HISTOGRAM_SNAPSHOT_INTERVAL_SECONDS), 0, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Use <a href="http://hdrhistogram.github.io/HdrHistogram/" target="_blank">HdrHistogram</a> backed reservoirs for timers and histograms.  The collecting of metrics will also be enabled.
+   * <p>
+   * Values are recorded without locking, and percentiles are accurate to three significant digits at any magnitude.
+   * Snapshots are interval based rather than cumulative: the values recorded during each {@code snapshotInterval} make up the snapshot
+   * that all reporters (JMX, CSV, console and websocket) see during the following interval.
+   * The snapshot interval should therefore usually be the same as the reporting interval (i.e. {@code metrics.scheduledreporter.interval}).
+   * <p>
+   * If {@code expectedInterval} is greater than zero, snapshots are corrected for coordinated omission.
+   * That is, any recorded value larger than the expected interval between two recordings is assumed to have delayed the recordings that would have been made in the meantime,
+   * and those are filled in.
+   * <p>
+   * Metrics are kept in a registry that is shared within the JVM.
+   * If that registry was already created without HdrHistogram reservoirs (e.g. by another application in the same JVM), it is used as is and a warning is logged.
+   *
+   * @param snapshotInterval the length of each snapshot interval
+   * @param expectedInterval the expected interval between recorded values, or {@code 0} for no coordinated omission correction
+   * @param unit the unit of {@code snapshotInterval} and {@code expectedInterval}
+   * @return this {@code CodaHaleMetricsModule}
+   */
+  public CodaHaleMetricsModule hdrHistogram(long snapshotInterval, long expectedInterval, TimeUnit unit) {
+    if (snapshotInterval <= 0) {
+      throw new IllegalArgumentException("snapshotInterval must be greater than 0");
+    }
+    if (expectedInterval < 0) {
+      throw new IllegalArgumentException("expectedInterval cannot be negative");
+    }
+
+    this.hdrHistogramEnabled = true;
+    this.hdrHistogramSnapshotIntervalNanos = unit.toNanos(snapshotInterval);
+    this.hdrHistogramExpectedIntervalNanos = unit.toNanos(expectedInterval);
+    return this;
+  }
+
   /**
    * Enables the automatic registering of health checks.
    *
@@ -279,6 +362,23 @@ public class CodaHaleMetricsModule extends AbstractModule implements HandlerDeco
     return this;
   }
 
+  /**
+   * Enable the reporting of metrics in the Prometheus text exposition format.  The collecting of metrics will also be enabled.
+   * <p>
+   * To expose the metrics over HTTP see {@link PrometheusMetricsHandler}.
+   *
+   * @return this {@code CodaHaleMetricsModule}
+   * @see <a href="http://prometheus.io/docs/instrumenting/exposition_formats/" target="_blank">Prometheus - Exposition formats</a>
+   * @see #console()
+   * @see #csv(java.io.File)
+   * @see #jmx()
+   * @see #websocket()
+   */
+  public CodaHaleMetricsModule prometheus() {
+    this.reportMetricsToPrometheus = true;
+    return this;
+  }
+
   /**
    * Enable the reporting of metrics via JMX.  The collecting of metrics will also be enabled.
    *
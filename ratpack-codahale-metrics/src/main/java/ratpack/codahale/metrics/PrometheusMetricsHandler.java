@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.codahale.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import io.netty.buffer.ByteBuf;
+import ratpack.codahale.metrics.internal.PrometheusTextEncoder;
+import ratpack.handling.Context;
+import ratpack.handling.Handler;
+
+/**
+ * A Handler that renders all metrics in the <a href="http://prometheus.io/docs/instrumenting/exposition_formats/" target="_blank">Prometheus text exposition format</a>.
+ * <p>
+ * This handler should be bound to an application path, and most likely only for the GET method…
+ * <pre class="java-chain-dsl">
+ * import ratpack.codahale.metrics.PrometheusMetricsHandler;
+ *
+ * chain instanceof ratpack.handling.Chain;
+ * chain.get("admin/metrics", new PrometheusMetricsHandler());
+ * </pre>
+ * <p>
+ * The metrics are written straight into a pooled buffer, without an intermediate JSON or {@code String} representation, and
+ * the encoded form of each metric name is cached between scrapes.
+ * This makes the handler suitable for frequent polling of large registries.
+ * <p>
+ * This handler requires {@link CodaHaleMetricsModule#prometheus()} to be enabled.
+ */
+public class PrometheusMetricsHandler implements Handler {
+
+  private volatile int sizeHint = 1024;
+
+  @Override
+  public void handle(Context context) throws Exception {
+    MetricRegistry metricRegistry = context.get(MetricRegistry.class);
+    PrometheusTextEncoder encoder = context.get(PrometheusTextEncoder.class);
+
+    ByteBuf buffer = context.getLaunchConfig().getBufferAllocator().ioBuffer(sizeHint);
+    try {
+      encoder.encode(metricRegistry, buffer);
+    } catch (Exception e) {
+      buffer.release();
+      throw e;
+    }
+
+    sizeHint = Math.max(buffer.readableBytes(), 1024);
+    context.getResponse().send(PrometheusTextEncoder.CONTENT_TYPE, buffer);
+  }
+
+}
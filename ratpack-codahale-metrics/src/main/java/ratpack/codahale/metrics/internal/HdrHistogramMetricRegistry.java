@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.codahale.metrics.internal;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+/**
+ * A {@link MetricRegistry} that creates its timers and histograms with {@link HdrHistogramReservoir HdrHistogram backed reservoirs}.
+ * <p>
+ * This affects all metrics obtained via {@link #timer(String)} and {@link #histogram(String)}, which includes the request and blocking timers of this module and
+ * those of {@link com.codahale.metrics.annotation.Timed} methods.
+ * Metrics that are explicitly {@link #register(String, Metric) registered} are left as is.
+ */
+public class HdrHistogramMetricRegistry extends MetricRegistry {
+
+  private final long snapshotIntervalNanos;
+  private final long expectedIntervalNanos;
+
+  public HdrHistogramMetricRegistry(long snapshotIntervalNanos, long expectedIntervalNanos) {
+    this.snapshotIntervalNanos = snapshotIntervalNanos;
+    this.expectedIntervalNanos = expectedIntervalNanos;
+  }
+
+  @Override
+  public Timer timer(String name) {
+    Metric metric = getMetrics().get(name);
+    if (metric == null) {
+      return getOrRegister(name, new Timer(newReservoir()), Timer.class);
+    } else {
+      return cast(name, metric, Timer.class);
+    }
+  }
+
+  @Override
+  public Histogram histogram(String name) {
+    Metric metric = getMetrics().get(name);
+    if (metric == null) {
+      return getOrRegister(name, new Histogram(newReservoir()), Histogram.class);
+    } else {
+      return cast(name, metric, Histogram.class);
+    }
+  }
+
+  private HdrHistogramReservoir newReservoir() {
+    return new HdrHistogramReservoir(snapshotIntervalNanos, expectedIntervalNanos);
+  }
+
+  private <T extends Metric> T getOrRegister(String name, T metric, Class<T> type) {
+    try {
+      return register(name, metric);
+    } catch (IllegalArgumentException e) {
+      // lost a race with another thread registering the same name
+      Metric existing = getMetrics().get(name);
+      if (existing == null) {
+        throw e;
+      }
+      return cast(name, existing, type);
+    }
+  }
+
+  private static <T extends Metric> T cast(String name, Metric metric, Class<T> type) {
+    if (type.isInstance(metric)) {
+      return type.cast(metric);
+    } else {
+      throw new IllegalArgumentException(name + " is already used for a different type of metric");
+    }
+  }
+
+}
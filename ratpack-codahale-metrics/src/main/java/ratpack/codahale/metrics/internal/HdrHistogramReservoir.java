@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.codahale.metrics.internal;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * A {@link Reservoir} backed by an HdrHistogram {@link Recorder}.
+ * <p>
+ * Values are recorded without locking.
+ * Snapshots are interval based rather than cumulative; the recorded values are rolled over into a new snapshot at most once per {@code snapshotInterval},
+ * and the same snapshot is handed out to every caller (i.e. every reporter) within that interval.
+ * <p>
+ * If an {@code expectedInterval} greater than zero is given, snapshots are corrected for coordinated omission by
+ * back filling the values that would have been recorded had the measured operation not stalled.
+ */
+public class HdrHistogramReservoir implements Reservoir {
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+  private final Clock clock;
+  private final long snapshotIntervalNanos;
+  private final long expectedIntervalNanos;
+
+  private Histogram intervalHistogram;
+  private Snapshot snapshot;
+  private long nextSnapshotTick;
+
+  public HdrHistogramReservoir(long snapshotIntervalNanos, long expectedIntervalNanos) {
+    this(snapshotIntervalNanos, expectedIntervalNanos, Clock.defaultClock());
+  }
+
+  public HdrHistogramReservoir(long snapshotIntervalNanos, long expectedIntervalNanos, Clock clock) {
+    this.snapshotIntervalNanos = snapshotIntervalNanos;
+    this.expectedIntervalNanos = expectedIntervalNanos;
+    this.clock = clock;
+    this.intervalHistogram = recorder.getIntervalHistogram();
+    this.snapshot = new HdrHistogramSnapshot(intervalHistogram);
+    this.nextSnapshotTick = clock.getTick() + snapshotIntervalNanos;
+  }
+
+  @Override
+  public int size() {
+    return getSnapshot().size();
+  }
+
+  @Override
+  public void update(long value) {
+    recorder.recordValue(value);
+  }
+
+  @Override
+  public synchronized Snapshot getSnapshot() {
+    long tick = clock.getTick();
+    if (tick - nextSnapshotTick >= 0) {
+      intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+      Histogram histogram = expectedIntervalNanos > 0 ? intervalHistogram.copyCorrectedForCoordinatedOmission(expectedIntervalNanos) : intervalHistogram.copy();
+      snapshot = new HdrHistogramSnapshot(histogram);
+      nextSnapshotTick = tick + snapshotIntervalNanos;
+    }
+    return snapshot;
+  }
+
+}
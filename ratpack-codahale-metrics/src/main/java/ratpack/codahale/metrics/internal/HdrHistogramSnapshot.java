@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.codahale.metrics.internal;
+
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link Snapshot} that reads its statistics straight from an HdrHistogram, instead of from a sorted array of samples.
+ * <p>
+ * The {@link #getValues() values} of this snapshot are the distinct recorded values (at the histogram's precision), not every recorded sample.
+ */
+public class HdrHistogramSnapshot extends Snapshot {
+
+  private static final long[] NO_VALUES = new long[0];
+
+  private final AbstractHistogram histogram;
+
+  public HdrHistogramSnapshot(AbstractHistogram histogram) {
+    super(NO_VALUES);
+    this.histogram = histogram;
+  }
+
+  @Override
+  public double getValue(double quantile) {
+    if (quantile < 0.0 || quantile > 1.0) {
+      throw new IllegalArgumentException(quantile + " is not in [0..1]");
+    }
+    return histogram.getValueAtPercentile(quantile * 100.0);
+  }
+
+  @Override
+  public int size() {
+    return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+  }
+
+  @Override
+  public double getMedian() {
+    return getValue(0.5);
+  }
+
+  @Override
+  public double get75thPercentile() {
+    return getValue(0.75);
+  }
+
+  @Override
+  public double get95thPercentile() {
+    return getValue(0.95);
+  }
+
+  @Override
+  public double get98thPercentile() {
+    return getValue(0.98);
+  }
+
+  @Override
+  public double get99thPercentile() {
+    return getValue(0.99);
+  }
+
+  @Override
+  public double get999thPercentile() {
+    return getValue(0.999);
+  }
+
+  @Override
+  public long[] getValues() {
+    long[] values = new long[countDistinctValues()];
+    int i = 0;
+    for (HistogramIterationValue value : histogram.recordedValues()) {
+      values[i++] = histogram.highestEquivalentValue(value.getValueIteratedTo());
+    }
+    return values;
+  }
+
+  @Override
+  public long getMax() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue();
+  }
+
+  @Override
+  public long getMin() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getMinValue();
+  }
+
+  @Override
+  public double getMean() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getMean();
+  }
+
+  @Override
+  public double getStdDev() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getStdDeviation();
+  }
+
+  @Override
+  public void dump(OutputStream output) {
+    try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+      for (HistogramIterationValue value : histogram.recordedValues()) {
+        out.printf("%d%n", histogram.highestEquivalentValue(value.getValueIteratedTo()));
+      }
+    }
+  }
+
+  private int countDistinctValues() {
+    int count = 0;
+    for (HistogramIterationValue ignored : histogram.recordedValues()) {
+      ++count;
+    }
+    return count;
+  }
+
+}
@@ -84,6 +84,7 @@ public class MetricRegistryJsonMapper implements Function<MetricRegistry, String
       json.writeNumberField("98thPercentile", convertDuration(snapshot.get98thPercentile()));
       json.writeNumberField("99thPercentile", convertDuration(snapshot.get99thPercentile()));
       json.writeNumberField("999thPercentile", convertDuration(snapshot.get999thPercentile()));
+      json.writeNumberField("9999thPercentile", convertDuration(snapshot.getValue(0.9999)));
       json.writeEndObject();
     }
     json.writeEndArray();
@@ -143,6 +144,7 @@ public class MetricRegistryJsonMapper implements Function<MetricRegistry, String
       json.writeNumberField("98thPercentile", convertDuration(snapshot.get98thPercentile()));
       json.writeNumberField("99thPercentile", convertDuration(snapshot.get99thPercentile()));
       json.writeNumberField("999thPercentile", convertDuration(snapshot.get999thPercentile()));
+      json.writeNumberField("9999thPercentile", convertDuration(snapshot.getValue(0.9999)));
       json.writeEndObject();
     }
     json.writeEndArray();
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.codahale.metrics.internal;
+
+import com.codahale.metrics.*;
+import com.google.inject.Inject;
+import io.netty.buffer.ByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the metrics of a {@link MetricRegistry} in the Prometheus text exposition format straight into a {@link ByteBuf}.
+ * <p>
+ * The encoded form of each metric name is computed once and cached, until the metric is removed from the registry.
+ * Timers are reported as summaries in seconds, histograms as summaries of their raw values, meters as counters and counters and numeric gauges as gauges.
+ * The {@code _sum} of a summary is estimated from the mean of the snapshot, as metrics does not keep a running total.
+ * <p>
+ * Metric names that encode to the name of a metric already written (e.g. {@code foo.bar} and {@code foo-bar}) are skipped, with a warning that is logged once per name,
+ * as Prometheus rejects duplicate metrics.
+ */
+public class PrometheusTextEncoder extends MetricRegistryListener.Base {
+
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4";
+
+  private final static Logger LOGGER = LoggerFactory.getLogger(PrometheusTextEncoder.class);
+
+  private static final byte[] TYPE = ascii("# TYPE ");
+  private static final byte[] GAUGE = ascii(" gauge\n");
+  private static final byte[] COUNTER = ascii(" counter\n");
+  private static final byte[] SUMMARY = ascii(" summary\n");
+  private static final byte[] SUM_SUFFIX = ascii("_sum ");
+  private static final byte[] COUNT_SUFFIX = ascii("_count ");
+
+  private static final double[] QUANTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999, 0.9999};
+  private static final byte[][] QUANTILE_LABELS = new byte[QUANTILES.length][];
+
+  static {
+    for (int i = 0; i < QUANTILES.length; ++i) {
+      QUANTILE_LABELS[i] = ascii("{quantile=\"" + QUANTILES[i] + "\"} ");
+    }
+  }
+
+  private static final double SECONDS_PER_NANO = 1.0 / TimeUnit.SECONDS.toNanos(1);
+
+  private final ConcurrentMap<String, EncodedName> encodedNames = new ConcurrentHashMap<>();
+  private final Set<String> collisions = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+  private static class EncodedName {
+    private final String name;
+    private final byte[] bytes;
+
+    private EncodedName(String name) {
+      this.name = name;
+      this.bytes = ascii(name);
+    }
+  }
+
+  @Inject
+  public PrometheusTextEncoder(MetricRegistry metricRegistry) {
+    metricRegistry.addListener(this);
+  }
+
+  public void encode(MetricRegistry metricRegistry, ByteBuf buffer) {
+    Set<String> written = new HashSet<>();
+    for (Map.Entry<String, Metric> entry : metricRegistry.getMetrics().entrySet()) {
+      EncodedName encodedName = encodedName(entry.getKey());
+      if (!written.add(encodedName.name)) {
+        if (collisions.add(entry.getKey())) {
+          LOGGER.warn("Metric [" + entry.getKey() + "] is not reported to Prometheus, as another metric is also named [" + encodedName.name + "]");
+        }
+        continue;
+      }
+      byte[] name = encodedName.bytes;
+
+      Metric metric = entry.getValue();
+      if (metric instanceof Timer) {
+        writeSummary(buffer, name, ((Timer) metric).getSnapshot(), ((Timer) metric).getCount(), SECONDS_PER_NANO);
+      } else if (metric instanceof Histogram) {
+        writeSummary(buffer, name, ((Histogram) metric).getSnapshot(), ((Histogram) metric).getCount(), 1);
+      } else if (metric instanceof Meter) {
+        writeSingle(buffer, name, COUNTER, ((Meter) metric).getCount());
+      } else if (metric instanceof Counter) {
+        writeSingle(buffer, name, GAUGE, ((Counter) metric).getCount());
+      } else if (metric instanceof Gauge) {
+        Object value;
+        try {
+          value = ((Gauge<?>) metric).getValue();
+        } catch (Exception e) {
+          LOGGER.debug("Exception encountered while reporting [" + entry.getKey() + "]: " + e.getLocalizedMessage());
+          continue;
+        }
+        if (value instanceof Number) {
+          writeSingle(buffer, name, GAUGE, ((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+          writeSingle(buffer, name, GAUGE, (Boolean) value ? 1 : 0);
+        }
+      }
+    }
+  }
+
+  private static void writeSingle(ByteBuf buffer, byte[] name, byte[] type, double value) {
+    buffer.writeBytes(TYPE).writeBytes(name).writeBytes(type);
+    buffer.writeBytes(name).writeByte(' ');
+    writeNumber(buffer, value);
+    buffer.writeByte('\n');
+  }
+
+  private static void writeSummary(ByteBuf buffer, byte[] name, Snapshot snapshot, long count, double factor) {
+    buffer.writeBytes(TYPE).writeBytes(name).writeBytes(SUMMARY);
+    for (int i = 0; i < QUANTILES.length; ++i) {
+      buffer.writeBytes(name).writeBytes(QUANTILE_LABELS[i]);
+      writeNumber(buffer, snapshot.getValue(QUANTILES[i]) * factor);
+      buffer.writeByte('\n');
+    }
+    buffer.writeBytes(name).writeBytes(SUM_SUFFIX);
+    writeNumber(buffer, snapshot.getMean() * count * factor);
+    buffer.writeByte('\n');
+    buffer.writeBytes(name).writeBytes(COUNT_SUFFIX);
+    writeLong(buffer, count);
+    buffer.writeByte('\n');
+  }
+
+  private static void writeNumber(ByteBuf buffer, double value) {
+    if (Double.isNaN(value)) {
+      writeAscii(buffer, "NaN");
+    } else if (Double.isInfinite(value)) {
+      writeAscii(buffer, value > 0 ? "+Inf" : "-Inf");
+    } else if (value == (long) value && Math.abs(value) < 1e15) {
+      writeLong(buffer, (long) value);
+    } else {
+      writeAscii(buffer, Double.toString(value));
+    }
+  }
+
+  private static void writeLong(ByteBuf buffer, long value) {
+    if (value == Long.MIN_VALUE) {
+      writeAscii(buffer, Long.toString(value));
+      return;
+    }
+    if (value < 0) {
+      buffer.writeByte('-');
+      value = -value;
+    }
+    long divisor = 1;
+    while (divisor <= value / 10) {
+      divisor *= 10;
+    }
+    while (divisor > 0) {
+      buffer.writeByte((int) ('0' + value / divisor));
+      value %= divisor;
+      divisor /= 10;
+    }
+  }
+
+  private static void writeAscii(ByteBuf buffer, String value) {
+    for (int i = 0; i < value.length(); ++i) {
+      buffer.writeByte(value.charAt(i));
+    }
+  }
+
+  private EncodedName encodedName(String name) {
+    EncodedName encoded = encodedNames.get(name);
+    if (encoded == null) {
+      encoded = new EncodedName(encodeName(name));
+      encodedNames.put(name, encoded);
+    }
+    return encoded;
+  }
+
+  private static String encodeName(String name) {
+    StringBuilder builder = new StringBuilder(name.length() + 1);
+    if (name.isEmpty() || Character.isDigit(name.charAt(0))) {
+      builder.append('_');
+    }
+    for (int i = 0; i < name.length(); ++i) {
+      char c = name.charAt(i);
+      boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == ':';
+      builder.append(valid ? c : '_');
+    }
+    return builder.toString();
+  }
+
+  private static byte[] ascii(String string) {
+    return string.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private void removed(String name) {
+    encodedNames.remove(name);
+    collisions.remove(name);
+  }
+
+  @Override
+  public void onGaugeRemoved(String name) {
+    removed(name);
+  }
+
+  @Override
+  public void onCounterRemoved(String name) {
+    removed(name);
+  }
+
+  @Override
+  public void onHistogramRemoved(String name) {
+    removed(name);
+  }
+
+  @Override
+  public void onMeterRemoved(String name) {
+    removed(name);
+  }
+
+  @Override
+  public void onTimerRemoved(String name) {
+    removed(name);
+  }
+
+}
@@ -470,4 +470,83 @@ class MetricsSpec extends RatpackGroovyDslSpec {
     }
     blockingTimer.count == 2
   }
+
+  def "can use hdr histogram backed timers"() {
+    given:
+    bindings {
+      add new CodaHaleMetricsModule().hdrHistogram(100, 0, TimeUnit.MILLISECONDS)
+    }
+
+    handlers { MetricRegistry metrics ->
+      get {
+        metrics.histogram("fooHistogram").update(1000)
+        render metrics.getClass().simpleName
+      }
+      get("snapshot") {
+        def snapshot = metrics.timers["[root]~GET~Request"].snapshot
+        def histogram = metrics.histograms["fooHistogram"].snapshot
+        render "${snapshot.getClass().simpleName}:${snapshot.size()}:${histogram.size()}:${histogram.max >= 1000}"
+      }
+    }
+
+    when:
+    2.times { get() }
+
+    then:
+    response.body.text == "HdrHistogramMetricRegistry"
+
+    when:
+    sleep 200
+
+    then:
+    getText("snapshot") == "HdrHistogramSnapshot:2:2:true"
+  }
+
+  def "can use prometheus metrics endpoint"() {
+    given:
+    bindings {
+      add new CodaHaleMetricsModule().prometheus()
+    }
+
+    handlers { MetricRegistry metrics ->
+      metrics.register("foo.gauge", new com.codahale.metrics.Gauge<Integer>() {
+        @Override
+        public Integer getValue() {
+          2
+        }
+      })
+      metrics.register("foo-gauge", new com.codahale.metrics.Gauge<Integer>() {
+        @Override
+        public Integer getValue() {
+          2
+        }
+      })
+
+      get {
+        metrics.meter("fooMeter").mark()
+        metrics.counter("fooCounter").inc()
+        metrics.histogram("fooHistogram").update(3)
+        render "foo"
+      }
+
+      get("admin/metrics", new PrometheusMetricsHandler())
+    }
+
+    when:
+    2.times { get() }
+    def lines = getText("admin/metrics").readLines()
+
+    then:
+    response.headers.get("Content-Type") == "text/plain; version=0.0.4"
+    lines.containsAll([
+      "# TYPE foo_gauge gauge", "foo_gauge 2",
+      "# TYPE fooMeter counter", "fooMeter 2",
+      "# TYPE fooCounter gauge", "fooCounter 2",
+      "# TYPE _root__GET_Request summary", "_root__GET_Request_count 2",
+      "# TYPE fooHistogram summary", "fooHistogram_sum 6", "fooHistogram_count 2"
+    ])
+    lines.count { it.startsWith('_root__GET_Request{quantile="0.9999"} ') } == 1
+    lines.count { it.startsWith('_root__GET_Request_sum ') } == 1
+    lines.count { it == "# TYPE foo_gauge gauge" } == 1
+  }
 }
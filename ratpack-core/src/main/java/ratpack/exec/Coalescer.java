@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.exec;
+
+import ratpack.func.Factory;
+
+/**
+ * Shares the result of an asynchronous operation between all callers that concurrently request it for the same key.
+ * <p>
+ * This protects expensive backends from “thundering herds” of identical requests, such as many requests missing the same cache entry at once.
+ * The first caller for a key causes the operation to be started, in an execution of its own.
+ * Callers that arrive while it is in progress do not start it again, but receive the same result when it completes.
+ * Each caller's promise is fulfilled on the caller's own execution.
+ * <p>
+ * Successful results can optionally be retained for a short time after the operation completes (see {@link ExecControl#coalescer(java.time.Duration)}),
+ * in which case callers in that window receive the retained result without the operation being performed.
+ * Failures are never retained.
+ * <p>
+ * Instances are intended to be long lived and shared, e.g. as a field of a service.
+ * <pre class="java">{@code
+ * import ratpack.exec.Coalescer;
+ * import ratpack.exec.ExecControl;
+ *
+ * import ratpack.test.UnitTest;
+ * import ratpack.test.handling.HandlingResult;
+ *
+ * import java.time.Duration;
+ * import java.util.concurrent.atomic.AtomicInteger;
+ *
+ * public class Example {
+ *
+ *   public static void main(String[] args) throws Exception {
+ *     AtomicInteger queries = new AtomicInteger();
+ *     HandlingResult result = UnitTest.requestFixture().handleChain(chain -> {
+ *       ExecControl control = chain.getLaunchConfig().getExecController().getControl();
+ *       Coalescer<String, Integer> coalescer = control.coalescer(Duration.ofSeconds(1));
+ *       chain.get(ctx ->
+ *         coalescer.coalesce("count", () -> ctx.blocking(queries::incrementAndGet)).then(first ->
+ *           coalescer.coalesce("count", () -> ctx.blocking(queries::incrementAndGet)).then(second ->
+ *             ctx.render(first + ":" + second)
+ *           )
+ *         )
+ *       );
+ *     });
+ *
+ *     assert result.rendered(String.class).equals("1:1");
+ *     assert queries.get() == 1;
+ *   }
+ * }
+ * }</pre>
+ *
+ * @param <K> the type of key
+ * @param <T> the type of result
+ * @see ExecControl#coalescer(java.time.Duration)
+ */
+public interface Coalescer<K, T> {
+
+  /**
+   * Returns a promise for the result of the given operation for the given key, or of the operation already in progress for the key.
+   * <p>
+   * The operation factory is only invoked if no operation is in progress (or retained) for the key.
+   * Keys are compared by {@link Object#equals(Object)}.
+   *
+   * @param key the identity of the operation
+   * @param operation the operation to perform if it is not already in progress
+   * @return a promise for the shared result
+   */
+  Promise<T> coalesce(K key, Factory<? extends Promise<T>> operation);
+
+}
@@ -19,7 +19,10 @@ package ratpack.exec;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import ratpack.func.Action;
+import ratpack.func.Pair;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 /**
@@ -156,6 +159,96 @@ public interface ExecControl {
    */
   <T> Promise<T> promise(Action<? super Fulfiller<T>> action);
 
+  /**
+   * Creates a promise for the values of all of the given promises, which are produced concurrently.
+   * <p>
+   * When the returned promise is subscribed to, each of the given promises is subscribed to in a {@link #fork(Action) forked} execution,
+   * so that their async operations (e.g. blocking operations or calls to other services) are in flight at the same time.
+   * The time taken to produce the values is then that of the slowest promise, rather than the sum of all of them.
+   * <p>
+   * If any of the promises fails, the returned promise fails with the first error, and the values of the other promises are discarded.
+   *
+   * @param promises the promises to produce the values of
+   * @param <T> the type of the values
+   * @return a promise for the values of the given promises, in the same order
+   */
+  <T> Promise<List<T>> all(Iterable<? extends Promise<? extends T>> promises);
+
+  /**
+   * Creates a promise for the values of the given two promises, which are produced concurrently.
+   * <p>
+   * This is a typed version of {@link #all(Iterable)} for two promises of different types.
+   * <pre class="java">{@code
+   * import ratpack.exec.ExecControl;
+   * import ratpack.exec.Promise;
+   * import ratpack.test.UnitTest;
+   * import ratpack.test.exec.ExecHarness;
+   * import ratpack.test.exec.ExecResult;
+   *
+   * public class Example {
+   *
+   *   public static void main(String[] args) throws Exception {
+   *     try (ExecHarness harness = UnitTest.execHarness()) {
+   *       ExecResult<String> result = harness.execute(execution -> {
+   *         ExecControl control = execution.getControl();
+   *         Promise<String> name = control.blocking(() -> "John Doe");
+   *         Promise<Integer> age = control.blocking(() -> 21);
+   *         return control.all(name, age).map(pair -> pair.left + " - age: " + pair.right);
+   *       });
+   *
+   *       assert result.getValue().equals("John Doe - age: 21");
+   *     }
+   *   }
+   *
+   * }
+   * }</pre>
+   *
+   * @param left the promise for the left value
+   * @param right the promise for the right value
+   * @param <L> the type of the left value
+   * @param <R> the type of the right value
+   * @return a promise for a pair of the values
+   */
+  <L, R> Promise<Pair<L, R>> all(Promise<L> left, Promise<R> right);
+
+  /**
+   * Creates a promise for the outcome of whichever of the given promises completes first, successfully or not.
+   * <p>
+   * The given promises are subscribed to concurrently, as with {@link #all(Iterable)}.
+   * The outcomes of the other promises are discarded.
+   *
+   * @param promises the promises to race
+   * @param <T> the type of the values
+   * @return a promise for the outcome of the first of the given promises to complete
+   */
+  <T> Promise<T> any(Iterable<? extends Promise<? extends T>> promises);
+
+  /**
+   * Creates a promise for the value of whichever of the given promises succeeds first.
+   * <p>
+   * The given promises are subscribed to concurrently, as with {@link #all(Iterable)}.
+   * This can be used to send the same request to several equivalent services and use the quickest response.
+   * If all of the promises fail, the returned promise fails with the first error, with the others added as {@link Throwable#getSuppressed() suppressed}.
+   *
+   * @param promises the promises to race
+   * @param <T> the type of the values
+   * @return a promise for the value of the first of the given promises to succeed
+   */
+  <T> Promise<T> firstSuccess(Iterable<? extends Promise<? extends T>> promises);
+
+  /**
+   * Creates a coalescer, that shares the result of an operation between concurrent callers that request it for the same key.
+   * <p>
+   * If {@code retainFor} is greater than zero, successful results are also shared with callers that request them within that time after the operation completes.
+   *
+   * @param retainFor how long to retain successful results for after the operation completes, which may be {@link Duration#ZERO}
+   * @param <K> the type of key
+   * @param <T> the type of result
+   * @return a new coalescer
+   * @see Coalescer
+   */
+  <K, T> Coalescer<K, T> coalescer(Duration retainFor);
+
   /**
    * Forks a new execution on a separate thread.
    * <p>
@@ -21,6 +21,8 @@ import ratpack.func.Function;
 import ratpack.func.NoArgAction;
 import ratpack.func.Predicate;
 
+import java.time.Duration;
+
 /**
  * Operations that can be performed on promises to define an asynchronous data flow.
  * <p>
@@ -161,4 +163,32 @@ public interface PromiseOperations<T> {
 
   Promise<T> cache();
 
+  /**
+   * Fails the promise with a {@link java.util.concurrent.TimeoutException} if the value is not produced within the given duration.
+   * <p>
+   * The timer is started when the returned promise is subscribed to, and is scheduled on the execution's event loop group (i.e. no thread waits for it).
+   * The timeout is handled like any other error in producing the value, so it is given to the error handler of this promise if there is one.
+   * If the value is produced after the timeout has expired, it is discarded.
+   *
+   * @param timeout how long to wait for the value
+   * @return a promise for the value, that fails if it is not produced in time
+   */
+  Promise<T> timeout(Duration timeout);
+
+  /**
+   * Retries producing the promised value if it fails, up to the given number of attempts in total.
+   * <p>
+   * The operation that produces the value (e.g. the blocking operation or the async API call) is performed again for each attempt,
+   * waiting the given delay before the second attempt and doubling it before each subsequent attempt.
+   * The wait is scheduled on the execution's event loop group, so does not block a thread.
+   * Only the error of the last attempt is given to the error handler of this promise.
+   * <p>
+   * Transformations that this promise is the result of (e.g. {@link #map(Function)}) are also performed again for each attempt.
+   *
+   * @param maxAttempts the maximum number of times to try to produce the value, including the first attempt
+   * @param delay the delay before the first retry, doubled for each further retry
+   * @return a promise for the value of the first successful attempt
+   */
+  Promise<T> retry(int maxAttempts, Duration delay);
+
 }
@@ -22,6 +22,7 @@ import ratpack.exec.Result;
 import ratpack.exec.SuccessPromise;
 import ratpack.func.*;
 
+import java.time.Duration;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -107,6 +108,16 @@ public class CachingPromise<T> implements Promise<T> {
     return this;
   }
 
+  @Override
+  public Promise<T> timeout(Duration timeout) {
+    return newPromise().timeout(timeout);
+  }
+
+  @Override
+  public Promise<T> retry(int maxAttempts, Duration delay) {
+    return newPromise().retry(maxAttempts, delay);
+  }
+
   private class Fulfillment implements Action<Fulfiller<T>> {
     @Override
     public void execute(Fulfiller<T> fulfiller) throws Exception {
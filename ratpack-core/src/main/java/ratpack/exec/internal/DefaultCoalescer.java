@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.exec.internal;
+
+import com.google.common.collect.Lists;
+import ratpack.exec.Coalescer;
+import ratpack.exec.ExecControl;
+import ratpack.exec.Fulfiller;
+import ratpack.exec.Promise;
+import ratpack.func.Factory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+public class DefaultCoalescer<K, T> implements Coalescer<K, T> {
+
+  private final ExecControl execControl;
+  private final long retainNanos;
+  private final ConcurrentMap<K, Flight<T>> flights = new ConcurrentHashMap<>();
+
+  public DefaultCoalescer(ExecControl execControl, Duration retainFor) {
+    if (retainFor.isNegative()) {
+      throw new IllegalArgumentException("retainFor must not be negative: " + retainFor);
+    }
+    this.execControl = execControl;
+    this.retainNanos = retainFor.toNanos();
+  }
+
+  @Override
+  public Promise<T> coalesce(K key, Factory<? extends Promise<T>> operation) {
+    return execControl.promise(fulfiller -> {
+      while (true) {
+        Flight<T> flight = flights.get(key);
+        if (flight == null) {
+          Flight<T> started = new Flight<>();
+          started.join(fulfiller);
+          flight = flights.putIfAbsent(key, started);
+          if (flight == null) {
+            start(key, started, operation);
+            return;
+          }
+        }
+        if (flight.join(fulfiller)) {
+          return;
+        }
+        flights.remove(key, flight);
+      }
+    });
+  }
+
+  private void start(K key, Flight<T> flight, Factory<? extends Promise<T>> operation) {
+    execControl.fork(execution ->
+        operation.create()
+          .onError(throwable -> complete(key, flight, null, throwable))
+          .then(value -> complete(key, flight, value, null)),
+      throwable -> complete(key, flight, null, throwable)
+    );
+  }
+
+  private void complete(K key, Flight<T> flight, T value, Throwable failure) {
+    boolean retain = failure == null && retainNanos > 0;
+    List<Fulfiller<T>> waiters = flight.complete(value, failure, retain, System.nanoTime() + retainNanos);
+    if (waiters == null) {
+      return;
+    }
+
+    if (retain) {
+      execControl.getController().getExecutor().schedule(() -> flights.remove(key, flight), retainNanos, TimeUnit.NANOSECONDS);
+    } else {
+      flights.remove(key, flight);
+    }
+
+    for (Fulfiller<T> waiter : waiters) {
+      flight.fulfill(waiter);
+    }
+  }
+
+  private static class Flight<T> {
+    private List<Fulfiller<T>> waiters = Lists.newArrayListWithCapacity(1);
+    private T value;
+    private Throwable failure;
+    private boolean retained;
+    private long retainedUntil;
+
+    /**
+     * Returns false if the flight has completed and its result is no longer retained.
+     */
+    boolean join(Fulfiller<T> fulfiller) {
+      synchronized (this) {
+        if (waiters != null) {
+          waiters.add(fulfiller);
+          return true;
+        } else if (!retained || retainedUntil - System.nanoTime() <= 0) {
+          return false;
+        }
+      }
+      fulfill(fulfiller);
+      return true;
+    }
+
+    /**
+     * Returns the waiters to fulfill, or null if already completed.
+     */
+    synchronized List<Fulfiller<T>> complete(T value, Throwable failure, boolean retained, long retainedUntil) {
+      List<Fulfiller<T>> completed = waiters;
+      if (completed != null) {
+        this.value = value;
+        this.failure = failure;
+        this.retained = retained;
+        this.retainedUntil = retainedUntil;
+        this.waiters = null;
+      }
+      return completed;
+    }
+
+    void fulfill(Fulfiller<T> fulfiller) {
+      if (failure == null) {
+        fulfiller.success(value);
+      } else {
+        fulfiller.error(failure);
+      }
+    }
+  }
+
+}
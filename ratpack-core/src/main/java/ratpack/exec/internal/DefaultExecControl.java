@@ -16,6 +16,7 @@
 
 package ratpack.exec.internal;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -26,9 +27,15 @@ import ratpack.exec.*;
 import ratpack.func.Action;
 import ratpack.func.Actions;
 import ratpack.func.Factory;
+import ratpack.func.Pair;
 
-import java.util.Collections;
+import java.time.Duration;
+import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class DefaultExecControl implements ExecControl {
 
@@ -83,6 +90,126 @@ public class DefaultExecControl implements ExecControl {
     return new DefaultPromise<>(executionBackingFactory, action);
   }
 
+  @Override
+  public <T> Promise<List<T>> all(Iterable<? extends Promise<? extends T>> promises) {
+    final List<Promise<? extends T>> promiseList = ImmutableList.copyOf(promises);
+    return promise(fulfiller -> {
+      if (promiseList.isEmpty()) {
+        fulfiller.success(Collections.emptyList());
+        return;
+      }
+
+      final List<T> values = new ArrayList<>(Collections.nCopies(promiseList.size(), null));
+      final AtomicInteger remaining = new AtomicInteger(promiseList.size());
+      final AtomicBoolean failed = new AtomicBoolean();
+      for (int i = 0; i < promiseList.size(); ++i) {
+        final int index = i;
+        subscribeConcurrently(promiseList.get(i), value -> {
+          values.set(index, value);
+          if (remaining.decrementAndGet() == 0) {
+            fulfiller.success(values);
+          }
+        }, throwable -> {
+          if (failed.compareAndSet(false, true)) {
+            fulfiller.error(throwable);
+          }
+        });
+      }
+    });
+  }
+
+  @Override
+  public <L, R> Promise<Pair<L, R>> all(Promise<L> left, Promise<R> right) {
+    return promise(fulfiller -> {
+      final AtomicReference<L> leftValue = new AtomicReference<>();
+      final AtomicReference<R> rightValue = new AtomicReference<>();
+      final AtomicInteger remaining = new AtomicInteger(2);
+      final AtomicBoolean failed = new AtomicBoolean();
+      final Action<Throwable> onError = throwable -> {
+        if (failed.compareAndSet(false, true)) {
+          fulfiller.error(throwable);
+        }
+      };
+      final Runnable onSuccess = () -> {
+        if (remaining.decrementAndGet() == 0) {
+          fulfiller.success(Pair.of(leftValue.get(), rightValue.get()));
+        }
+      };
+      subscribeConcurrently(left, value -> {
+        leftValue.set(value);
+        onSuccess.run();
+      }, onError);
+      subscribeConcurrently(right, value -> {
+        rightValue.set(value);
+        onSuccess.run();
+      }, onError);
+    });
+  }
+
+  @Override
+  public <T> Promise<T> any(Iterable<? extends Promise<? extends T>> promises) {
+    final List<Promise<? extends T>> promiseList = nonEmpty(promises);
+    return promise(fulfiller -> {
+      final AtomicBoolean completed = new AtomicBoolean();
+      for (Promise<? extends T> promise : promiseList) {
+        subscribeConcurrently(promise, value -> {
+          if (completed.compareAndSet(false, true)) {
+            fulfiller.success(value);
+          }
+        }, throwable -> {
+          if (completed.compareAndSet(false, true)) {
+            fulfiller.error(throwable);
+          }
+        });
+      }
+    });
+  }
+
+  @Override
+  public <K, T> Coalescer<K, T> coalescer(Duration retainFor) {
+    return new DefaultCoalescer<>(this, retainFor);
+  }
+
+  @Override
+  public <T> Promise<T> firstSuccess(Iterable<? extends Promise<? extends T>> promises) {
+    final List<Promise<? extends T>> promiseList = nonEmpty(promises);
+    return promise(fulfiller -> {
+      final AtomicBoolean succeeded = new AtomicBoolean();
+      final AtomicInteger remaining = new AtomicInteger(promiseList.size());
+      final Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+      for (Promise<? extends T> promise : promiseList) {
+        subscribeConcurrently(promise, value -> {
+          if (succeeded.compareAndSet(false, true)) {
+            fulfiller.success(value);
+          }
+        }, throwable -> {
+          errors.add(throwable);
+          if (remaining.decrementAndGet() == 0 && !succeeded.get()) {
+            Iterator<Throwable> iterator = errors.iterator();
+            Throwable first = iterator.next();
+            while (iterator.hasNext()) {
+              first.addSuppressed(iterator.next());
+            }
+            fulfiller.error(first);
+          }
+        });
+      }
+    });
+  }
+
+  private static <T> List<Promise<? extends T>> nonEmpty(Iterable<? extends Promise<? extends T>> promises) {
+    List<Promise<? extends T>> promiseList = ImmutableList.copyOf(promises);
+    if (promiseList.isEmpty()) {
+      throw new IllegalArgumentException("at least one promise is required");
+    }
+    return promiseList;
+  }
+
+  // Each promise is subscribed to in its own execution, as an execution only waits for one async operation at a time
+  private <T> void subscribeConcurrently(Promise<T> promise, Action<? super T> onSuccess, Action<? super Throwable> onError) {
+    fork(execution -> promise.onError(onError).then(onSuccess), onError);
+  }
+
   @Override
   public void fork(Action<? super Execution> action) {
     fork(action, Actions.throwException(), Actions.noop());
@@ -105,6 +232,7 @@ public class DefaultExecControl implements ExecControl {
   @Override
   public <T> void stream(final Publisher<T> publisher, final Subscriber<? super T> subscriber) {
     final ExecutionBacking executionBacking = getBacking();
+    final StreamDispatcher<T> dispatcher = new StreamDispatcher<>(executionBacking, subscriber);
 
     promise((Fulfillment<Subscription>) fulfiller -> publisher.subscribe(new Subscriber<T>() {
       @Override
@@ -114,17 +242,17 @@ public class DefaultExecControl implements ExecControl {
 
       @Override
       public void onNext(final T element) {
-        executionBacking.streamExecution(execution -> subscriber.onNext(element));
+        dispatcher.next(element);
       }
 
       @Override
       public void onComplete() {
-        executionBacking.completeStreamExecution(execution -> subscriber.onComplete());
+        dispatcher.complete();
       }
 
       @Override
       public void onError(final Throwable cause) {
-        executionBacking.completeStreamExecution(execution -> subscriber.onError(cause));
+        dispatcher.error(cause);
       }
     })).then(subscription -> executionBacking.streamExecution(execution -> subscriber.onSubscribe(subscription)));
   }
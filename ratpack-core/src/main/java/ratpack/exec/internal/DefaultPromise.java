@@ -21,6 +21,7 @@ import ratpack.exec.Promise;
 import ratpack.exec.SuccessPromise;
 import ratpack.func.*;
 
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static ratpack.func.Actions.throwException;
@@ -82,4 +83,14 @@ public class DefaultPromise<T> implements Promise<T> {
   public Promise<T> cache() {
     return propagatingSuccessPromise().cache();
   }
+
+  @Override
+  public Promise<T> timeout(Duration timeout) {
+    return propagatingSuccessPromise().timeout(timeout);
+  }
+
+  @Override
+  public Promise<T> retry(int maxAttempts, Duration delay) {
+    return propagatingSuccessPromise().retry(maxAttempts, delay);
+  }
 }
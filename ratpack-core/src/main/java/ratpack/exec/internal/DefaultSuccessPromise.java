@@ -18,13 +18,22 @@ package ratpack.exec.internal;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ratpack.api.Nullable;
 import ratpack.exec.*;
 import ratpack.func.*;
 import ratpack.util.internal.InternalRatpackError;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static ratpack.func.Actions.ignoreArg;
+import static ratpack.func.Actions.noop;
 import static ratpack.func.Actions.throwException;
 import static ratpack.func.Predicates.isNull;
 
@@ -60,36 +69,220 @@ public class DefaultSuccessPromise<T> implements SuccessPromise<T> {
   }
 
   private void doThen(final Fulfiller<? super T> outer) {
-    final ExecutionBacking executionBacking = executionProvider.create();
-    final AtomicBoolean fulfilled = new AtomicBoolean();
+    doThen(outer, null);
+  }
+
+  private void doThen(final Fulfiller<? super T> outer, @Nullable final Duration timeout) {
+    Continuation continuation = new Continuation(outer, timeout);
     try {
-      action.execute(new Fulfiller<T>() {
-        @Override
-        public void error(final Throwable throwable) {
-          if (!fulfilled.compareAndSet(false, true)) {
-            LOGGER.error("", new OverlappingExecutionException("promise already fulfilled", throwable));
-            return;
-          }
+      action.execute(continuation);
+    } catch (final Throwable throwable) {
+      continuation.fail(throwable);
+    }
+  }
+
+  void subscribe(final Fulfiller<T> downstream) {
+    if (fired.compareAndSet(false, true)) {
+      continueUnlessExpired(executionProvider.create(), downstream, () -> doThen(new Passthrough(downstream)));
+    } else {
+      throw new MultiplePromiseSubscriptionException();
+    }
+  }
+
+  private static ScheduledFuture<?> schedule(ExecutionBacking executionBacking, Duration delay, Runnable runnable) {
+    return executionBacking.getController().getExecutor().schedule(runnable, delay.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  // Starts an async operation for a promise chain, unless a timeout of the chain has already resumed the execution
+  private static void continueUnlessExpired(final ExecutionBacking executionBacking, final Fulfiller<?> downstream, final Runnable runnable) {
+    executionBacking.continueVia(() -> {
+      if (isExpired(downstream)) {
+        executionBacking.join(noop());
+      } else {
+        runnable.run();
+      }
+    });
+  }
+
+  private static boolean holdTimeouts(Fulfiller<?> fulfiller) {
+    return !(fulfiller instanceof Expiring) || ((Expiring) fulfiller).hold();
+  }
+
+  private static void releaseTimeouts(Fulfiller<?> fulfiller) {
+    if (fulfiller instanceof Expiring) {
+      ((Expiring) fulfiller).release();
+    }
+  }
+
+  private static boolean isExpired(Fulfiller<?> fulfiller) {
+    return fulfiller instanceof Expiring && ((Expiring) fulfiller).isExpired();
+  }
+
+  private static void onExpiry(Fulfiller<?> fulfiller, Runnable listener) {
+    if (fulfiller instanceof Expiring) {
+      ((Expiring) fulfiller).whenExpired(listener);
+    }
+  }
+
+  /**
+   * A fulfiller that is downstream of a {@link #timeout(Duration)}.
+   * <p>
+   * Once a timeout has resumed the execution, no upstream continuation may resume it again,
+   * as the execution may by then be waiting on another operation.
+   * An upstream continuation holds its downstream timeouts while it resumes the execution, so that they can't expire concurrently.
+   */
+  private interface Expiring {
+    boolean hold();
+
+    void release();
+
+    boolean isExpired();
 
-          executionBacking.join(execution -> outer.error(throwable));
+    void whenExpired(Runnable listener);
+  }
+
+  private class Continuation implements Fulfiller<T>, Expiring {
+    private static final int FULFILLED = -1;
+    private static final int EXPIRED = -2;
+
+    private final Fulfiller<? super T> outer;
+    private final ExecutionBacking executionBacking;
+    private final Duration timeout;
+    private final ScheduledFuture<?> timer;
+    private final List<Runnable> expiryListeners = new CopyOnWriteArrayList<>();
+
+    // the number of holds while pending, or FULFILLED or EXPIRED
+    private final AtomicInteger state = new AtomicInteger();
+    private volatile boolean deadlinePassed;
+
+    private Continuation(Fulfiller<? super T> outer, @Nullable Duration timeout) {
+      this.outer = outer;
+      this.executionBacking = executionProvider.create();
+      this.timeout = timeout;
+      this.timer = timeout == null ? null : schedule(executionBacking, timeout, () -> {
+        deadlinePassed = true;
+        expire();
+      });
+    }
+
+    @Override
+    public void error(final Throwable throwable) {
+      if (fulfil()) {
+        resume(execution -> outer.error(throwable));
+      } else if (state.get() != EXPIRED) {
+        LOGGER.error("", new OverlappingExecutionException("promise already fulfilled", throwable));
+      }
+    }
+
+    @Override
+    public void success(final T value) {
+      if (fulfil()) {
+        resume(execution -> outer.success(value));
+      } else if (state.get() != EXPIRED) {
+        LOGGER.error("", new OverlappingExecutionException("promise already fulfilled"));
+      }
+    }
+
+    private void fail(Throwable throwable) {
+      if (fulfil()) {
+        resume(throwException(throwable));
+      } else if (state.get() != EXPIRED) {
+        LOGGER.error("", new OverlappingExecutionException("exception thrown after promise was fulfilled", throwable));
+      }
+    }
+
+    private boolean fulfil() {
+      int current;
+      do {
+        current = state.get();
+        if (current < 0) {
+          return false;
         }
+      } while (!state.compareAndSet(current, FULFILLED));
 
-        @Override
-        public void success(final T value) {
-          if (!fulfilled.compareAndSet(false, true)) {
-            LOGGER.error("", new OverlappingExecutionException("promise already fulfilled"));
+      if (timer != null) {
+        timer.cancel(false);
+      }
+      return true;
+    }
+
+    private void expire() {
+      if (state.compareAndSet(0, EXPIRED)) {
+        for (Runnable listener : expiryListeners) {
+          listener.run();
+        }
+        resume(execution -> outer.error(new TimeoutException("promise was not fulfilled within " + timeout)));
+      }
+    }
+
+    private void resume(final Action<? super Execution> action) {
+      if (holdTimeouts(outer)) {
+        executionBacking.join(execution -> {
+          try {
+            action.execute(execution);
+          } finally {
+            releaseTimeouts(outer);
+          }
+        });
+      }
+    }
+
+    @Override
+    public boolean hold() {
+      if (timeout != null) {
+        int current;
+        do {
+          current = state.get();
+          if (current == EXPIRED) {
+            return false;
+          }
+        } while (current >= 0 && !state.compareAndSet(current, current + 1));
+      }
+
+      if (holdTimeouts(outer)) {
+        return true;
+      } else {
+        releaseOwn();
+        return false;
+      }
+    }
+
+    @Override
+    public void release() {
+      releaseOwn();
+      releaseTimeouts(outer);
+    }
+
+    private void releaseOwn() {
+      if (timeout != null) {
+        int current;
+        do {
+          current = state.get();
+          if (current <= 0) {
             return;
           }
+        } while (!state.compareAndSet(current, current - 1));
 
-          executionBacking.join(execution -> outer.success(value));
+        if (current == 1 && deadlinePassed) {
+          expire();
+        }
+      }
+    }
+
+    @Override
+    public boolean isExpired() {
+      return state.get() == EXPIRED || DefaultSuccessPromise.isExpired(outer);
+    }
+
+    @Override
+    public void whenExpired(Runnable listener) {
+      if (timeout != null) {
+        expiryListeners.add(listener);
+        if (state.get() == EXPIRED) {
+          listener.run();
         }
-      });
-    } catch (final Throwable throwable) {
-      if (!fulfilled.compareAndSet(false, true)) {
-        LOGGER.error("", new OverlappingExecutionException("exception thrown after promise was fulfilled", throwable));
-      } else {
-        executionBacking.join(throwException(throwable));
       }
+      onExpiry(outer, listener);
     }
   }
 
@@ -113,7 +306,13 @@ public class DefaultSuccessPromise<T> implements SuccessPromise<T> {
       return new DefaultPromise<>(executionProvider, downstream -> DefaultSuccessPromise.this.doThen(new Transform<Promise<O>, O>(downstream, transformer) {
         @Override
         protected void onSuccess(Promise<O> transformed) {
-          transformed.onError(downstream::error).then(downstream::success);
+          SuccessPromise<O> promise = transformed.onError(downstream::error);
+          if (promise instanceof DefaultSuccessPromise) {
+            // keeps the downstream timeouts in force for the promise
+            ((DefaultSuccessPromise<O>) promise).subscribe(downstream);
+          } else {
+            promise.then(downstream::success);
+          }
         }
       }));
     } else {
@@ -161,13 +360,93 @@ public class DefaultSuccessPromise<T> implements SuccessPromise<T> {
     return route(isNull(), ignoreArg(onNull));
   }
 
-  private abstract class Step<O> implements Fulfiller<T> {
+  @Override
+  public Promise<T> timeout(final Duration timeout) {
+    if (fired.compareAndSet(false, true)) {
+      return new DefaultPromise<>(executionProvider, downstream -> DefaultSuccessPromise.this.doThen(new Passthrough(downstream), timeout));
+    } else {
+      throw new MultiplePromiseSubscriptionException();
+    }
+  }
+
+  @Override
+  public Promise<T> retry(final int maxAttempts, final Duration delay) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("maxAttempts must be at least 1, was " + maxAttempts);
+    }
+    if (fired.compareAndSet(false, true)) {
+      return new DefaultPromise<>(executionProvider, downstream -> attempt(downstream, 1, maxAttempts, delay));
+    } else {
+      throw new MultiplePromiseSubscriptionException();
+    }
+  }
+
+  private void attempt(final Fulfiller<T> downstream, final int attempt, final int maxAttempts, final Duration delay) {
+    doThen(new Passthrough(downstream) {
+      @Override
+      public void error(Throwable throwable) {
+        if (attempt < maxAttempts) {
+          // Wait for the delay as an async operation of the execution, then make the next attempt as another
+          final ExecutionBacking executionBacking = executionProvider.create();
+          continueUnlessExpired(executionBacking, downstream, () -> {
+            ScheduledFuture<?> retry = schedule(executionBacking, delay, () -> {
+              if (hold()) {
+                executionBacking.join(execution -> {
+                  try {
+                    continueUnlessExpired(executionBacking, downstream, () -> attempt(downstream, attempt + 1, maxAttempts, delay.multipliedBy(2)));
+                  } finally {
+                    release();
+                  }
+                });
+              }
+            });
+            whenExpired(() -> retry.cancel(false));
+          });
+        } else {
+          super.error(throwable);
+        }
+      }
+    });
+  }
+
+  private class Passthrough extends Step<T> {
+    public Passthrough(Fulfiller<T> downstream) {
+      super(downstream);
+    }
+
+    @Override
+    public void success(T value) {
+      downstream.success(value);
+    }
+  }
+
+  private abstract class Step<O> implements Fulfiller<T>, Expiring {
     protected final Fulfiller<O> downstream;
 
     public Step(Fulfiller<O> downstream) {
       this.downstream = downstream;
     }
 
+    @Override
+    public boolean hold() {
+      return holdTimeouts(downstream);
+    }
+
+    @Override
+    public void release() {
+      releaseTimeouts(downstream);
+    }
+
+    @Override
+    public boolean isExpired() {
+      return DefaultSuccessPromise.isExpired(downstream);
+    }
+
+    @Override
+    public void whenExpired(Runnable listener) {
+      onExpiry(downstream, listener);
+    }
+
     @Override
     public void error(Throwable throwable) {
       try {
@@ -131,27 +131,27 @@ public class ExecutionBacking {
 
   private void drain() {
     if (controller.isManagedThread()) {
-      threadBinding.set(this);
-      try {
-        Runnable segment = segments.poll();
-        while (segment != null) {
-          segment.run();
-          if (waiting) { // the segment initiated an async op
-            break;
-          } else {
-            segment = segments.poll();
-            if (segment == null && !streaming) { // not waiting, not streaming and no more segments, we are done
-              done();
+      do {
+        threadBinding.set(this);
+        try {
+          Runnable segment = segments.poll();
+          while (segment != null) {
+            segment.run();
+            if (waiting) { // the segment initiated an async op
+              break;
+            } else {
+              segment = segments.poll();
+              if (segment == null && !streaming) { // not waiting, not streaming and no more segments, we are done
+                done();
+              }
             }
           }
+        } finally {
+          threadBinding.remove();
+          active.set(false);
         }
-      } finally {
-        threadBinding.remove();
-        active.set(false);
-      }
-      if (waiting) {
-        tryDrain();
-      }
+        // Segments may have been added by other threads (e.g. streamed elements, or a join) while this thread held the execution
+      } while (!done && !waiting && !segments.isEmpty() && active.compareAndSet(false, true));
     } else {
       active.set(false);
       controller.getEventLoopGroup().submit(this::tryDrain);
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.exec.internal;
+
+import org.reactivestreams.Subscriber;
+import ratpack.exec.Execution;
+import ratpack.func.Action;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers the signals of a stream to a subscriber as segments of an execution.
+ * <p>
+ * Signals are queued, and all of the signals queued by the time a segment runs are delivered in that segment.
+ * The cost of a segment (queueing, scheduling and interception) is then paid per batch of elements rather than per element.
+ * Elements published while a batch is being delivered (e.g. synchronously from within a call to {@code request()} by the subscriber) are delivered in the same batch.
+ *
+ * @param <T> the type of streamed elements
+ */
+class StreamDispatcher<T> {
+
+  private final ExecutionBacking executionBacking;
+  private final Subscriber<? super T> subscriber;
+
+  private final Queue<Object> signals = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final Action<Execution> drain = execution -> drain();
+  private volatile boolean failed;
+
+  StreamDispatcher(ExecutionBacking executionBacking, Subscriber<? super T> subscriber) {
+    this.executionBacking = executionBacking;
+    this.subscriber = subscriber;
+  }
+
+  public void next(T element) {
+    if (failed) {
+      return;
+    }
+    signals.add(element);
+    if (scheduled.compareAndSet(false, true)) {
+      executionBacking.streamExecution(drain);
+    }
+  }
+
+  public void complete() {
+    signals.add(Terminal.COMPLETE);
+    executionBacking.completeStreamExecution(drain);
+  }
+
+  public void error(Throwable cause) {
+    signals.add(new Terminal(cause));
+    executionBacking.completeStreamExecution(drain);
+  }
+
+  private void drain() {
+    boolean drained = false;
+    try {
+      Object signal = signals.poll();
+      while (!failed) {
+        if (signal == null) {
+          scheduled.set(false);
+          if (signals.isEmpty() || !scheduled.compareAndSet(false, true)) {
+            break;
+          }
+        } else {
+          deliver(signal);
+        }
+        signal = signals.poll();
+      }
+      drained = true;
+    } finally {
+      if (!drained) {
+        // The subscriber threw, so the execution will fail and the rest of the stream is discarded
+        failed = true;
+        signals.clear();
+      }
+    }
+  }
+
+  private void deliver(Object signal) {
+    if (signal instanceof Terminal) {
+      Throwable cause = ((Terminal) signal).cause;
+      if (cause == null) {
+        subscriber.onComplete();
+      } else {
+        subscriber.onError(cause);
+      }
+    } else {
+      @SuppressWarnings("unchecked") T element = (T) signal;
+      subscriber.onNext(element);
+    }
+  }
+
+  private static class Terminal {
+    private static final Terminal COMPLETE = new Terminal(null);
+
+    private final Throwable cause;
+
+    private Terminal(Throwable cause) {
+      this.cause = cause;
+    }
+  }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.file.internal;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ratpack.func.Action;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiles every file under a directory in parallel, so that templates are ready before the first request needs them.
+ * <p>
+ * The compiler is given the path of each file relative to the root, using {@code /} as the separator.
+ * Failures are logged and do not stop the remaining files being compiled, as they will be reported again when the file is used.
+ */
+public class FileTreePrecompiler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FileTreePrecompiler.class);
+
+  private final Path root;
+  private final String suffix;
+  private final ListeningExecutorService executorService;
+
+  public FileTreePrecompiler(Path root, String suffix, ListeningExecutorService executorService) {
+    this.root = root;
+    this.suffix = suffix;
+    this.executorService = executorService;
+  }
+
+  /**
+   * Compiles all files with the suffix under the root, waiting for them to complete.
+   *
+   * @param description what is being compiled, for logging
+   * @param compiler compiles the file at the given relative path
+   * @return the number of files successfully compiled
+   * @throws InterruptedException if interrupted while waiting for compilation to complete
+   */
+  public int precompile(String description, Action<? super String> compiler) throws InterruptedException {
+    if (!Files.isDirectory(root)) {
+      return 0;
+    }
+
+    long start = System.nanoTime();
+    List<String> paths = find();
+    List<ListenableFuture<?>> futures = Lists.newArrayListWithCapacity(paths.size());
+    for (String path : paths) {
+      futures.add(executorService.submit(() -> {
+        compiler.execute(path);
+        return null;
+      }));
+    }
+
+    int compiled = 0;
+    for (int i = 0; i < futures.size(); ++i) {
+      try {
+        futures.get(i).get();
+        ++compiled;
+      } catch (ExecutionException e) {
+        LOGGER.warn("Failed to precompile " + description + " '" + paths.get(i) + "'", e.getCause());
+      }
+    }
+
+    LOGGER.info("Precompiled {} of {} {} in {}ms", compiled, paths.size(), description, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return compiled;
+  }
+
+  private List<String> find() {
+    List<String> paths = Lists.newArrayList();
+    try {
+      Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+          String path = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+          if (attrs.isRegularFile() && path.endsWith(suffix)) {
+            paths.add(path);
+          }
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    } catch (IOException e) {
+      LOGGER.warn("Failed to scan " + root + " for precompilation", e);
+    }
+    return paths;
+  }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.handling;
+
+/**
+ * Bounds the number of requests that are processed concurrently by one or more handlers.
+ * <p>
+ * When the limit is reached, further requests wait in a bounded queue for a short time for capacity, or are otherwise rejected immediately with a {@code 503} response.
+ * Rejecting quickly keeps latency bounded for the requests that are accepted when a downstream dependency slows down,
+ * instead of letting requests (and the executions and blocking operations they start) pile up.
+ * <p>
+ * A request counts against the limit until its execution completes.
+ * The limit can be fixed, or adapt to the observed latency of requests (see {@link ConcurrencyLimiterBuilder#adaptive(int, int, java.time.Duration)}).
+ * <p>
+ * Limiters are created by {@link ConcurrencyLimiterBuilder}, and applied with {@link Handlers#concurrencyLimit(ConcurrencyLimiter, Handler)}.
+ * Using the same limiter for several handlers applies a single limit to all of them.
+ * The methods of this interface expose the current state of the limiter, e.g. for monitoring.
+ */
+public interface ConcurrencyLimiter {
+
+  /**
+   * The current limit on the number of concurrently processed requests.
+   *
+   * @return the current limit
+   */
+  int getLimit();
+
+  /**
+   * The number of requests currently being processed.
+   *
+   * @return the number of requests currently being processed
+   */
+  int getInFlight();
+
+  /**
+   * The number of requests currently waiting for capacity.
+   *
+   * @return the number of requests currently waiting for capacity
+   */
+  int getQueued();
+
+  /**
+   * The total number of requests that have been accepted for processing.
+   *
+   * @return the total number of accepted requests
+   */
+  long getAccepted();
+
+  /**
+   * The total number of requests that have been rejected, because the queue was full or they waited too long.
+   *
+   * @return the total number of rejected requests
+   */
+  long getRejected();
+
+}
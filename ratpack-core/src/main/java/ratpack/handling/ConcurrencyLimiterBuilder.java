@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.handling;
+
+import ratpack.handling.internal.DefaultConcurrencyLimiter;
+
+import java.time.Duration;
+
+/**
+ * A builder for {@link ConcurrencyLimiter} objects.
+ * <pre class="java">{@code
+ * import ratpack.handling.ConcurrencyLimiter;
+ * import ratpack.handling.ConcurrencyLimiterBuilder;
+ * import ratpack.handling.Handlers;
+ *
+ * import ratpack.test.UnitTest;
+ * import ratpack.test.handling.HandlingResult;
+ *
+ * import java.time.Duration;
+ *
+ * public class Example {
+ *   public static void main(String[] args) throws Exception {
+ *     ConcurrencyLimiter limiter = ConcurrencyLimiterBuilder.limit(100)
+ *       .adaptive(10, 500, Duration.ofMillis(200))
+ *       .queue(50, Duration.ofMillis(100))
+ *       .build();
+ *
+ *     HandlingResult result = UnitTest.requestFixture().handleChain(chain ->
+ *       chain.get(Handlers.concurrencyLimit(limiter, ctx -> ctx.render("ok")))
+ *     );
+ *
+ *     assert result.rendered(String.class).equals("ok");
+ *     assert limiter.getAccepted() == 1;
+ *   }
+ * }
+ * }</pre>
+ *
+ * @see #limit(int)
+ */
+public class ConcurrencyLimiterBuilder {
+
+  private final int limit;
+  private int minLimit;
+  private int maxLimit;
+  private Duration latencyTarget = Duration.ZERO;
+  private int maxQueued;
+  private Duration maxWait = Duration.ZERO;
+
+  private ConcurrencyLimiterBuilder(int limit) {
+    this.limit = limit;
+    this.minLimit = limit;
+    this.maxLimit = limit;
+  }
+
+  /**
+   * Create a new builder, for a limiter that allows the given number of concurrent requests.
+   * <p>
+   * By default, the limit is fixed and requests are not queued.
+   *
+   * @param limit the (initial) maximum number of concurrent requests
+   * @return A new concurrency limiter builder
+   */
+  public static ConcurrencyLimiterBuilder limit(int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("limit must be at least 1: " + limit);
+    }
+    return new ConcurrencyLimiterBuilder(limit);
+  }
+
+  /**
+   * Adapts the limit based on the latency of requests, between the given bounds.
+   * <p>
+   * The limit is adjusted as each request completes (additive increase, multiplicative decrease).
+   * If the request took longer than the target latency, the limit is reduced by 10%.
+   * Otherwise, if at least half of the limit is in use, the limit is increased by one.
+   * This allows the limit to settle at the concurrency that the application can support while meeting the target latency.
+   *
+   * @param minLimit the lowest the limit may be reduced to
+   * @param maxLimit the highest the limit may be increased to
+   * @param latencyTarget the latency above which the limit is reduced
+   * @return this
+   */
+  public ConcurrencyLimiterBuilder adaptive(int minLimit, int maxLimit, Duration latencyTarget) {
+    if (minLimit < 1 || minLimit > limit || maxLimit < limit) {
+      throw new IllegalArgumentException("limits must satisfy 1 <= minLimit (" + minLimit + ") <= limit (" + limit + ") <= maxLimit (" + maxLimit + ")");
+    }
+    if (latencyTarget.isNegative() || latencyTarget.isZero()) {
+      throw new IllegalArgumentException("latencyTarget must be positive: " + latencyTarget);
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.latencyTarget = latencyTarget;
+    return this;
+  }
+
+  /**
+   * Allows requests to wait for capacity when the limit is reached.
+   * <p>
+   * Up to {@code maxQueued} requests wait, in order of arrival, for up to {@code maxWait} each.
+   * Requests that arrive when the queue is full, or that wait for longer than {@code maxWait}, are rejected.
+   *
+   * @param maxQueued the maximum number of requests waiting for capacity
+   * @param maxWait how long each request may wait for capacity
+   * @return this
+   */
+  public ConcurrencyLimiterBuilder queue(int maxQueued, Duration maxWait) {
+    if (maxQueued < 0) {
+      throw new IllegalArgumentException("maxQueued must not be negative: " + maxQueued);
+    }
+    if (maxWait.isNegative()) {
+      throw new IllegalArgumentException("maxWait must not be negative: " + maxWait);
+    }
+    this.maxQueued = maxQueued;
+    this.maxWait = maxWait;
+    return this;
+  }
+
+  /**
+   * Builds the limiter.
+   *
+   * @return A newly constructed concurrency limiter
+   */
+  public ConcurrencyLimiter build() {
+    return new DefaultConcurrencyLimiter(limit, minLimit, maxLimit, latencyTarget.toNanos(), maxQueued, maxWait.toNanos());
+  }
+
+}
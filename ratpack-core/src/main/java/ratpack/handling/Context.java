@@ -24,6 +24,7 @@ import ratpack.api.NonBlocking;
 import ratpack.api.Nullable;
 import ratpack.exec.*;
 import ratpack.func.Action;
+import ratpack.func.Pair;
 import ratpack.handling.direct.DirectChannelAccess;
 import ratpack.http.Request;
 import ratpack.http.Response;
@@ -38,7 +39,9 @@ import ratpack.render.NoSuchRendererException;
 import ratpack.server.BindAddress;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 /**
@@ -501,6 +504,7 @@ public interface Context extends ExecControl, Registry {
    * That is, they should not call methods like {@link #next()} or {@link #insert(Handler...)}.
    * <p>
    * When using forking to process work in parallel, use {@link #promise(ratpack.func.Action)} to continue request handling when the parallel work is done.
+   * To wait for the values of several promises produced in parallel, use {@link #all(Iterable)} instead.
    *
    * <pre class="java">
    * import ratpack.handling.Handler;
@@ -603,6 +607,21 @@ public interface Context extends ExecControl, Registry {
 
   <T> void stream(Publisher<T> publisher, Subscriber<? super T> subscriber);
 
+  @Override
+  <T> Promise<List<T>> all(Iterable<? extends Promise<? extends T>> promises);
+
+  @Override
+  <L, R> Promise<Pair<L, R>> all(Promise<L> left, Promise<R> right);
+
+  @Override
+  <T> Promise<T> any(Iterable<? extends Promise<? extends T>> promises);
+
+  @Override
+  <T> Promise<T> firstSuccess(Iterable<? extends Promise<? extends T>> promises);
+
+  @Override
+  <K, T> Coalescer<K, T> coalescer(Duration retainFor);
+
   /**
    * Forwards the error to the {@link ratpack.error.ClientErrorHandler} in this service.
    *
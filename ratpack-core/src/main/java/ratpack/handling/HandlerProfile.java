@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.handling;
+
+/**
+ * The accumulated profile of a handler, as recorded by the {@link HandlerProfiler}.
+ * <p>
+ * All times are in nanoseconds, and are attributed to the handler that was the most recently invoked handler of the request at the time.
+ *
+ * @see HandlerProfiler
+ */
+public interface HandlerProfile {
+
+  /**
+   * The description of the handler(s) that this profile is for.
+   * <p>
+   * Handlers that are described the same (e.g. different instances of the same class) share a profile.
+   *
+   * @return the description of the handler
+   */
+  String getDescription();
+
+  /**
+   * The number of times the handler has been invoked.
+   *
+   * @return the number of times the handler has been invoked
+   */
+  long getInvocations();
+
+  /**
+   * The time spent computing on a request thread while this handler was active.
+   *
+   * @return the time spent computing on a request thread, in nanoseconds
+   */
+  long getComputeNanos();
+
+  /**
+   * The time spent performing {@link Context#blocking(java.util.concurrent.Callable) blocking} operations initiated while this handler was active.
+   *
+   * @return the time spent performing blocking operations, in nanoseconds
+   */
+  long getBlockingNanos();
+
+  /**
+   * The time the execution spent waiting for promises (including blocking operations) to be fulfilled while this handler was active.
+   *
+   * @return the time spent waiting on promises, in nanoseconds
+   */
+  long getWaitingNanos();
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.handling;
+
+import java.util.List;
+
+/**
+ * Records how much time is spent in each handler of the application.
+ * <p>
+ * A handler profiler is only available (in the base registry) if {@link ratpack.launch.LaunchConfig#isProfileHandlers() handler profiling} is enabled.
+ * The profiles can then be exposed over HTTP via {@link Handlers#handlerProfiles()}, or obtained from the context registry…
+ * <pre class="tested">
+ * import ratpack.handling.*;
+ *
+ * public class ProfilesHandler implements Handler {
+ *   public void handle(Context context) {
+ *     HandlerProfiler profiler = context.get(HandlerProfiler.class);
+ *     StringBuilder builder = new StringBuilder();
+ *     for (HandlerProfile profile : profiler.getProfiles()) {
+ *       builder.append(profile.getDescription()).append(": ").append(profile.getComputeNanos()).append("\n");
+ *     }
+ *     context.render(builder.toString());
+ *   }
+ * }
+ * </pre>
+ */
+public interface HandlerProfiler {
+
+  /**
+   * The profiles of all handlers that have been invoked since startup, or the last {@link #reset()}.
+   * <p>
+   * The profiles are ordered by {@link HandlerProfile#getComputeNanos() compute time}, most expensive first.
+   *
+   * @return a snapshot of the handler profiles
+   */
+  List<HandlerProfile> getProfiles();
+
+  /**
+   * Discards all recorded profiles.
+   */
+  void reset();
+
+}
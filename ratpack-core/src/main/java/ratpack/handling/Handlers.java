@@ -28,6 +28,7 @@ import ratpack.path.PathBinders;
 import ratpack.path.internal.PathHandler;
 import ratpack.registry.Registry;
 
+import java.time.Duration;
 import java.util.List;
 
 import static com.google.common.collect.ImmutableList.copyOf;
@@ -73,6 +74,32 @@ public abstract class Handlers {
     return fileSystem(launchConfig, path, handler);
   }
 
+  /**
+   * Creates a handler that caches the responses of the given handler in memory, shared by all requests.
+   * <p>
+   * Only successful responses to {@code GET} requests that are sent as a single buffer are cached (i.e. not streamed or file responses),
+   * keyed by the request {@code Host} and URI including the query string, and the values of the request headers named by the response's {@code Vary} header.
+   * The response's {@code Cache-Control} header is honoured: responses that are {@code no-store}, {@code no-cache} or {@code private},
+   * that set cookies or that vary on {@code *} are not cached, and {@code s-maxage} (or else {@code max-age}) overrides the given time to live.
+   * Responses to requests with an {@code Authorization} header are only cached, and cached responses are only served to such requests,
+   * if the response is {@code public}, {@code must-revalidate} or has an {@code s-maxage}.
+   * Requests with {@code Cache-Control: no-cache} bypass the cache, but the response is still cached.
+   * <p>
+   * Cached responses are held in direct memory, with the least recently used evicted when the total body size exceeds the given maximum.
+   * Each cached response has an {@code ETag} (a hash of the body if the handler did not set one), and requests whose {@code If-None-Match} header
+   * matches it receive a {@code 304} with no body.
+   * <p>
+   * Concurrent requests for a URI that is not cached wait for the first of them to be handled, instead of all invoking the handler.
+   *
+   * @param ttl how long responses are cached for, unless the response specifies otherwise
+   * @param maxSizeBytes the maximum total size of the cached response bodies
+   * @param handler the handler whose responses are cached
+   * @return A handler
+   */
+  public static Handler cache(Duration ttl, long maxSizeBytes, Handler handler) {
+    return new ResponseCachingHandler(ttl, maxSizeBytes, handler);
+  }
+
   /**
    * Builds a handler chain, with no backing registry.
    *
@@ -95,7 +122,7 @@ public abstract class Handlers {
    * @throws Exception any thrown by {@code action}
    */
   public static Handler chain(@Nullable LaunchConfig launchConfig, @Nullable Registry registry, Action<? super Chain> action) throws Exception {
-    return ChainBuilders.build(launchConfig != null && launchConfig.isDevelopment(), new ChainActionTransformer(launchConfig, registry), action);
+    return ChainBuilders.build(launchConfig, new ChainActionTransformer(launchConfig, registry), action);
   }
 
   /**
@@ -140,6 +167,24 @@ public abstract class Handlers {
     return new ClientErrorForwardingHandler(statusCode);
   }
 
+  /**
+   * Creates a handler that limits the number of requests concurrently processed by the given handler.
+   * <p>
+   * If the limiter's limit is reached, the request waits for capacity if the limiter allows, or is rejected with a {@code 503} response.
+   * The request counts against the limit until its execution completes.
+   *
+   * @param limiter the limiter, as created by {@link ConcurrencyLimiterBuilder}
+   * @param handler the handler to limit the concurrency of
+   * @return A handler
+   * @see ConcurrencyLimiter
+   */
+  public static Handler concurrencyLimit(ConcurrencyLimiter limiter, Handler handler) {
+    if (!(limiter instanceof DefaultConcurrencyLimiter)) {
+      throw new IllegalArgumentException("limiter must be created by " + ConcurrencyLimiterBuilder.class.getName() + ": " + limiter);
+    }
+    return new ConcurrencyLimitingHandler((DefaultConcurrencyLimiter) limiter, handler);
+  }
+
   /**
    * A handler that delegates to the next handler if the content type of the request is one of the given types, otherwise raises a 415 client error.
    *
@@ -182,6 +227,21 @@ public abstract class Handlers {
     return MethodHandler.GET;
   }
 
+  /**
+   * A handler that renders the {@link HandlerProfiler handler profiles} as a plain text table.
+   * <p>
+   * The table lists each handler's number of invocations, and the compute, blocking and waiting time attributed to it, most expensive first.
+   * If {@link ratpack.launch.LaunchConfig#isProfileHandlers() handler profiling} is not enabled, a 404 is sent.
+   * <p>
+   * This handler is intended to be bound to an administrative path (e.g. {@code chain.get("admin/profiles", Handlers.handlerProfiles())}).
+   *
+   * @return A handler
+   * @see HandlerProfiler
+   */
+  public static Handler handlerProfiles() {
+    return new HandlerProfilesHandler();
+  }
+
   /**
    * Creates a handler that delegates to the given handler if the {@code request} has a {@code HTTPHeader} with the
    * given name and a it's value matches the given value exactly.
@@ -297,6 +357,24 @@ public abstract class Handlers {
     return MethodHandler.PUT;
   }
 
+  /**
+   * Creates a handler that limits the rate of requests handled by the given handler.
+   * <p>
+   * Requests over the rate are rejected with a {@code 429} response, with a {@code Retry-After} header giving the number of seconds until the request would be allowed.
+   * To limit all of the handlers that follow in a chain, use {@link #next()} as the handler (e.g. {@code chain.handler(Handlers.rateLimit(limiter, Handlers.next()))}).
+   *
+   * @param limiter the limiter, as created by {@link RateLimiterBuilder}
+   * @param handler the handler to limit the rate of
+   * @return A handler
+   * @see RateLimiter
+   */
+  public static Handler rateLimit(RateLimiter limiter, Handler handler) {
+    if (!(limiter instanceof DefaultRateLimiter)) {
+      throw new IllegalArgumentException("limiter must be created by " + RateLimiterBuilder.class.getName() + ": " + limiter);
+    }
+    return new RateLimitingHandler((DefaultRateLimiter) limiter, handler);
+  }
+
   /**
    * A handler that simply calls {@link Context#insert(Registry, Handler...)} with the given registry and handler.
    *
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.handling;
+
+/**
+ * Limits the rate of requests per key, such as per client address or API key.
+ * <p>
+ * Each key has a token bucket, that holds up to a burst size of tokens and is refilled at a steady rate.
+ * Each request takes a token from the bucket for its key, or is rejected with a {@code 429} response and a {@code Retry-After} header
+ * (in seconds) if the bucket is empty.
+ * <p>
+ * Buckets are held in memory, bounded in number, and discarded once they have been idle long enough to have refilled completely
+ * (i.e. when discarding them does not change the outcome for later requests).
+ * Taking a token does not take any locks.
+ * <p>
+ * Limiters are created by {@link RateLimiterBuilder}, and applied with {@link Handlers#rateLimit(RateLimiter, Handler)}.
+ * Using the same limiter for several handlers applies a single rate to all of them.
+ * The methods of this interface expose the current state of the limiter, e.g. for monitoring.
+ */
+public interface RateLimiter {
+
+  /**
+   * The total number of requests that have been allowed.
+   *
+   * @return the total number of allowed requests
+   */
+  long getAllowed();
+
+  /**
+   * The total number of requests that have been rejected.
+   *
+   * @return the total number of rejected requests
+   */
+  long getRejected();
+
+  /**
+   * The approximate number of keys that buckets are currently held for.
+   *
+   * @return the approximate number of keys that buckets are currently held for
+   */
+  long getKeys();
+
+}
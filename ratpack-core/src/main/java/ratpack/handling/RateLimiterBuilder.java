@@ -0,0 +1,183 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.handling;
+
+import ratpack.func.Function;
+import ratpack.handling.internal.DefaultRateLimiter;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+/**
+ * A builder for {@link RateLimiter} objects.
+ * <pre class="java">{@code
+ * import ratpack.handling.Handlers;
+ * import ratpack.handling.RateLimiter;
+ * import ratpack.handling.RateLimiterBuilder;
+ *
+ * import ratpack.test.UnitTest;
+ * import ratpack.test.handling.HandlingResult;
+ *
+ * public class Example {
+ *   public static void main(String[] args) throws Exception {
+ *     RateLimiter limiter = RateLimiterBuilder.perSecond(10).burst(1).keyByHeader("X-Api-Key").build();
+ *
+ *     HandlingResult allowed = UnitTest.requestFixture().header("X-Api-Key", "abc").handleChain(chain ->
+ *       chain.get(Handlers.rateLimit(limiter, ctx -> ctx.render("ok")))
+ *     );
+ *     assert allowed.rendered(String.class).equals("ok");
+ *
+ *     HandlingResult rejected = UnitTest.requestFixture().header("X-Api-Key", "abc").handleChain(chain ->
+ *       chain.get(Handlers.rateLimit(limiter, ctx -> ctx.render("ok")))
+ *     );
+ *     assert rejected.getStatus().getCode() == 429;
+ *     assert rejected.getHeaders().get("Retry-After").equals("1");
+ *   }
+ * }
+ * }</pre>
+ *
+ * @see #perSecond(double)
+ */
+public class RateLimiterBuilder {
+
+  /**
+   * The default maximum number of keys that buckets are held for.
+   */
+  public static final long DEFAULT_MAX_KEYS = 1000000;
+
+  private static final Function<Context, Object> REMOTE_ADDRESS = context -> {
+    if (context.getDirectChannelAccess() == null) {
+      return null;
+    }
+    SocketAddress remoteAddress = context.getDirectChannelAccess().getChannel().remoteAddress();
+    return remoteAddress instanceof InetSocketAddress ? ((InetSocketAddress) remoteAddress).getAddress() : remoteAddress;
+  };
+
+  private final double perSecond;
+  private int burst;
+  private long maxKeys = DEFAULT_MAX_KEYS;
+  private Function<? super Context, ?> key = REMOTE_ADDRESS;
+
+  private RateLimiterBuilder(double perSecond) {
+    this.perSecond = perSecond;
+    this.burst = (int) Math.max(1, Math.ceil(perSecond));
+  }
+
+  /**
+   * Create a new builder, for a limiter that allows the given number of requests per second for each key.
+   * <p>
+   * By default, requests are keyed by the client's IP address, up to one second's worth of requests may be made at once,
+   * and buckets are held for up to {@link #DEFAULT_MAX_KEYS} keys.
+   *
+   * @param perSecond the number of requests allowed per second for each key, which may be fractional (e.g. {@code 0.5} for one request every two seconds)
+   * @return A new rate limiter builder
+   */
+  public static RateLimiterBuilder perSecond(double perSecond) {
+    if (!(perSecond > 0) || Double.isInfinite(perSecond)) {
+      throw new IllegalArgumentException("perSecond must be positive: " + perSecond);
+    }
+    return new RateLimiterBuilder(perSecond);
+  }
+
+  /**
+   * The number of requests that may be made at once for a key, after it has been idle.
+   *
+   * @param burst the size of each key's bucket
+   * @return this
+   */
+  public RateLimiterBuilder burst(int burst) {
+    if (burst < 1) {
+      throw new IllegalArgumentException("burst must be at least 1: " + burst);
+    }
+    this.burst = burst;
+    return this;
+  }
+
+  /**
+   * The maximum number of keys to hold buckets for.
+   * <p>
+   * When exceeded, the buckets of the least recently used keys are discarded.
+   *
+   * @param maxKeys the maximum number of keys to hold buckets for
+   * @return this
+   */
+  public RateLimiterBuilder maxKeys(long maxKeys) {
+    if (maxKeys < 1) {
+      throw new IllegalArgumentException("maxKeys must be at least 1: " + maxKeys);
+    }
+    this.maxKeys = maxKeys;
+    return this;
+  }
+
+  /**
+   * Keys requests by the client's IP address, which is the default.
+   *
+   * @return this
+   */
+  public RateLimiterBuilder keyByRemoteAddress() {
+    return key(REMOTE_ADDRESS);
+  }
+
+  /**
+   * Keys requests by the value of the given request header.
+   * <p>
+   * Requests without the header are not limited.
+   *
+   * @param name the name of the header
+   * @return this
+   */
+  public RateLimiterBuilder keyByHeader(String name) {
+    return key(context -> context.getRequest().getHeaders().get(name));
+  }
+
+  /**
+   * Keys requests by the value of the given path token.
+   * <p>
+   * The limiter must be used within a handler that binds the token (e.g. {@code chain.get("api/:key", Handlers.rateLimit(limiter, handler))}).
+   * Requests without the token are not limited.
+   *
+   * @param name the name of the path token
+   * @return this
+   */
+  public RateLimiterBuilder keyByPathToken(String name) {
+    return key(context -> context.getPathTokens().get(name));
+  }
+
+  /**
+   * Keys requests by the result of the given function.
+   * <p>
+   * Keys are compared by {@link Object#equals(Object)}.
+   * Requests for which the function returns {@code null} are not limited.
+   *
+   * @param key the function that determines the key of a request
+   * @return this
+   */
+  public RateLimiterBuilder key(Function<? super Context, ?> key) {
+    this.key = key;
+    return this;
+  }
+
+  /**
+   * Builds the limiter.
+   *
+   * @return A newly constructed rate limiter
+   */
+  public RateLimiter build() {
+    return new DefaultRateLimiter(perSecond, burst, maxKeys, key);
+  }
+
+}
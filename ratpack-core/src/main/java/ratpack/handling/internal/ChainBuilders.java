@@ -16,10 +16,12 @@
 
 package ratpack.handling.internal;
 
+import ratpack.api.Nullable;
 import ratpack.func.Action;
 import ratpack.func.Function;
 import ratpack.handling.Handler;
 import ratpack.handling.Handlers;
+import ratpack.launch.LaunchConfig;
 import ratpack.reload.internal.ClassUtil;
 import ratpack.reload.internal.ReloadableFileBackedFactory;
 
@@ -29,11 +31,12 @@ import java.util.List;
 
 public class ChainBuilders {
 
-  public static <T> Handler build(boolean reloadable, final Function<List<Handler>, ? extends T> toChainBuilder, final Action<? super T> chainBuilderAction) throws Exception {
-    if (reloadable) {
+  public static <T> Handler build(@Nullable LaunchConfig launchConfig, final Function<List<Handler>, ? extends T> toChainBuilder, final Action<? super T> chainBuilderAction) throws Exception {
+    if (launchConfig != null && launchConfig.isDevelopment()) {
       File classFile = ClassUtil.getClassFile(chainBuilderAction);
       if (classFile != null) {
-        ReloadableFileBackedFactory<Handler> factory = new ReloadableFileBackedFactory<>(classFile.toPath(), true, (file, bytes) -> create(toChainBuilder, chainBuilderAction));
+        ReloadableFileBackedFactory<Handler> factory = new ReloadableFileBackedFactory<>(classFile.toPath(), true, (file, bytes) -> create(toChainBuilder, chainBuilderAction))
+          .closeWith(launchConfig.getExecController());
         return new FactoryHandler(factory);
       }
     }
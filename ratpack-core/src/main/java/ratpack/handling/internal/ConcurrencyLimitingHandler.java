@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.handling.internal;
+
+import ratpack.handling.Context;
+import ratpack.handling.Handler;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
+
+public class ConcurrencyLimitingHandler implements Handler {
+
+  private final DefaultConcurrencyLimiter limiter;
+  private final Handler handler;
+
+  public ConcurrencyLimitingHandler(DefaultConcurrencyLimiter limiter, Handler handler) {
+    this.limiter = limiter;
+    this.handler = handler;
+  }
+
+  @Override
+  public void handle(Context context) throws Exception {
+    if (limiter.tryAcquire()) {
+      proceed(context);
+    } else if (limiter.isQueueing()) {
+      context.<Boolean>promise(fulfiller -> limiter.enqueue(fulfiller, context.getController().getExecutor())).then(admitted -> {
+        if (admitted) {
+          proceed(context);
+        } else {
+          reject(context);
+        }
+      });
+    } else {
+      limiter.reject();
+      reject(context);
+    }
+  }
+
+  private void proceed(Context context) throws Exception {
+    long startTime = System.nanoTime();
+    context.getExecution().onCleanup(() -> limiter.release(System.nanoTime() - startTime));
+    handler.handle(context);
+  }
+
+  private static void reject(Context context) {
+    context.getResponse().status(SERVICE_UNAVAILABLE.code()).send();
+  }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.handling.internal;
+
+import ratpack.exec.Fulfiller;
+import ratpack.handling.ConcurrencyLimiter;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class DefaultConcurrencyLimiter implements ConcurrencyLimiter {
+
+  private static final double BACKOFF_RATIO = 0.9;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final long latencyTargetNanos;
+  private final int maxQueued;
+  private final long maxWaitNanos;
+
+  private final AtomicInteger limit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final LongAdder accepted = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+  public DefaultConcurrencyLimiter(int limit, int minLimit, int maxLimit, long latencyTargetNanos, int maxQueued, long maxWaitNanos) {
+    this.limit = new AtomicInteger(limit);
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.latencyTargetNanos = latencyTargetNanos;
+    this.maxQueued = maxQueued;
+    this.maxWaitNanos = maxWaitNanos;
+  }
+
+  public boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= limit.get()) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        accepted.increment();
+        return true;
+      }
+    }
+  }
+
+  public void release(long latencyNanos) {
+    int inFlightBefore = inFlight.getAndDecrement();
+    if (latencyTargetNanos > 0) {
+      if (latencyNanos > latencyTargetNanos) {
+        limit.updateAndGet(current -> Math.max(minLimit, (int) (current * BACKOFF_RATIO)));
+      } else {
+        limit.updateAndGet(current -> inFlightBefore * 2 >= current ? Math.min(maxLimit, current + 1) : current);
+      }
+    }
+    admitWaiters();
+  }
+
+  public boolean isQueueing() {
+    return maxQueued > 0 && maxWaitNanos > 0;
+  }
+
+  /**
+   * Queues the fulfiller until capacity is available, fulfilling it with {@code true} when it has been acquired or {@code false} if it was not.
+   */
+  public void enqueue(Fulfiller<Boolean> fulfiller, ScheduledExecutorService scheduler) {
+    if (queued.incrementAndGet() > maxQueued) {
+      queued.decrementAndGet();
+      reject();
+      fulfiller.success(false);
+      return;
+    }
+
+    Waiter waiter = new Waiter(fulfiller);
+    waiters.add(waiter);
+    waiter.setDeadline(scheduler.schedule(() -> {
+      if (waiters.remove(waiter)) {
+        queued.decrementAndGet();
+      }
+      if (waiter.claim()) {
+        reject();
+        waiter.fulfiller.success(false);
+      }
+    }, maxWaitNanos, TimeUnit.NANOSECONDS));
+
+    // capacity may have become available since it was last checked
+    admitWaiters();
+  }
+
+  public void reject() {
+    rejected.increment();
+  }
+
+  private void admitWaiters() {
+    while (!waiters.isEmpty() && tryAcquire()) {
+      Waiter waiter = waiters.poll();
+      if (waiter == null) {
+        releaseUnused();
+      } else {
+        queued.decrementAndGet();
+        if (waiter.claim()) {
+          waiter.fulfiller.success(true);
+        } else {
+          releaseUnused();
+        }
+      }
+    }
+  }
+
+  private void releaseUnused() {
+    inFlight.decrementAndGet();
+    accepted.decrement();
+  }
+
+  @Override
+  public int getLimit() {
+    return limit.get();
+  }
+
+  @Override
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  @Override
+  public int getQueued() {
+    return queued.get();
+  }
+
+  @Override
+  public long getAccepted() {
+    return accepted.sum();
+  }
+
+  @Override
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  private static class Waiter {
+    private final Fulfiller<Boolean> fulfiller;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private volatile ScheduledFuture<?> deadline;
+
+    private Waiter(Fulfiller<Boolean> fulfiller) {
+      this.fulfiller = fulfiller;
+    }
+
+    // The waiter may be claimed before its deadline is set, in which case the deadline is cancelled here instead of by claim()
+    void setDeadline(ScheduledFuture<?> deadline) {
+      this.deadline = deadline;
+      if (claimed.get()) {
+        deadline.cancel(false);
+      }
+    }
+
+    boolean claim() {
+      if (claimed.compareAndSet(false, true)) {
+        ScheduledFuture<?> deadline = this.deadline;
+        if (deadline != null) {
+          deadline.cancel(false);
+        }
+        return true;
+      } else {
+        return false;
+      }
+    }
+  }
+
+}
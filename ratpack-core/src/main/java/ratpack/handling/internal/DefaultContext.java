@@ -31,6 +31,7 @@ import ratpack.event.internal.EventRegistry;
 import ratpack.exec.*;
 import ratpack.file.FileSystemBinding;
 import ratpack.func.Action;
+import ratpack.func.Pair;
 import ratpack.handling.*;
 import ratpack.handling.direct.DirectChannelAccess;
 import ratpack.http.Request;
@@ -56,8 +57,10 @@ import ratpack.util.ExceptionUtils;
 
 import java.lang.reflect.UndeclaredThrowableException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Date;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
@@ -77,11 +80,17 @@ public class DefaultContext implements Context {
     private final RenderController renderController;
     private final LaunchConfig launchConfig;
     private final ExecControl execControl;
+    private final DefaultHandlerProfiler handlerProfiler;
 
     public ApplicationConstants(LaunchConfig launchConfig, RenderController renderController) {
+      this(launchConfig, renderController, null);
+    }
+
+    public ApplicationConstants(LaunchConfig launchConfig, RenderController renderController, @Nullable DefaultHandlerProfiler handlerProfiler) {
       this.renderController = renderController;
       this.launchConfig = launchConfig;
       this.execControl = launchConfig.getExecController().getControl();
+      this.handlerProfiler = handlerProfiler;
     }
   }
 
@@ -97,6 +106,7 @@ public class DefaultContext implements Context {
 
     public Context context;
     public Handler handler;
+    public DefaultHandlerProfiler.RequestProfile profile;
 
     public RequestConstants(
       ApplicationConstants applicationConstants, BindAddress bindAddress, Request request, Response response,
@@ -121,8 +131,16 @@ public class DefaultContext implements Context {
 
   public static void start(ExecControl execControl, final RequestConstants requestConstants, Registry registry, Handler[] nextHandlers, Handler exhausted, Action<? super Execution> onComplete) {
     final DefaultContext context = new DefaultContext(requestConstants, registry, nextHandlers, 0, exhausted);
+    Action<Throwable> onError = throwable -> requestConstants.context.error(throwable instanceof HandlerException ? throwable.getCause() : throwable);
 
-    execControl.fork(execution -> context.next(), throwable -> requestConstants.context.error(throwable instanceof HandlerException ? throwable.getCause() : throwable), onComplete);
+    DefaultHandlerProfiler handlerProfiler = requestConstants.applicationConstants.handlerProfiler;
+    if (handlerProfiler == null) {
+      execControl.fork(execution -> context.next(), onError, onComplete);
+    } else {
+      DefaultHandlerProfiler.RequestProfile profile = handlerProfiler.start();
+      requestConstants.profile = profile;
+      execControl.fork(execution -> execControl.addInterceptor(profile, e -> context.next()), onError, onComplete);
+    }
   }
 
   public DefaultContext(RequestConstants requestConstants, Registry registry, Handler[] nextHandlers, int nextIndex, Handler exhausted) {
@@ -160,6 +178,31 @@ public class DefaultContext implements Context {
     return requestConstants.applicationConstants.execControl.promise(action);
   }
 
+  @Override
+  public <T> Promise<List<T>> all(Iterable<? extends Promise<? extends T>> promises) {
+    return requestConstants.applicationConstants.execControl.all(promises);
+  }
+
+  @Override
+  public <L, R> Promise<Pair<L, R>> all(Promise<L> left, Promise<R> right) {
+    return requestConstants.applicationConstants.execControl.all(left, right);
+  }
+
+  @Override
+  public <T> Promise<T> any(Iterable<? extends Promise<? extends T>> promises) {
+    return requestConstants.applicationConstants.execControl.any(promises);
+  }
+
+  @Override
+  public <T> Promise<T> firstSuccess(Iterable<? extends Promise<? extends T>> promises) {
+    return requestConstants.applicationConstants.execControl.firstSuccess(promises);
+  }
+
+  @Override
+  public <K, T> Coalescer<K, T> coalescer(Duration retainFor) {
+    return requestConstants.applicationConstants.execControl.coalescer(retainFor);
+  }
+
   @Override
   public void fork(Action<? super Execution> action) {
     requestConstants.applicationConstants.execControl.fork(action);
@@ -422,6 +465,9 @@ public class DefaultContext implements Context {
 
     try {
       requestConstants.handler = handler;
+      if (requestConstants.profile != null && !(handler instanceof RejoinHandler)) {
+        requestConstants.profile.enter(handler);
+      }
       handler.handle(context);
     } catch (Throwable e) {
       if (e instanceof HandlerException) {
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.handling.internal;
+
+import ratpack.handling.HandlerProfile;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class DefaultHandlerProfile implements HandlerProfile {
+
+  private final String description;
+
+  final LongAdder invocations = new LongAdder();
+  final LongAdder computeNanos = new LongAdder();
+  final LongAdder blockingNanos = new LongAdder();
+  final LongAdder waitingNanos = new LongAdder();
+
+  public DefaultHandlerProfile(String description) {
+    this.description = description;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public long getInvocations() {
+    return invocations.sum();
+  }
+
+  @Override
+  public long getComputeNanos() {
+    return computeNanos.sum();
+  }
+
+  @Override
+  public long getBlockingNanos() {
+    return blockingNanos.sum();
+  }
+
+  @Override
+  public long getWaitingNanos() {
+    return waitingNanos.sum();
+  }
+
+}
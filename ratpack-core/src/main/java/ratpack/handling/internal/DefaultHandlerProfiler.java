@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.handling.internal;
+
+import com.google.common.collect.Lists;
+import ratpack.exec.ExecInterceptor;
+import ratpack.handling.Handler;
+import ratpack.handling.HandlerProfile;
+import ratpack.handling.HandlerProfiler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class DefaultHandlerProfiler implements HandlerProfiler {
+
+  private final ConcurrentMap<Class<?>, String> classDescriptions = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, DefaultHandlerProfile> profiles = new ConcurrentHashMap<>();
+
+  @Override
+  public List<HandlerProfile> getProfiles() {
+    List<HandlerProfile> snapshot = Lists.newArrayList(profiles.values());
+    Collections.sort(snapshot, (left, right) -> Long.compare(right.getComputeNanos(), left.getComputeNanos()));
+    return snapshot;
+  }
+
+  @Override
+  public void reset() {
+    profiles.clear();
+  }
+
+  public RequestProfile start() {
+    return new RequestProfile();
+  }
+
+  private DefaultHandlerProfile profile(Handler handler) {
+    return profiles.computeIfAbsent(describe(handler), DefaultHandlerProfile::new);
+  }
+
+  private String describe(Handler handler) {
+    if (handler instanceof DescribingHandler) {
+      StringBuilder description = new StringBuilder();
+      ((DescribingHandler) handler).describeTo(description);
+      return description.toString();
+    } else {
+      return classDescriptions.computeIfAbsent(handler.getClass(), clazz -> {
+        StringBuilder description = new StringBuilder();
+        DescribingHandlers.describeTo(handler, description);
+        return description.toString();
+      });
+    }
+  }
+
+  /**
+   * Tracks the active handler of a single request, and attributes the time spent in each execution segment to it.
+   */
+  public class RequestProfile implements ExecInterceptor {
+
+    private DefaultHandlerProfile current;
+    private long mark;
+    private long suspendedAt;
+
+    public void enter(Handler handler) {
+      long now = System.nanoTime();
+      if (current != null) {
+        current.computeNanos.add(now - mark);
+      }
+      current = profile(handler);
+      current.invocations.increment();
+      mark = now;
+    }
+
+    @Override
+    public void intercept(ExecType execType, Runnable continuation) {
+      if (execType == ExecType.BLOCKING) {
+        DefaultHandlerProfile initiator = current;
+        long start = System.nanoTime();
+        try {
+          continuation.run();
+        } finally {
+          if (initiator != null) {
+            initiator.blockingNanos.add(System.nanoTime() - start);
+          }
+        }
+      } else {
+        mark = System.nanoTime();
+        if (current != null && suspendedAt != 0) {
+          current.waitingNanos.add(mark - suspendedAt);
+        }
+        try {
+          continuation.run();
+        } finally {
+          suspendedAt = System.nanoTime();
+          if (current != null) {
+            current.computeNanos.add(suspendedAt - mark);
+          }
+        }
+      }
+    }
+
+  }
+
+}
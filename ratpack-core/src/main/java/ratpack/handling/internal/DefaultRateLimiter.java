@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.handling.internal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import ratpack.func.Function;
+import ratpack.handling.Context;
+import ratpack.handling.RateLimiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A token bucket per key, where each bucket is a single timestamp (the “generic cell rate algorithm”).
+ * <p>
+ * The timestamp is when the bucket will next be full, plus one interval, and a request is allowed if it is no later than the burst tolerance from now.
+ * This is equivalent to counting tokens, but can be updated with a single compare and set.
+ */
+public class DefaultRateLimiter implements RateLimiter {
+
+  private static final int CONCURRENCY_LEVEL = 64;
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  private final long intervalNanos;
+  private final long toleranceNanos;
+  private final Function<? super Context, ?> keyFunction;
+  private final Cache<Object, AtomicLong> buckets;
+  private final LongAdder allowed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  public DefaultRateLimiter(double perSecond, int burst, long maxKeys, Function<? super Context, ?> keyFunction) {
+    this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+    this.toleranceNanos = intervalNanos * (burst - 1);
+    this.keyFunction = keyFunction;
+    // once idle for this long, a bucket is full again and so is the same as a new one
+    this.buckets = CacheBuilder.newBuilder()
+      .concurrencyLevel(CONCURRENCY_LEVEL)
+      .maximumSize(maxKeys)
+      .expireAfterAccess(intervalNanos + toleranceNanos, TimeUnit.NANOSECONDS)
+      .build();
+  }
+
+  public Object key(Context context) throws Exception {
+    return keyFunction.apply(context);
+  }
+
+  /**
+   * Takes a token from the key's bucket.
+   *
+   * @return {@code 0} if a token was taken, otherwise the nanoseconds until one will be available
+   */
+  public long tryAcquire(Object key, long nowNanos) {
+    AtomicLong bucket = buckets.getIfPresent(key);
+    if (bucket == null) {
+      AtomicLong created = new AtomicLong(EMPTY);
+      bucket = buckets.asMap().putIfAbsent(key, created);
+      if (bucket == null) {
+        bucket = created;
+      }
+    }
+
+    while (true) {
+      long theoreticalArrival = bucket.get();
+      long start = theoreticalArrival == EMPTY || theoreticalArrival - nowNanos < 0 ? nowNanos : theoreticalArrival;
+      long wait = start - nowNanos - toleranceNanos;
+      if (wait > 0) {
+        rejected.increment();
+        return wait;
+      }
+      if (bucket.compareAndSet(theoreticalArrival, start + intervalNanos)) {
+        allowed.increment();
+        return 0;
+      }
+    }
+  }
+
+  @Override
+  public long getAllowed() {
+    return allowed.sum();
+  }
+
+  @Override
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  @Override
+  public long getKeys() {
+    return buckets.size();
+  }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.handling.internal;
+
+import ratpack.handling.Context;
+import ratpack.handling.Handler;
+import ratpack.handling.HandlerProfile;
+import ratpack.handling.HandlerProfiler;
+
+import java.util.concurrent.TimeUnit;
+
+public class HandlerProfilesHandler implements Handler {
+
+  private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Override
+  public void handle(Context context) throws Exception {
+    HandlerProfiler profiler = context.maybeGet(HandlerProfiler.class);
+    if (profiler == null) {
+      context.getResponse().status(404).send("Handler profiling is not enabled (see LaunchConfig.isProfileHandlers())");
+      return;
+    }
+
+    StringBuilder builder = new StringBuilder();
+    builder.append(String.format("%12s %14s %14s %14s  %s%n", "invocations", "compute (ms)", "blocking (ms)", "waiting (ms)", "handler"));
+    for (HandlerProfile profile : profiler.getProfiles()) {
+      builder.append(String.format(
+        "%12d %14.3f %14.3f %14.3f  %s%n",
+        profile.getInvocations(),
+        profile.getComputeNanos() / NANOS_PER_MILLI,
+        profile.getBlockingNanos() / NANOS_PER_MILLI,
+        profile.getWaitingNanos() / NANOS_PER_MILLI,
+        profile.getDescription()
+      ));
+    }
+
+    context.getResponse().send(builder.toString());
+  }
+
+}
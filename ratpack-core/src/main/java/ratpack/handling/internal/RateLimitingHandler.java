@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.handling.internal;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import ratpack.handling.Context;
+import ratpack.handling.Handler;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.TOO_MANY_REQUESTS;
+
+public class RateLimitingHandler implements Handler {
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final DefaultRateLimiter limiter;
+  private final Handler handler;
+
+  public RateLimitingHandler(DefaultRateLimiter limiter, Handler handler) {
+    this.limiter = limiter;
+    this.handler = handler;
+  }
+
+  @Override
+  public void handle(Context context) throws Exception {
+    Object key = limiter.key(context);
+    long wait = key == null ? 0 : limiter.tryAcquire(key, System.nanoTime());
+    if (wait == 0) {
+      handler.handle(context);
+    } else {
+      long retryAfterSeconds = (wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+      context.getResponse().getHeaders().set(HttpHeaders.Names.RETRY_AFTER, retryAfterSeconds);
+      context.getResponse().status(TOO_MANY_REQUESTS.code()).send();
+    }
+  }
+
+}
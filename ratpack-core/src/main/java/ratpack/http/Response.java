@@ -21,7 +21,6 @@ import io.netty.handler.codec.http.Cookie;
 import org.reactivestreams.Publisher;
 import ratpack.api.NonBlocking;
 
-import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
@@ -119,22 +118,31 @@ public interface Response {
   /**
    * Sends the response, using "{@code application/octet-stream}" as the content type (if a content type hasn't
    * already been set) and the contents of the given input stream as the response body.
+   * <p>
+   * The stream is read on a blocking thread.
+   * If the whole stream fits in the first chunk read, it is sent with a {@code Content-Length} header.
+   * Otherwise, the response is sent with chunked transfer encoding as the stream is read.
+   * The stream is always closed, whether it is fully read, reading fails, or the response cannot be sent.
+   * <p>
+   * Errors are not thrown by this method.
+   * If the stream can't be read before any of the response has been sent, the error is passed to the {@link ratpack.error.ServerErrorHandler}.
+   * If reading fails after that, the response has already been committed, so it is ended early and the error is logged.
    *
    * @param inputStream The response body
-   * @throws IOException if the input stream cannot be consumed
    */
   @NonBlocking
-  void send(InputStream inputStream) throws IOException;
+  void send(InputStream inputStream);
 
   /**
    * Sends the response, using the given content type and the content of the given input stream as the response body.
+   * <p>
+   * The stream is read and sent, and errors are handled, as per {@link #send(InputStream)}.
    *
    * @param contentType The value of the {@code Content-Type} header
    * @param inputStream response body
-   * @throws IOException if the input stream cannot be consumed
    */
   @NonBlocking
-  void send(CharSequence contentType, InputStream inputStream) throws IOException;
+  void send(CharSequence contentType, InputStream inputStream);
 
   /**
    * Sends the response, using "{@code application/octet-stream}" as the content type (if a content type hasn't
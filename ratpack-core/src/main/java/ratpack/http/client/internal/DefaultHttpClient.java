@@ -155,7 +155,7 @@ public class DefaultHttpClient implements HttpClient {
               headers.set(HttpHeaderConstants.CONNECTION, HttpHeaders.Values.CLOSE);
               int contentLength = request.content().readableBytes();
               if (contentLength > 0) {
-                headers.set(HttpHeaderConstants.CONTENT_LENGTH, Integer.toString(contentLength, 10));
+                headers.set(HttpHeaderConstants.CONTENT_LENGTH, HttpHeaderValues.contentLength(contentLength));
               }
 
               HttpHeaders requestHeaders = request.headers();
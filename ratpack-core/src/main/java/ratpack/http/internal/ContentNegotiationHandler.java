@@ -20,37 +20,22 @@ import io.netty.handler.codec.http.HttpHeaders;
 import ratpack.handling.Context;
 import ratpack.handling.Handler;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 
 public class ContentNegotiationHandler implements Handler {
 
   private final Map<? extends CharSequence, Handler> handlers;
+  private final ContentNegotiator negotiator;
 
   public ContentNegotiationHandler(Map<? extends CharSequence, Handler> handlers) {
     this.handlers = handlers;
+    this.negotiator = ContentNegotiator.of(handlers.keySet());
   }
 
   @Override
   public void handle(Context context) throws Exception {
-    if (handlers.isEmpty()) {
-      context.clientError(406);
-      return;
-    }
-
-    List<? extends CharSequence> types = new ArrayList<>(handlers.keySet());
-    CharSequence first = types.get(0);
-    Collections.reverse(types);
-    CharSequence winner = first;
-
-    String acceptHeader = context.getRequest().getHeaders().get(HttpHeaders.Names.ACCEPT);
-    if (acceptHeader != null && !acceptHeader.isEmpty()) {
-      winner = MimeParse.bestMatch(types, acceptHeader);
-    }
-
-    if (winner == null || winner.toString().isEmpty()) {
+    String winner = negotiator.negotiate(context.getRequest().getHeaders().get(HttpHeaders.Names.ACCEPT));
+    if (winner == null) {
       context.clientError(406);
     } else {
       context.getResponse().contentType(winner);
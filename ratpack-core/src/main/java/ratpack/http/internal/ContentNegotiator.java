@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.http.internal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import ratpack.api.Nullable;
+
+import java.util.concurrent.ExecutionException;
+
+import static ratpack.util.ExceptionUtils.toException;
+import static ratpack.util.ExceptionUtils.uncheck;
+
+/**
+ * Selects the best of a fixed set of content types for an {@code Accept} header.
+ * <p>
+ * Instances are immutable and remember the result for the most recently seen distinct header values,
+ * as real traffic only tends to send a handful of them.
+ */
+public final class ContentNegotiator {
+
+  private static final int NEGOTIATOR_CACHE_SIZE = 200;
+  private static final int ACCEPT_CACHE_SIZE = 50;
+
+  private static final Cache<ImmutableList<String>, ContentNegotiator> NEGOTIATORS = CacheBuilder.newBuilder().maximumSize(NEGOTIATOR_CACHE_SIZE).build();
+
+  private static final String NO_MATCH = "";
+
+  private final String first;
+  private final ImmutableList<String> reversedTypes;
+  private final Cache<String, String> matches = CacheBuilder.newBuilder().maximumSize(ACCEPT_CACHE_SIZE).build();
+
+  private ContentNegotiator(ImmutableList<String> types) {
+    this.first = types.isEmpty() ? null : types.get(0);
+    this.reversedTypes = types.reverse();
+  }
+
+  /**
+   * Returns a negotiator for the given types, in order of preference when the client has none.
+   * <p>
+   * Negotiators are shared between callers that support the same types.
+   *
+   * @param types the supported content types
+   * @return a negotiator for the types
+   */
+  public static ContentNegotiator of(Iterable<? extends CharSequence> types) {
+    ImmutableList.Builder<String> builder = ImmutableList.builder();
+    for (CharSequence type : types) {
+      builder.add(type.toString());
+    }
+    final ImmutableList<String> key = builder.build();
+    try {
+      return NEGOTIATORS.get(key, () -> new ContentNegotiator(key));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw uncheck(toException(e.getCause()));
+    }
+  }
+
+  /**
+   * The supported type that best satisfies the given {@code Accept} header.
+   *
+   * @param acceptHeader the value of the request's {@code Accept} header
+   * @return the best type, or {@code null} if none are acceptable
+   */
+  @Nullable
+  public String negotiate(@Nullable String acceptHeader) {
+    if (first == null) {
+      return null;
+    }
+    if (acceptHeader == null || acceptHeader.isEmpty()) {
+      return first;
+    }
+
+    String match = matches.getIfPresent(acceptHeader);
+    if (match == null) {
+      match = MimeParse.bestMatch(reversedTypes, acceptHeader);
+      if (match == null) {
+        match = NO_MATCH;
+      }
+      matches.put(acceptHeader, match);
+    }
+    return match.isEmpty() ? null : match;
+  }
+
+}
@@ -16,6 +16,7 @@
 
 package ratpack.http.internal;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
@@ -24,13 +25,16 @@ import io.netty.handler.codec.http.*;
 import org.reactivestreams.Publisher;
 import ratpack.api.Nullable;
 import ratpack.exec.ExecControl;
+import ratpack.func.Action;
 import ratpack.file.internal.ResponseTransmitter;
 import ratpack.http.Headers;
 import ratpack.http.MutableHeaders;
 import ratpack.http.Response;
 import ratpack.http.Status;
+import ratpack.stream.internal.InputStreamPublisher;
 import ratpack.util.ExceptionUtils;
 import ratpack.util.MultiValueMap;
+import ratpack.util.internal.ChunkedByteBufOutputStream;
 import ratpack.util.internal.IoUtils;
 
 import java.io.IOException;
@@ -40,6 +44,7 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import static ratpack.file.internal.DefaultFileRenderer.readAttributes;
 import static ratpack.http.internal.HttpHeaderConstants.CONTENT_TYPE;
@@ -54,6 +59,7 @@ public class DefaultResponse implements Response {
 
   private boolean contentTypeSet;
   private Set<Cookie> cookies;
+  private List<Action<? super ByteBuf>> commitListeners;
 
   public DefaultResponse(ExecControl execControl, MutableHeaders headers, ByteBufAllocator byteBufAllocator, ResponseTransmitter responseTransmitter) {
     this.execControl = execControl;
@@ -230,7 +236,8 @@ public class DefaultResponse implements Response {
   }
 
   public void send(String text) {
-    contentTypeIfNotSet(HttpHeaderConstants.PLAIN_TEXT_UTF8).send(IoUtils.utf8Bytes(text));
+    contentTypeIfNotSet(HttpHeaderConstants.PLAIN_TEXT_UTF8);
+    commit(IoUtils.utf8Buffer(byteBufAllocator, text));
   }
 
   public void send(CharSequence contentType, String body) {
@@ -248,13 +255,47 @@ public class DefaultResponse implements Response {
   }
 
   @Override
-  public void send(InputStream inputStream) throws IOException {
-    commit(IoUtils.writeTo(inputStream, byteBufAllocator.buffer()));
+  public void send(InputStream inputStream) {
+    contentTypeIfNotSet(HttpHeaderConstants.OCTET_STREAM);
+    // Read the first chunk before committing, so that a stream that can't be read at all is reported to the error handler,
+    // and so that a stream that fits in the first chunk is sent with a content length instead of being chunked
+    execControl.blocking(() -> readFirstChunk(inputStream)).then(first -> {
+      if (first.isWritable()) {
+        commit(first);
+      } else {
+        headers.set(HttpHeaderConstants.TRANSFER_ENCODING, HttpHeaderConstants.CHUNKED);
+        ExecutorService blockingExecutor = execControl.getController().getBlockingExecutor();
+        sendStream(new InputStreamPublisher(blockingExecutor, byteBufAllocator, ChunkedByteBufOutputStream.DEFAULT_CHUNK_SIZE, inputStream, first));
+      }
+    });
+  }
+
+  // Returns a full chunk if there may be more to read, else the whole (closed) stream
+  private ByteBuf readFirstChunk(InputStream inputStream) throws IOException {
+    ByteBuf chunk = byteBufAllocator.buffer(ChunkedByteBufOutputStream.DEFAULT_CHUNK_SIZE, ChunkedByteBufOutputStream.DEFAULT_CHUNK_SIZE);
+    try {
+      while (chunk.isWritable()) {
+        if (chunk.writeBytes(inputStream, chunk.writableBytes()) < 0) {
+          inputStream.close();
+          break;
+        }
+      }
+      return chunk;
+    } catch (IOException | RuntimeException e) {
+      chunk.release();
+      try {
+        inputStream.close();
+      } catch (IOException closeException) {
+        e.addSuppressed(closeException);
+      }
+      throw e;
+    }
   }
 
   @Override
-  public void send(CharSequence contentType, InputStream inputStream) throws IOException {
-    contentType(contentType).send(inputStream);
+  public void send(CharSequence contentType, InputStream inputStream) {
+    contentType(contentType);
+    send(inputStream);
   }
 
   public void send(CharSequence contentType, ByteBuf buffer) {
@@ -315,8 +356,33 @@ public class DefaultResponse implements Response {
     }
   }
 
+  /**
+   * Registers a listener to be given the body of the response just before it is transmitted.
+   * <p>
+   * Only responses that are sent as a single buffer are notified, not streamed or file responses.
+   * The status and headers may still be changed by the listener, but the body must not be modified or released.
+   *
+   * @param listener the listener
+   */
+  public void onCommit(Action<? super ByteBuf> listener) {
+    if (commitListeners == null) {
+      commitListeners = Lists.newArrayListWithCapacity(1);
+    }
+    commitListeners.add(listener);
+  }
+
   private void commit(ByteBuf byteBuf) {
     setCookieHeader();
+    if (commitListeners != null) {
+      for (Action<? super ByteBuf> commitListener : commitListeners) {
+        try {
+          commitListener.execute(byteBuf);
+        } catch (Exception e) {
+          byteBuf.release();
+          throw ExceptionUtils.uncheck(e);
+        }
+      }
+    }
     responseTransmitter.transmit(status, byteBuf);
   }
 }
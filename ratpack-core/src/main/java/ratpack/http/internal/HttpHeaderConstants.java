@@ -26,6 +26,7 @@ public abstract class HttpHeaderConstants {
   public static final CharSequence CONTENT_LENGTH = HttpHeaders.newEntity(HttpHeaders.Names.CONTENT_LENGTH);
   public static final CharSequence CONTENT_TYPE = HttpHeaders.newEntity(HttpHeaders.Names.CONTENT_TYPE);
   public static final CharSequence ACCEPT = HttpHeaders.newEntity(HttpHeaders.Names.ACCEPT);
+  public static final CharSequence DATE = HttpHeaders.newEntity(HttpHeaders.Names.DATE);
   public static final CharSequence LAST_MODIFIED = HttpHeaders.newEntity(HttpHeaders.Names.LAST_MODIFIED);
   public static final CharSequence CONNECTION = HttpHeaders.newEntity(HttpHeaders.Names.CONNECTION);
   public static final CharSequence KEEP_ALIVE = HttpHeaders.newEntity(HttpHeaders.Values.KEEP_ALIVE);
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.http.internal;
+
+import io.netty.handler.codec.http.HttpHeaders;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Header values that are written with every response, kept as header entities (like {@link HttpHeaderConstants}) so that
+ * they are not formatted or encoded to ASCII per response.
+ */
+public abstract class HttpHeaderValues {
+
+  private HttpHeaderValues() {
+  }
+
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.ENGLISH).withZone(ZoneOffset.UTC);
+
+  private static final int CACHED_CONTENT_LENGTHS = 1024;
+  private static final CharSequence[] CONTENT_LENGTHS = new CharSequence[CACHED_CONTENT_LENGTHS];
+
+  private static volatile CurrentDate currentDate = new CurrentDate(-1, null);
+
+  private static class CurrentDate {
+    private final long second;
+    private final CharSequence value;
+
+    private CurrentDate(long second, CharSequence value) {
+      this.second = second;
+      this.value = value;
+    }
+  }
+
+  /**
+   * The value of the {@code Date} header for a response sent now.
+   * <p>
+   * The value is formatted at most once a second, for all threads.
+   *
+   * @return the current date, as a header value
+   */
+  public static CharSequence date() {
+    return date(Clock.systemUTC());
+  }
+
+  static CharSequence date(Clock clock) {
+    long second = clock.millis() / 1000;
+    CurrentDate current = currentDate;
+    if (current.second != second) {
+      // threads that race here format the same value, so the last one wins harmlessly
+      current = new CurrentDate(second, HttpHeaders.newEntity(DATE_FORMAT.format(Instant.ofEpochSecond(second))));
+      currentDate = current;
+    }
+    return current.value;
+  }
+
+  /**
+   * Formats a date as a header value (e.g. {@code Sun, 06 Nov 1994 08:49:37 GMT}).
+   * <p>
+   * Unlike {@link HttpHeaderDateFormat}, this needs no thread local formatter.
+   *
+   * @param date the date to format
+   * @return the date as a header value
+   */
+  public static String format(Date date) {
+    return DATE_FORMAT.format(date.toInstant());
+  }
+
+  /**
+   * The value of the {@code Content-Length} header for the given length.
+   * <p>
+   * Values for lengths below 1024 are created once, and then reused.
+   * Larger lengths are formatted for each call, as they vary too much to be worth caching.
+   *
+   * @param length the length of the response body
+   * @return the length as a header value
+   */
+  public static CharSequence contentLength(long length) {
+    if (length < 0 || length >= CACHED_CONTENT_LENGTHS) {
+      return Long.toString(length);
+    }
+    int index = (int) length;
+    CharSequence value = CONTENT_LENGTHS[index];
+    if (value == null) {
+      // entities are immutable, so racing threads can at worst create the same value twice
+      value = HttpHeaders.newEntity(Integer.toString(index));
+      CONTENT_LENGTHS[index] = value;
+    }
+    return value;
+  }
+
+}
@@ -40,7 +40,7 @@ public class NettyHeadersBackedMutableHeaders extends NettyHeadersBackedHeaders
 
   @Override
   public MutableHeaders setDate(CharSequence name, Date value) {
-    headers.set(name, HttpHeaderDateFormat.get().format(value));
+    headers.set(name, HttpHeaderValues.format(value));
     return this;
   }
 
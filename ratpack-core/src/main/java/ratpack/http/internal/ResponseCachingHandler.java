@@ -0,0 +1,368 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.http.internal;
+
+import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import ratpack.exec.Fulfiller;
+import ratpack.handling.Context;
+import ratpack.handling.Handler;
+import ratpack.http.Headers;
+import ratpack.http.MutableHeaders;
+import ratpack.http.Request;
+import ratpack.http.Response;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_MODIFIED;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+
+public class ResponseCachingHandler implements Handler {
+
+  private static final int VARY_CACHE_SIZE = 10000;
+  private static final Splitter LIST_SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
+
+  private final long ttlNanos;
+  private final long maxSizeBytes;
+  private final Handler handler;
+
+  // A single segment, so that the whole of maxSizeBytes is available to each entry
+  private final Cache<String, CachedResponse> responses;
+  private final Cache<String, ImmutableList<String>> varyNames = CacheBuilder.newBuilder().maximumSize(VARY_CACHE_SIZE).build();
+  private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+  public ResponseCachingHandler(Duration ttl, long maxSizeBytes, Handler handler) {
+    if (ttl.isNegative() || ttl.isZero()) {
+      throw new IllegalArgumentException("ttl must be positive: " + ttl);
+    }
+    if (maxSizeBytes <= 0) {
+      throw new IllegalArgumentException("maxSizeBytes must be positive: " + maxSizeBytes);
+    }
+    this.ttlNanos = ttl.toNanos();
+    this.maxSizeBytes = maxSizeBytes;
+    this.handler = handler;
+    this.responses = CacheBuilder.newBuilder()
+      .concurrencyLevel(1)
+      .maximumWeight(maxSizeBytes)
+      .weigher((Weigher<String, CachedResponse>) (key, response) -> response.size)
+      .removalListener((RemovalListener<String, CachedResponse>) notification -> notification.getValue().release())
+      .build();
+  }
+
+  @Override
+  public void handle(Context context) throws Exception {
+    Request request = context.getRequest();
+    if (!request.getMethod().isGet() || !(context.getResponse() instanceof DefaultResponse)) {
+      handler.handle(context);
+      return;
+    }
+
+    String host = request.getHeaders().get(HttpHeaders.Names.HOST);
+    String uri = host == null ? request.getRawUri() : host + request.getRawUri();
+
+    List<String> requestDirectives = directives(request.getHeaders().get(HttpHeaderConstants.CACHE_CONTROL));
+    if (requestDirectives.contains("no-store")) {
+      handler.handle(context);
+    } else if (requestDirectives.contains("no-cache")) {
+      compute(context, uri);
+    } else {
+      serve(context, uri, true);
+    }
+  }
+
+  private void serve(Context context, String uri, boolean coalesce) throws Exception {
+    CachedResponse cached = lookup(context.getRequest(), uri);
+    if (cached != null && (cached.shared || !isAuthorized(context.getRequest())) && send(context, cached)) {
+      return;
+    }
+
+    if (coalesce) {
+      InFlight current = new InFlight();
+      InFlight existing = inFlight.putIfAbsent(uri, current);
+      if (existing != null) {
+        context.<Boolean>promise(fulfiller -> {
+          if (!existing.await(fulfiller)) {
+            fulfiller.success(true);
+          }
+        }).then(ignore -> serve(context, uri, false));
+        return;
+      }
+      context.onClose(outcome -> {
+        inFlight.remove(uri, current);
+        current.complete();
+      });
+    }
+
+    compute(context, uri);
+  }
+
+  private void compute(Context context, String uri) throws Exception {
+    ((DefaultResponse) context.getResponse()).onCommit(body -> store(context, uri, body));
+    handler.handle(context);
+  }
+
+  private CachedResponse lookup(Request request, String uri) {
+    ImmutableList<String> vary = varyNames.getIfPresent(uri);
+    if (vary == null) {
+      return null;
+    }
+
+    String key = key(uri, vary, request.getHeaders());
+    CachedResponse cached = responses.getIfPresent(key);
+    if (cached != null && cached.expiresAt - System.nanoTime() <= 0) {
+      responses.invalidate(key);
+      return null;
+    }
+    return cached;
+  }
+
+  private boolean send(Context context, CachedResponse cached) {
+    ByteBuf body = cached.retainBody();
+    if (body == null) {
+      return false;
+    }
+
+    Response response = context.getResponse();
+    MutableHeaders headers = response.getHeaders();
+    for (String name : cached.headers.names()) {
+      headers.set(name, cached.headers.getAll(name));
+    }
+    headers.set(HttpHeaders.Names.AGE, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - cached.storedAt));
+
+    if (matches(context.getRequest().getHeaders().get(HttpHeaders.Names.IF_NONE_MATCH), cached.etag)) {
+      body.release();
+      response.status(NOT_MODIFIED.code()).send();
+    } else {
+      response.status(cached.status).send(body);
+    }
+    return true;
+  }
+
+  private void store(Context context, String uri, ByteBuf body) {
+    Response response = context.getResponse();
+    MutableHeaders headers = response.getHeaders();
+    int size = body.readableBytes();
+    if (response.getStatus().getCode() != OK.code() || size > maxSizeBytes || headers.contains(HttpHeaderConstants.SET_COOKIE)) {
+      return;
+    }
+
+    List<String> directives = directives(headers.get(HttpHeaderConstants.CACHE_CONTROL));
+    long ttl = ttlNanos(directives);
+    if (ttl <= 0) {
+      return;
+    }
+
+    // RFC 7234 §3.2: responses to requests with credentials are only shared if the response explicitly allows it
+    boolean shared = directives.contains("public") || directives.contains("must-revalidate") || directive(directives, "s-maxage=") != null;
+    if (!shared && isAuthorized(context.getRequest())) {
+      return;
+    }
+
+    ImmutableList.Builder<String> varyBuilder = ImmutableList.builder();
+    for (String value : headers.getAll(HttpHeaders.Names.VARY)) {
+      for (String name : LIST_SPLITTER.split(value)) {
+        if (name.equals("*")) {
+          return;
+        }
+        varyBuilder.add(name.toLowerCase(Locale.ENGLISH));
+      }
+    }
+    ImmutableList<String> vary = varyBuilder.build();
+
+    String etag = headers.get(HttpHeaders.Names.ETAG);
+    if (etag == null) {
+      etag = etag(body);
+      headers.set(HttpHeaders.Names.ETAG, etag);
+    }
+
+    HttpHeaders headersCopy = new DefaultHttpHeaders(false);
+    headersCopy.set(headers.getNettyHeaders());
+
+    long now = System.nanoTime();
+    ByteBuf bodyCopy = Unpooled.directBuffer(size, size).writeBytes(body, body.readerIndex(), size);
+    CachedResponse cached = new CachedResponse(response.getStatus().getCode(), headersCopy, bodyCopy, etag, shared, now, now + ttl);
+
+    varyNames.put(uri, vary);
+    responses.put(key(uri, vary, context.getRequest().getHeaders()), cached);
+  }
+
+  private long ttlNanos(List<String> directives) {
+    if (directives.contains("no-store") || directives.contains("no-cache") || directives.contains("private")) {
+      return 0;
+    }
+
+    String sMaxAge = directive(directives, "s-maxage=");
+    if (sMaxAge != null) {
+      return seconds(sMaxAge);
+    }
+    String maxAge = directive(directives, "max-age=");
+    return maxAge == null ? ttlNanos : seconds(maxAge);
+  }
+
+  private static String directive(List<String> directives, String prefix) {
+    for (String directive : directives) {
+      if (directive.startsWith(prefix)) {
+        return directive.substring(prefix.length());
+      }
+    }
+    return null;
+  }
+
+  private static boolean isAuthorized(Request request) {
+    return request.getHeaders().contains(HttpHeaders.Names.AUTHORIZATION);
+  }
+
+  private static String etag(ByteBuf body) {
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    if (body.hasArray()) {
+      hasher.putBytes(body.array(), body.arrayOffset() + body.readerIndex(), body.readableBytes());
+    } else {
+      body.forEachByte(value -> {
+        hasher.putByte(value);
+        return true;
+      });
+    }
+    return "\"" + hasher.hash() + "\"";
+  }
+
+  private static long seconds(String value) {
+    try {
+      return TimeUnit.SECONDS.toNanos(Long.parseLong(value.trim()));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private static List<String> directives(String cacheControl) {
+    if (cacheControl == null) {
+      return ImmutableList.of();
+    }
+    ImmutableList.Builder<String> builder = ImmutableList.builder();
+    for (String directive : LIST_SPLITTER.split(cacheControl)) {
+      builder.add(directive.toLowerCase(Locale.ENGLISH));
+    }
+    return builder.build();
+  }
+
+  private static String key(String uri, List<String> vary, Headers headers) {
+    if (vary.isEmpty()) {
+      return uri;
+    }
+    StringBuilder key = new StringBuilder(uri);
+    for (String name : vary) {
+      key.append('\n').append(name).append(':');
+      String value = headers.get(name);
+      if (value != null) {
+        key.append(value);
+      }
+    }
+    return key.toString();
+  }
+
+  private static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    String opaqueTag = stripWeak(etag);
+    for (String candidate : LIST_SPLITTER.split(ifNoneMatch)) {
+      if (candidate.equals("*") || stripWeak(candidate).equals(opaqueTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String stripWeak(String etag) {
+    return etag.startsWith("W/") ? etag.substring(2) : etag;
+  }
+
+  private static class CachedResponse {
+    private final int status;
+    private final HttpHeaders headers;
+    private final ByteBuf body;
+    private final String etag;
+    private final boolean shared;
+    private final int size;
+    private final long storedAt;
+    private final long expiresAt;
+
+    private boolean released;
+
+    private CachedResponse(int status, HttpHeaders headers, ByteBuf body, String etag, boolean shared, long storedAt, long expiresAt) {
+      this.status = status;
+      this.headers = headers;
+      this.body = body;
+      this.etag = etag;
+      this.shared = shared;
+      this.size = body.capacity();
+      this.storedAt = storedAt;
+      this.expiresAt = expiresAt;
+    }
+
+    // Synchronized with release(), as an entry may be evicted while being served
+    synchronized ByteBuf retainBody() {
+      return released ? null : body.duplicate().retain();
+    }
+
+    synchronized void release() {
+      if (!released) {
+        released = true;
+        body.release();
+      }
+    }
+  }
+
+  private static class InFlight {
+    private List<Fulfiller<Boolean>> waiters = Lists.newLinkedList();
+
+    synchronized boolean await(Fulfiller<Boolean> fulfiller) {
+      if (waiters == null) {
+        return false;
+      }
+      waiters.add(fulfiller);
+      return true;
+    }
+
+    void complete() {
+      List<Fulfiller<Boolean>> completed;
+      synchronized (this) {
+        completed = waiters;
+        waiters = null;
+      }
+      for (Fulfiller<Boolean> waiter : completed) {
+        waiter.success(true);
+      }
+    }
+  }
+
+}
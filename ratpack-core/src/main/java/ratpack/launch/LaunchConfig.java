@@ -195,6 +195,30 @@ public interface LaunchConfig {
    */
   public boolean isTimeResponses();
 
+  /**
+   * Indicates whether the time spent in each handler should be profiled.
+   * <p>
+   * If {@code true}, the number of invocations of each handler and the time spent computing, blocking and waiting while it was the active handler
+   * is recorded, and made available via a {@link ratpack.handling.HandlerProfiler} in the base registry.
+   * Profiling adds some overhead to every request, and is intended to be used when tracking down which handler of a long chain is expensive.
+   *
+   * @return whether or not handlers should be profiled.
+   * @see ratpack.handling.Handlers#handlerProfiles()
+   */
+  public boolean isProfileHandlers();
+
+  /**
+   * The maximum number of requests that may be processed concurrently, or {@code 0} if there is no limit.
+   * <p>
+   * A request counts against the limit from when it is received until its execution completes.
+   * Requests received while the limit is reached are immediately rejected with a {@code 503} response, without entering the handler chain.
+   * This protects the application from taking on more work than it can complete when a downstream dependency slows down.
+   * Finer grained limits can be applied with {@link ratpack.handling.Handlers#concurrencyLimit(ratpack.handling.ConcurrencyLimiter, ratpack.handling.Handler)}.
+   *
+   * @return the maximum number of concurrent requests, or {@code 0} for no limit
+   */
+  public int getMaxConcurrentRequests();
+
   /**
    * Whether or not responses should be compressed.
    *
@@ -75,6 +75,8 @@ public class LaunchConfigBuilder {
   private SSLContext sslContext;
   private int maxContentLength = LaunchConfig.DEFAULT_MAX_CONTENT_LENGTH;
   private boolean timeResponses;
+  private boolean profileHandlers;
+  private int maxConcurrentRequests;
   private boolean compressResponses;
   private long compressionMinSize = LaunchConfig.DEFAULT_COMPRESSION_MIN_SIZE;
   private final ImmutableSet.Builder<String> compressionMimeTypeWhiteList = ImmutableSet.builder();
@@ -233,6 +235,37 @@ public class LaunchConfigBuilder {
     return this;
   }
 
+  /**
+   * Whether to profile handlers.
+   *
+   * Default value is {@code false}.
+   *
+   * @param profileHandlers Whether to profile handlers
+   * @return this
+   * @see LaunchConfig#isProfileHandlers()
+   */
+  public LaunchConfigBuilder profileHandlers(boolean profileHandlers) {
+    this.profileHandlers = profileHandlers;
+    return this;
+  }
+
+  /**
+   * The maximum number of requests to process concurrently.
+   *
+   * Default value is {@code 0}, which means there is no limit.
+   *
+   * @param maxConcurrentRequests The maximum number of requests to process concurrently
+   * @return this
+   * @see LaunchConfig#getMaxConcurrentRequests()
+   */
+  public LaunchConfigBuilder maxConcurrentRequests(int maxConcurrentRequests) {
+    if (maxConcurrentRequests < 0) {
+      throw new IllegalArgumentException("maxConcurrentRequests must not be negative: " + maxConcurrentRequests);
+    }
+    this.maxConcurrentRequests = maxConcurrentRequests;
+    return this;
+  }
+
   /**
    * Whether to compress responses.
    *
@@ -394,6 +427,8 @@ public class LaunchConfigBuilder {
       sslContext,
       maxContentLength,
       timeResponses,
+      profileHandlers,
+      maxConcurrentRequests,
       compressResponses,
       compressionMinSize,
       compressionMimeTypeWhiteList.build(),
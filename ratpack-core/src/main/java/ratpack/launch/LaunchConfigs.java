@@ -273,6 +273,22 @@ public abstract class LaunchConfigs {
      */
     public static final String TIME_RESPONSES = "timeResponses";
 
+    /**
+     * Whether to profile handlers.
+     * <p>
+     * The value of this property will be converted to a boolean by {@link Boolean#valueOf(String)}.
+     *
+     * @see LaunchConfig#isProfileHandlers()
+     */
+    public static final String PROFILE_HANDLERS = "profileHandlers";
+
+    /**
+     * The maximum number of requests to process concurrently, or {@code 0} for no limit.
+     *
+     * @see LaunchConfig#getMaxConcurrentRequests()
+     */
+    public static final String MAX_CONCURRENT_REQUESTS = "maxConcurrentRequests";
+
     /**
      * Whether to compress responses.
      * <p>
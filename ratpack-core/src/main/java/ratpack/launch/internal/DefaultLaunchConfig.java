@@ -51,18 +51,22 @@ public class DefaultLaunchConfig implements LaunchConfig {
   private final SSLContext sslContext;
   private final int maxContentLength;
   private final boolean timeResponses;
+  private final boolean profileHandlers;
+  private final int maxConcurrentRequests;
   private final boolean compressResponses;
   private final long compressionMinSize;
   private final ImmutableSet<String> compressionMimeTypeWhiteList;
   private final ImmutableSet<String> compressionMimeTypeBlackList;
 
-  public DefaultLaunchConfig(FileSystemBinding baseDir, int port, InetAddress address, boolean development, int threads, ByteBufAllocator byteBufAllocator, URI publicAddress, ImmutableList<String> indexFiles, ImmutableMap<String, String> other, SSLContext sslContext, int maxContentLength, boolean timeResponses, boolean compressResponses, long compressionMinSize, ImmutableSet<String> compressionMimeTypeWhiteList, ImmutableSet<String> compressionMimeTypeBlackList, HandlerFactory handlerFactory) {
+  public DefaultLaunchConfig(FileSystemBinding baseDir, int port, InetAddress address, boolean development, int threads, ByteBufAllocator byteBufAllocator, URI publicAddress, ImmutableList<String> indexFiles, ImmutableMap<String, String> other, SSLContext sslContext, int maxContentLength, boolean timeResponses, boolean profileHandlers, int maxConcurrentRequests, boolean compressResponses, long compressionMinSize, ImmutableSet<String> compressionMimeTypeWhiteList, ImmutableSet<String> compressionMimeTypeBlackList, HandlerFactory handlerFactory) {
     this.baseDir = baseDir;
     this.port = port;
     this.address = address;
     this.development = development;
     this.threads = threads;
     this.timeResponses = timeResponses;
+    this.profileHandlers = profileHandlers;
+    this.maxConcurrentRequests = maxConcurrentRequests;
     this.compressResponses = compressResponses;
     this.compressionMinSize = compressionMinSize;
     this.compressionMimeTypeWhiteList = compressionMimeTypeWhiteList;
@@ -164,6 +168,16 @@ public class DefaultLaunchConfig implements LaunchConfig {
     return timeResponses;
   }
 
+  @Override
+  public boolean isProfileHandlers() {
+    return profileHandlers;
+  }
+
+  @Override
+  public int getMaxConcurrentRequests() {
+    return maxConcurrentRequests;
+  }
+
   @Override
   public boolean isCompressResponses() {
     return compressResponses;
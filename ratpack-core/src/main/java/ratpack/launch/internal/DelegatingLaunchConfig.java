@@ -115,6 +115,16 @@ public class DelegatingLaunchConfig implements LaunchConfig {
     return launchConfig.isTimeResponses();
   }
 
+  @Override
+  public boolean isProfileHandlers() {
+    return launchConfig.isProfileHandlers();
+  }
+
+  @Override
+  public int getMaxConcurrentRequests() {
+    return launchConfig.getMaxConcurrentRequests();
+  }
+
   @Override
   public boolean isCompressResponses() {
     return launchConfig.isCompressResponses();
@@ -140,6 +140,8 @@ public class LaunchConfigsInternal {
       String sslKeystorePassword = props.asString(SSL_KEYSTORE_PASSWORD, "");
       int maxContentLength = props.asInt(MAX_CONTENT_LENGTH, DEFAULT_MAX_CONTENT_LENGTH);
       boolean timeResponses = props.asBoolean(TIME_RESPONSES, false);
+      boolean profileHandlers = props.asBoolean(PROFILE_HANDLERS, false);
+      int maxConcurrentRequests = props.asInt(MAX_CONCURRENT_REQUESTS, 0);
       boolean compressResponses = props.asBoolean(COMPRESS_RESPONSES, false);
       long compressionMinSize = props.asLong(COMPRESSION_MIN_SIZE, DEFAULT_COMPRESSION_MIN_SIZE);
       List<String> compressionMimeTypeWhiteList = props.asList(COMPRESSION_MIME_TYPE_WHITE_LIST);
@@ -163,6 +165,8 @@ public class LaunchConfigsInternal {
         .threads(threads)
         .maxContentLength(maxContentLength)
         .timeResponses(timeResponses)
+        .profileHandlers(profileHandlers)
+        .maxConcurrentRequests(maxConcurrentRequests)
         .compressResponses(compressResponses)
         .compressionMinSize(compressionMinSize)
         .compressionWhiteListMimeTypes(compressionMimeTypeWhiteList)
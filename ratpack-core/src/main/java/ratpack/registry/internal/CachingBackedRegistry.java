@@ -80,7 +80,7 @@ public class CachingBackedRegistry implements Registry {
 
   @Override
   public <O> O get(Class<O> type) throws NotInRegistryException {
-    return get(TypeToken.of(type));
+    return get(TypeCaching.typeToken(type));
   }
 
   @Override
@@ -94,7 +94,7 @@ public class CachingBackedRegistry implements Registry {
   }
 
   public <T> T maybeGet(Class<T> type) {
-    return maybeGet(TypeToken.of(type));
+    return maybeGet(TypeCaching.typeToken(type));
   }
 
   public <T> T maybeGet(TypeToken<T> type) {
@@ -108,7 +108,7 @@ public class CachingBackedRegistry implements Registry {
 
   @Override
   public <O> Iterable<? extends O> getAll(Class<O> type) {
-    return getAll(TypeToken.of(type));
+    return getAll(TypeCaching.typeToken(type));
   }
 
   @Override
@@ -70,7 +70,7 @@ public class CachingRegistry implements Registry {
 
   @Override
   public <O> O get(Class<O> type) throws NotInRegistryException {
-    return get(TypeToken.of(type));
+    return get(TypeCaching.typeToken(type));
   }
 
   @Override
@@ -85,7 +85,7 @@ public class CachingRegistry implements Registry {
 
   @Override
   public <O> O maybeGet(Class<O> type) {
-    return maybeGet(TypeToken.of(type));
+    return maybeGet(TypeCaching.typeToken(type));
   }
 
   @Override
@@ -100,7 +100,7 @@ public class CachingRegistry implements Registry {
 
   @Override
   public <O> List<O> getAll(Class<O> type) {
-    return getAll(TypeToken.of(type));
+    return getAll(TypeCaching.typeToken(type));
   }
 
   @Override
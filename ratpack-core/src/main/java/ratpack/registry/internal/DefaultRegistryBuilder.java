@@ -36,7 +36,7 @@ public class DefaultRegistryBuilder implements RegistryBuilder {
 
   @Override
   public <O> RegistryBuilder add(Class<? super O> type, O object) {
-    return add(TypeToken.of(type), object);
+    return add(TypeCaching.typeToken(type), object);
   }
 
   @Override
@@ -56,7 +56,7 @@ public class DefaultRegistryBuilder implements RegistryBuilder {
 
   @Override
   public <O> RegistryBuilder add(Class<O> type, Factory<? extends O> factory) {
-    return add(TypeToken.of(type), factory);
+    return add(TypeCaching.typeToken(type), factory);
   }
 
   @Override
@@ -70,7 +70,8 @@ public class DefaultRegistryBuilder implements RegistryBuilder {
   public Registry build() {
     ImmutableList<RegistryEntry<?>> entries = builder.build();
     if (entries.size() == 1) {
-      return new CachingRegistry(new SingleEntryRegistry(entries.get(0)));
+      // A single type check is cheaper than a cache lookup, and these are frequently created per request
+      return new SingleEntryRegistry(entries.get(0));
     } else {
       return new CachingRegistry(new MultiEntryRegistry(entries));
     }
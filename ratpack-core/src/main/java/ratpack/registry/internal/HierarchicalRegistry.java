@@ -17,6 +17,7 @@
 package ratpack.registry.internal;
 
 import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.reflect.TypeToken;
 import ratpack.api.Nullable;
@@ -24,6 +25,13 @@ import ratpack.func.Action;
 import ratpack.registry.NotInRegistryException;
 import ratpack.registry.Registry;
 
+/**
+ * A registry that looks up objects in a child registry, and then its parent.
+ * <p>
+ * Joins are made per request (e.g. by {@code context.next(registry)}), so joining only links the two registries.
+ * Lookups walk the chain of parents in a loop, rather than recursing through each join.
+ * Long lived parents should resolve types from a cache (e.g. {@link CachingRegistry}), so that the end of the walk is a single lookup.
+ */
 public class HierarchicalRegistry implements Registry {
 
   private final Registry parent;
@@ -36,7 +44,7 @@ public class HierarchicalRegistry implements Registry {
 
   @Override
   public <O> O get(Class<O> type) throws NotInRegistryException {
-    return get(TypeToken.of(type));
+    return get(TypeCaching.typeToken(type));
   }
 
   @Override
@@ -52,54 +60,81 @@ public class HierarchicalRegistry implements Registry {
 
   @Override
   public <O> O maybeGet(Class<O> type) {
-    return maybeGet(TypeToken.of(type));
+    return maybeGet(TypeCaching.typeToken(type));
   }
 
   @Nullable
   @Override
   public <O> O maybeGet(TypeToken<O> type) {
-    O object = child.maybeGet(type);
-    if (object == null) {
-      object = parent.maybeGet(type);
+    Registry registry = this;
+    while (registry instanceof HierarchicalRegistry) {
+      HierarchicalRegistry hierarchical = (HierarchicalRegistry) registry;
+      O object = hierarchical.child.maybeGet(type);
+      if (object != null) {
+        return object;
+      }
+      registry = hierarchical.parent;
     }
 
-    return object;
+    return registry.maybeGet(type);
   }
 
   @Override
   public <O> Iterable<? extends O> getAll(Class<O> type) {
-    return getAll(TypeToken.of(type));
+    return getAll(TypeCaching.typeToken(type));
   }
 
   @Override
   public <O> Iterable<? extends O> getAll(TypeToken<O> type) {
-    Iterable<? extends O> childAll = child.getAll(type);
-    Iterable<? extends O> parentAll = parent.getAll(type);
-    return Iterables.concat(childAll, parentAll);
+    ImmutableList.Builder<Iterable<? extends O>> all = ImmutableList.builder();
+    Registry registry = this;
+    while (registry instanceof HierarchicalRegistry) {
+      HierarchicalRegistry hierarchical = (HierarchicalRegistry) registry;
+      all.add(hierarchical.child.getAll(type));
+      registry = hierarchical.parent;
+    }
+    all.add(registry.getAll(type));
+    return Iterables.concat(all.build());
   }
 
   @Nullable
   @Override
   public <T> T first(TypeToken<T> type, Predicate<? super T> predicate) {
-    T first = child.first(type, predicate);
-    if (first == null) {
-      first = parent.first(type, predicate);
+    Registry registry = this;
+    while (registry instanceof HierarchicalRegistry) {
+      HierarchicalRegistry hierarchical = (HierarchicalRegistry) registry;
+      T first = hierarchical.child.first(type, predicate);
+      if (first != null) {
+        return first;
+      }
+      registry = hierarchical.parent;
     }
-    return first;
+    return registry.first(type, predicate);
   }
 
   @Override
   public <T> Iterable<? extends T> all(TypeToken<T> type, Predicate<? super T> predicate) {
-    Iterable<? extends T> childAll = child.all(type, predicate);
-    Iterable<? extends T> parentAll = parent.all(type, predicate);
-    return Iterables.concat(childAll, parentAll);
+    ImmutableList.Builder<Iterable<? extends T>> all = ImmutableList.builder();
+    Registry registry = this;
+    while (registry instanceof HierarchicalRegistry) {
+      HierarchicalRegistry hierarchical = (HierarchicalRegistry) registry;
+      all.add(hierarchical.child.all(type, predicate));
+      registry = hierarchical.parent;
+    }
+    all.add(registry.all(type, predicate));
+    return Iterables.concat(all.build());
   }
 
   @Override
   public <T> boolean each(TypeToken<T> type, Predicate<? super T> predicate, Action<? super T> action) throws Exception {
-    boolean childFound = child.each(type, predicate, action);
-    boolean parentFound = parent.each(type, predicate, action);
-    return childFound || parentFound;
+    boolean found = false;
+    Registry registry = this;
+    while (registry instanceof HierarchicalRegistry) {
+      HierarchicalRegistry hierarchical = (HierarchicalRegistry) registry;
+      found = hierarchical.child.each(type, predicate, action) || found;
+      registry = hierarchical.parent;
+    }
+    return registry.each(type, predicate, action) || found;
   }
 
   @Override
@@ -28,7 +28,7 @@ public class LazyRegistryEntry<T> implements RegistryEntry<T> {
   private final Factory<? extends T> factory;
   private final Lock lock = new ReentrantLock();
 
-  private T object;
+  private volatile T object;
 
   public LazyRegistryEntry(TypeToken<T> type, Factory<? extends T> factory) {
     this.type = type;
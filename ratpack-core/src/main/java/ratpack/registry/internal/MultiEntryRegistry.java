@@ -42,7 +42,7 @@ public class MultiEntryRegistry implements Registry {
 
   @Override
   public <O> O get(Class<O> type) throws NotInRegistryException {
-    return get(TypeToken.of(type));
+    return get(TypeCaching.typeToken(type));
   }
 
   @Override
@@ -56,12 +56,13 @@ public class MultiEntryRegistry implements Registry {
   }
 
   public <O> O maybeGet(Class<O> type) {
-    return maybeGet(TypeToken.of(type));
+    return maybeGet(TypeCaching.typeToken(type));
   }
 
   public <O> O maybeGet(TypeToken<O> type) {
-    for (RegistryEntry<?> entry : entries) {
-      if (type.isAssignableFrom(entry.getType())) {
+    for (int i = 0; i < entries.size(); ++i) {
+      RegistryEntry<?> entry = entries.get(i);
+      if (TypeCaching.isAssignableFrom(type, entry.getType())) {
         @SuppressWarnings("unchecked") O cast = (O) entry.get();
         return cast;
       }
@@ -71,7 +72,7 @@ public class MultiEntryRegistry implements Registry {
   }
 
   public <O> Iterable<? extends O> getAll(Class<O> type) {
-    return getAll(TypeToken.of(type));
+    return getAll(TypeCaching.typeToken(type));
   }
 
   public <O> Iterable<? extends O> getAll(final TypeToken<O> type) {
@@ -91,7 +92,7 @@ public class MultiEntryRegistry implements Registry {
 
             while (delegate.hasNext()) {
               RegistryEntry<?> entry = delegate.next();
-              if (type.isAssignableFrom(entry.getType())) {
+              if (TypeCaching.isAssignableFrom(type, entry.getType())) {
                 @SuppressWarnings("unchecked") O cast = (O) entry.get();
                 next = cast;
                 return true;
@@ -120,8 +121,9 @@ public class MultiEntryRegistry implements Registry {
   @Nullable
   @Override
   public <O> O first(TypeToken<O> type, Predicate<? super O> predicate) {
-    for (RegistryEntry<?> entry : entries) {
-      if (type.isAssignableFrom(entry.getType())) {
+    for (int i = 0; i < entries.size(); ++i) {
+      RegistryEntry<?> entry = entries.get(i);
+      if (TypeCaching.isAssignableFrom(type, entry.getType())) {
         @SuppressWarnings("unchecked") O cast = (O) entry.get();
         if (predicate.apply(cast)) {
           return cast;
@@ -135,8 +137,9 @@ public class MultiEntryRegistry implements Registry {
   public <O> Iterable<? extends O> all(TypeToken<O> type, Predicate<? super O> predicate) {
 
     ImmutableList.Builder<O> builder = ImmutableList.builder();
-    for (RegistryEntry<?> entry : entries) {
-      if (type.isAssignableFrom(entry.getType())) {
+    for (int i = 0; i < entries.size(); ++i) {
+      RegistryEntry<?> entry = entries.get(i);
+      if (TypeCaching.isAssignableFrom(type, entry.getType())) {
         @SuppressWarnings("unchecked") O cast = (O) entry.get();
         if (predicate.apply(cast)) {
           builder.add(cast);
@@ -149,8 +152,9 @@ public class MultiEntryRegistry implements Registry {
   @Override
   public <O> boolean each(TypeToken<O> type, Predicate<? super O> predicate, Action<? super O> action) throws Exception {
     boolean foundMatch = false;
-    for (RegistryEntry<?> entry : entries) {
-      if (type.isAssignableFrom(entry.getType())) {
+    for (int i = 0; i < entries.size(); ++i) {
+      RegistryEntry<?> entry = entries.get(i);
+      if (TypeCaching.isAssignableFrom(type, entry.getType())) {
         @SuppressWarnings("unchecked") O cast = (O) entry.get();
         if (predicate.apply(cast)) {
           action.execute(cast);
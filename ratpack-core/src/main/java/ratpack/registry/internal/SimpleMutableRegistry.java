@@ -26,19 +26,19 @@ import ratpack.registry.NotInRegistryException;
 import ratpack.registry.Registry;
 
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import static ratpack.util.Types.cast;
 
 public class SimpleMutableRegistry implements MutableRegistry {
 
-  private final List<RegistryEntry<?>> entries = new LinkedList<>();
+  private final List<RegistryEntry<?>> entries = new ArrayList<>();
   private final Registry registry = new MultiEntryRegistry(entries);
 
   @Override
   public <T> void register(Class<T> type, T object) {
-    entries.add(new DefaultRegistryEntry<>(TypeToken.of(type), object));
+    entries.add(new DefaultRegistryEntry<>(TypeCaching.typeToken(type), object));
   }
 
   @Override
@@ -48,20 +48,20 @@ public class SimpleMutableRegistry implements MutableRegistry {
 
   private <T> void doRegister(T object) {
     Class<T> type = cast(object.getClass());
-    TypeToken<T> typeToken = TypeToken.of(type);
+    TypeToken<T> typeToken = TypeCaching.typeToken(type);
     entries.add(new DefaultRegistryEntry<>(typeToken, object));
   }
 
   @Override
   public <T> void registerLazy(Class<T> type, Factory<? extends T> factory) {
-    entries.add(new LazyRegistryEntry<>(TypeToken.of(type), factory));
+    entries.add(new LazyRegistryEntry<>(TypeCaching.typeToken(type), factory));
   }
 
   @Override
   public <T> void remove(Class<T> type) throws NotInRegistryException {
     Iterator<? extends RegistryEntry<?>> iterator = entries.iterator();
     while (iterator.hasNext()) {
-      if (iterator.next().getType().isAssignableFrom(type)) {
+      if (TypeCaching.isAssignableFrom(iterator.next().getType(), TypeCaching.typeToken(type))) {
         iterator.remove();
       }
     }
@@ -36,7 +36,7 @@ public class SingleEntryRegistry implements Registry {
 
   @Override
   public <O> O get(Class<O> type) throws NotInRegistryException {
-    return get(TypeToken.of(type));
+    return get(TypeCaching.typeToken(type));
   }
 
   @Override
@@ -53,13 +53,13 @@ public class SingleEntryRegistry implements Registry {
   @Nullable
   @Override
   public <O> O maybeGet(Class<O> type) {
-    return maybeGet(TypeToken.of(type));
+    return maybeGet(TypeCaching.typeToken(type));
   }
 
   @Nullable
   @Override
   public <O> O maybeGet(TypeToken<O> type) {
-    if (type.isAssignableFrom(entry.getType())) {
+    if (TypeCaching.isAssignableFrom(type, entry.getType())) {
       @SuppressWarnings("unchecked") O cast = (O) entry.get();
       return cast;
     } else {
@@ -69,7 +69,7 @@ public class SingleEntryRegistry implements Registry {
 
   @Override
   public <O> Iterable<? extends O> getAll(Class<O> type) {
-    return getAll(TypeToken.of(type));
+    return getAll(TypeCaching.typeToken(type));
   }
 
   @Override
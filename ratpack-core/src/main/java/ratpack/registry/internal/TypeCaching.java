@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.registry.internal;
+
+import com.google.common.reflect.TypeToken;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+
+import static ratpack.util.Types.cast;
+
+/**
+ * Interned type tokens and assignability checks for registry lookups.
+ * <p>
+ * Lookups by class are the common case, and creating a new {@link TypeToken} and resolving assignability through it is comparatively expensive.
+ * Tokens for classes are reused while they are in use, and assignability between two non generic types is checked directly on the classes.
+ * <p>
+ * Tokens are only weakly referenced by the cache, as a token strongly references its class, so that classes from discarded class loaders
+ * (e.g. of reloaded scripts) can be collected.
+ */
+public abstract class TypeCaching {
+
+  private static final ClassValue<CachedTypeToken> TYPE_TOKENS = new ClassValue<CachedTypeToken>() {
+    @Override
+    protected CachedTypeToken computeValue(Class<?> type) {
+      return new CachedTypeToken();
+    }
+  };
+
+  private static class CachedTypeToken {
+    private volatile WeakReference<TypeToken<?>> reference = new WeakReference<>(null);
+
+    TypeToken<?> get(Class<?> type) {
+      TypeToken<?> typeToken = reference.get();
+      if (typeToken == null) {
+        typeToken = TypeToken.of(type);
+        reference = new WeakReference<>(typeToken);
+      }
+      return typeToken;
+    }
+  }
+
+  private TypeCaching() {
+  }
+
+  public static <T> TypeToken<T> typeToken(Class<T> type) {
+    return cast(TYPE_TOKENS.get(type).get(type));
+  }
+
+  public static boolean isAssignableFrom(TypeToken<?> target, TypeToken<?> candidate) {
+    if (target == candidate) {
+      return true;
+    }
+
+    Type targetType = target.getType();
+    Type candidateType = candidate.getType();
+    if (targetType instanceof Class && candidateType instanceof Class) {
+      return ((Class<?>) targetType).isAssignableFrom((Class<?>) candidateType);
+    } else {
+      return target.isAssignableFrom(candidate);
+    }
+  }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.reload.internal;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ratpack.api.Nullable;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Notifies listeners of changes to individual files, using a {@link WatchService} per file system serviced by a single background thread each.
+ * <p>
+ * Files are watched by watching their parent directory, so that files that are replaced (i.e. deleted and recreated) by editors are still tracked.
+ * Watching stops when the returned {@link Watch} is closed, and a directory stops being watched once nothing in it is.
+ */
+public abstract class FileWatcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FileWatcher.class);
+
+  private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder().setNameFormat("ratpack-file-watcher-%d").setDaemon(true).build();
+  private static final ConcurrentMap<FileSystem, Service> SERVICES = new ConcurrentHashMap<>();
+
+  private FileWatcher() {
+  }
+
+  /**
+   * Calls the given listener, on a background thread, whenever the given file is created, modified or deleted.
+   *
+   * @param file the file to watch
+   * @param listener the listener to notify of changes
+   * @return the watch, which must be closed to stop watching, or {@code null} if the file can't be watched (e.g. in a zip file system)
+   */
+  @Nullable
+  public static Watch watch(Path file, Runnable listener) {
+    Path absolute = file.toAbsolutePath();
+    Path dir = absolute.getParent();
+    if (dir == null) {
+      return null;
+    }
+
+    Service service = SERVICES.get(absolute.getFileSystem());
+    if (service == null) {
+      WatchService watchService;
+      try {
+        watchService = absolute.getFileSystem().newWatchService();
+      } catch (UnsupportedOperationException | IOException e) {
+        LOGGER.debug("Unable to watch " + absolute + " for changes", e);
+        return null;
+      }
+      Service newService = new Service(watchService);
+      service = SERVICES.putIfAbsent(absolute.getFileSystem(), newService);
+      if (service == null) {
+        service = newService;
+        THREAD_FACTORY.newThread(service).start();
+      } else {
+        newService.close();
+      }
+    }
+
+    try {
+      return service.add(dir, new Listener(absolute.getFileName(), listener));
+    } catch (UnsupportedOperationException | IOException e) {
+      LOGGER.debug("Unable to watch " + absolute + " for changes", e);
+      return null;
+    }
+  }
+
+  /**
+   * A file being watched.
+   */
+  public interface Watch extends AutoCloseable {
+
+    /**
+     * Stops watching the file, so that the listener is no longer called or referenced.
+     */
+    @Override
+    void close();
+
+  }
+
+  private static class Listener {
+    private final Path fileName;
+    private final Runnable runnable;
+
+    private Listener(Path fileName, Runnable runnable) {
+      this.fileName = fileName;
+      this.runnable = runnable;
+    }
+  }
+
+  private static class Service implements Runnable {
+    private final WatchService watchService;
+    private final ConcurrentMap<WatchKey, List<Listener>> listeners = new ConcurrentHashMap<>();
+
+    private Service(WatchService watchService) {
+      this.watchService = watchService;
+    }
+
+    // Synchronized with remove(), so that a key is not cancelled while a listener is being added for its directory
+    private synchronized Watch add(Path dir, Listener listener) throws IOException {
+      WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+      List<Listener> keyListeners = listeners.get(key);
+      if (keyListeners == null) {
+        keyListeners = new CopyOnWriteArrayList<>();
+        listeners.put(key, keyListeners);
+      }
+      keyListeners.add(listener);
+      return () -> remove(key, listener);
+    }
+
+    private synchronized void remove(WatchKey key, Listener listener) {
+      List<Listener> keyListeners = listeners.get(key);
+      if (keyListeners != null && keyListeners.remove(listener) && keyListeners.isEmpty()) {
+        listeners.remove(key);
+        key.cancel();
+      }
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        WatchKey key;
+        try {
+          key = watchService.take();
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+          return;
+        }
+
+        List<Listener> keyListeners = listeners.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (keyListeners != null) {
+            for (Listener listener : keyListeners) {
+              if (event.kind() == OVERFLOW || listener.fileName.equals(event.context())) {
+                notify(listener);
+              }
+            }
+          }
+        }
+        key.reset();
+      }
+    }
+
+    private void notify(Listener listener) {
+      try {
+        listener.runnable.run();
+      } catch (Exception e) {
+        LOGGER.warn("Exception thrown by file change listener", e);
+      }
+    }
+
+    private void close() {
+      try {
+        watchService.close();
+      } catch (IOException ignore) {
+        // ignore
+      }
+    }
+  }
+
+}
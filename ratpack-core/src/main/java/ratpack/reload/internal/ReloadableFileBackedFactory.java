@@ -16,35 +16,66 @@
 
 package ratpack.reload.internal;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.buffer.ByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ratpack.exec.ExecController;
 import ratpack.func.Factory;
 import ratpack.util.internal.IoUtils;
 
-import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static ratpack.util.ExceptionUtils.uncheck;
 
-public class ReloadableFileBackedFactory<T> implements Factory<T> {
+/**
+ * Produces an object from a file, optionally producing a new one when the file changes.
+ * <p>
+ * When reloadable, the file is watched for changes in the background (see {@link FileWatcher}).
+ * A change marks the current object as stale and, once the file has been quiet for {@link #DEBOUNCE_MILLIS}, a new object is produced
+ * in the background and swapped in.
+ * Once there is a current object, {@link #create()} is a single volatile read that never blocks;
+ * the current object is returned until its replacement has been swapped in.
+ * If producing the replacement fails, {@link #create()} throws the failure until the file changes again.
+ * <p>
+ * If the file cannot be watched (e.g. it is in a zip file system), the file is checked for changes on each call to {@link #create()}.
+ * <p>
+ * The file is watched until the factory is {@link #close() closed}, which is typically when the server stops (see {@link #closeWith(ExecController)}).
+ */
+public class ReloadableFileBackedFactory<T> implements Factory<T>, AutoCloseable {
+
+  public static final long DEBOUNCE_MILLIS = 100;
 
-  // Note: we are blocking for IO on the main thread here, but it only really impacts
-  // reloadable mode so it's not worth the complication of jumping off the main thread
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReloadableFileBackedFactory.class);
+
+  private static final ScheduledExecutorService RELOADER = Executors.newSingleThreadScheduledExecutor(
+    new ThreadFactoryBuilder().setNameFormat("ratpack-reloader-%d").setDaemon(true).build()
+  );
 
   private final Path file;
   private final boolean reloadable;
   private final Producer<T> producer;
   private final Releaser<T> releaser;
+  private final boolean watched;
+  private final FileWatcher.Watch watch;
 
-  private final AtomicReference<FileTime> lastModifiedHolder = new AtomicReference<>(null);
-  private final AtomicReference<ByteBuf> contentHolder = new AtomicReference<>();
-  private final AtomicReference<T> delegateHolder = new AtomicReference<>(null);
+  private final AtomicReference<Current<T>> current = new AtomicReference<>(new Current<>(null, true));
+  private final AtomicReference<ScheduledFuture<?>> scheduledRefresh = new AtomicReference<>();
   private final Lock lock = new ReentrantLock();
 
+  // guarded by lock
+  private FileTime lastModified;
+  private ByteBuf content;
+
   static public interface Producer<T> {
     T produce(Path file, ByteBuf bytes) throws Exception;
   }
@@ -60,6 +91,22 @@ public class ReloadableFileBackedFactory<T> implements Factory<T> {
     }
   }
 
+  private static class Current<T> {
+    private final T delegate;
+    private final boolean stale;
+    private final Exception failure;
+
+    private Current(T delegate, boolean stale) {
+      this(delegate, stale, null);
+    }
+
+    private Current(T delegate, boolean stale, Exception failure) {
+      this.delegate = delegate;
+      this.stale = stale;
+      this.failure = failure;
+    }
+  }
+
   public ReloadableFileBackedFactory(Path file, boolean reloadable, Producer<T> producer) {
     this(file, reloadable, producer, new NullReleaser<>());
   }
@@ -70,7 +117,12 @@ public class ReloadableFileBackedFactory<T> implements Factory<T> {
     this.producer = producer;
     this.releaser = releaser;
 
-    if (!reloadable) {
+    if (reloadable) {
+      watch = FileWatcher.watch(file, this::changed);
+      watched = watch != null;
+    } else {
+      watch = null;
+      watched = false;
       try {
         refresh();
       } catch (Exception e) {
@@ -80,10 +132,16 @@ public class ReloadableFileBackedFactory<T> implements Factory<T> {
   }
 
   public T create() {
-    if (!reloadable) {
-      return delegateHolder.get();
+    Current<T> current = this.current.get();
+    if (!reloadable || (watched && current.delegate != null)) {
+      if (current.failure != null) {
+        throw uncheck(current.failure);
+      }
+      return current.delegate;
     }
 
+    // Note: we are blocking for IO on the calling thread here, but only in reloadable mode and only when there is nothing to serve yet (or the file can't be watched)
+
     // If the file disappeared, wait a little for it to appear
     int i = 10;
     while (!Files.exists(file) && --i > 0) {
@@ -99,57 +157,96 @@ public class ReloadableFileBackedFactory<T> implements Factory<T> {
     }
 
     try {
-      if (refreshNeeded()) {
-        refresh();
-      }
+      refresh();
     } catch (Exception e) {
       throw uncheck(e);
     }
 
-    return delegateHolder.get();
+    return this.current.get().delegate;
   }
 
-  private boolean isBytesAreSame() throws IOException {
-    lock.lock();
-    try {
-      ByteBuf existing = contentHolder.get();
-      //noinspection SimplifiableIfStatement
-      if (existing == null) {
-        return false;
-      }
+  /**
+   * Closes this factory when the given controller is closed, which happens when the server stops.
+   *
+   * @param execController the controller of the server using this factory
+   * @return this
+   */
+  public ReloadableFileBackedFactory<T> closeWith(ExecController execController) {
+    execController.getEventLoopGroup().terminationFuture().addListener(future -> close());
+    return this;
+  }
 
-      return IoUtils.read(file).equals(existing);
-    } finally {
-      lock.unlock();
+  /**
+   * Stops watching the file for changes.
+   */
+  @Override
+  public void close() {
+    if (watch != null) {
+      watch.close();
+    }
+    ScheduledFuture<?> refresh = scheduledRefresh.getAndSet(null);
+    if (refresh != null) {
+      refresh.cancel(false);
+    }
+  }
+
+  private void changed() {
+    Current<T> existing;
+    do {
+      existing = current.get();
+    } while (!existing.stale && !current.compareAndSet(existing, new Current<>(existing.delegate, true)));
+
+    ScheduledFuture<?> next = RELOADER.schedule(this::backgroundRefresh, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    ScheduledFuture<?> previous = scheduledRefresh.getAndSet(next);
+    if (previous != null) {
+      previous.cancel(false);
     }
   }
 
-  private boolean refreshNeeded() throws IOException {
-    return !Files.getLastModifiedTime(file).equals(lastModifiedHolder.get()) || !isBytesAreSame();
+  private void backgroundRefresh() {
+    Current<T> existing = current.get();
+    if (existing.stale && Files.exists(file)) {
+      try {
+        refresh();
+      } catch (Exception e) {
+        // Leave it stale, so that the next change tries again, and have create() report the failure until then
+        LOGGER.debug("Failed to reload " + file, e);
+        current.compareAndSet(existing, new Current<>(existing.delegate, true, e));
+      }
+    }
   }
 
   private void refresh() throws Exception {
     lock.lock();
     try {
+      Current<T> existing = current.get();
       FileTime lastModifiedTime = Files.getLastModifiedTime(file);
       ByteBuf bytes = IoUtils.read(file);
 
-      if (lastModifiedTime.equals(lastModifiedHolder.get()) && bytes.equals(contentHolder.get())) {
-        return;
+      T delegate;
+      if (existing.delegate != null && lastModifiedTime.equals(lastModified) && bytes.equals(content)) {
+        bytes.release();
+        delegate = existing.delegate;
+      } else {
+        delegate = producer.produce(file, bytes);
+        if (content != null) {
+          content.release();
+        }
+        lastModified = lastModifiedTime;
+        content = bytes;
       }
 
-      T previous = delegateHolder.getAndSet(null);
-      if (previous != null) {
-        releaser.release(previous);
+      // If the file changed again while producing, stay stale
+      if (!current.compareAndSet(existing, new Current<>(delegate, !watched))) {
+        current.set(new Current<>(delegate, true));
       }
-      delegateHolder.set(producer.produce(file, bytes));
 
-      this.lastModifiedHolder.set(lastModifiedTime);
-      this.contentHolder.set(bytes);
+      if (existing.delegate != null && existing.delegate != delegate) {
+        releaser.release(existing.delegate);
+      }
     } finally {
       lock.unlock();
     }
   }
 
-
 }
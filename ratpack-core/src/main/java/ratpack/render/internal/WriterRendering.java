@@ -0,0 +1,162 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.render.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import org.reactivestreams.Publisher;
+import ratpack.func.Action;
+import ratpack.handling.Context;
+import ratpack.http.internal.HttpHeaderConstants;
+import ratpack.launch.LaunchConfig;
+import ratpack.stream.internal.WriterPublisher;
+import ratpack.util.internal.ChunkedByteBufOutputStream;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.concurrent.Executor;
+
+import static ratpack.util.internal.ChunkedByteBufOutputStream.DEFAULT_CHUNK_SIZE;
+
+/**
+ * Support for renderers that produce their output by writing characters, such as template engines.
+ * <p>
+ * Output is encoded directly into buffers from the application's allocator, avoiding intermediate strings and byte arrays.
+ */
+public abstract class WriterRendering {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private WriterRendering() {
+  }
+
+  /**
+   * Renders the output of the given action as the response.
+   * <p>
+   * If {@code streaming} is false, the output is buffered and sent with a content length, and any failure is passed to {@link Context#error(Exception)}.
+   * If {@code streaming} is true, the action is run on the blocking executor and the output is sent with chunked transfer encoding as it is produced.
+   * Failures after streaming has started can only be logged, as the response has already been committed.
+   *
+   * @param context the context to render to
+   * @param contentType the content type of the response
+   * @param streaming whether to stream the output as it is produced
+   * @param action the action that writes the response body
+   */
+  public static void render(Context context, CharSequence contentType, boolean streaming, Action<? super Writer> action) {
+    LaunchConfig launchConfig = context.getLaunchConfig();
+    if (streaming) {
+      context.getResponse().contentType(contentType);
+      context.getResponse().getHeaders().set(HttpHeaderConstants.TRANSFER_ENCODING, HttpHeaderConstants.CHUNKED);
+      context.getResponse().sendStream(stream(launchConfig.getExecController().getBlockingExecutor(), launchConfig.getBufferAllocator(), action));
+    } else {
+      ByteBuf buffer;
+      try {
+        buffer = buffer(launchConfig.getBufferAllocator(), action);
+      } catch (Exception e) {
+        context.error(e);
+        return;
+      }
+      context.getResponse().send(contentType, buffer);
+    }
+  }
+
+  /**
+   * Runs the given action, encoding its output as UTF-8 into a buffer from the given allocator.
+   *
+   * @param allocator the allocator to obtain buffers from
+   * @param action the action that writes the content
+   * @return a buffer containing the encoded output, owned by the caller
+   * @throws Exception any thrown by the action
+   */
+  public static ByteBuf buffer(ByteBufAllocator allocator, Action<? super Writer> action) throws Exception {
+    Accumulator accumulator = new Accumulator(allocator);
+    ChunkedByteBufOutputStream out = new ChunkedByteBufOutputStream(allocator, DEFAULT_CHUNK_SIZE, accumulator);
+    try {
+      Writer writer = new OutputStreamWriter(out, UTF_8);
+      action.execute(writer);
+      writer.close();
+    } catch (Exception e) {
+      out.discard();
+      accumulator.release();
+      throw e;
+    }
+    return accumulator.get();
+  }
+
+  /**
+   * Creates a publisher of the output of the given action, encoded as UTF-8 into chunks from the given allocator.
+   *
+   * @param executor the executor to run the action on, which may block
+   * @param allocator the allocator to obtain buffers from
+   * @param action the action that writes the content
+   * @return a publisher of the encoded output
+   */
+  public static Publisher<ByteBuf> stream(Executor executor, ByteBufAllocator allocator, Action<? super Writer> action) {
+    return new WriterPublisher(executor, allocator, DEFAULT_CHUNK_SIZE, UTF_8, action);
+  }
+
+  private static class Accumulator implements Action<ByteBuf> {
+
+    private final ByteBufAllocator allocator;
+    private ByteBuf first;
+    private CompositeByteBuf composite;
+
+    private Accumulator(ByteBufAllocator allocator) {
+      this.allocator = allocator;
+    }
+
+    @Override
+    public void execute(ByteBuf chunk) {
+      if (first == null) {
+        first = chunk;
+      } else {
+        if (composite == null) {
+          composite = allocator.compositeBuffer(Integer.MAX_VALUE);
+          add(first);
+        }
+        add(chunk);
+      }
+    }
+
+    private void add(ByteBuf chunk) {
+      composite.addComponent(chunk);
+      composite.writerIndex(composite.writerIndex() + chunk.readableBytes());
+    }
+
+    ByteBuf get() {
+      if (composite != null) {
+        return composite;
+      } else if (first != null) {
+        return first;
+      } else {
+        return allocator.buffer(0, 0);
+      }
+    }
+
+    void release() {
+      if (composite != null) {
+        composite.release();
+      } else if (first != null) {
+        first.release();
+      }
+    }
+  }
+
+}
@@ -30,6 +30,7 @@ import ratpack.launch.LaunchConfig;
 import ratpack.launch.LaunchException;
 import ratpack.reload.internal.ClassUtil;
 import ratpack.reload.internal.ReloadableFileBackedFactory;
+import ratpack.server.internal.DefaultStartupTimeline;
 import ratpack.server.internal.NettyRatpackServer;
 import ratpack.server.internal.RatpackChannelInitializer;
 
@@ -77,7 +78,7 @@ public abstract class RatpackServerBuilder {
           public Handler produce(Path file, ByteBuf bytes) {
             return createHandler(launchConfig, handlerFactory);
           }
-        });
+        }).closeWith(launchConfig.getExecController());
         return new FactoryHandler(factory);
       }
     }
@@ -87,7 +88,7 @@ public abstract class RatpackServerBuilder {
 
   private static Handler createHandler(LaunchConfig launchConfig, HandlerFactory handlerFactory) {
     try {
-      return handlerFactory.create(launchConfig);
+      return DefaultStartupTimeline.phase("handler", () -> handlerFactory.create(launchConfig));
     } catch (Exception e) {
       Throwables.propagateIfInstanceOf(e, BaseDirRequiredException.class);
       throw new LaunchException("Could not create handler via handler factory: " + handlerFactory.getClass().getName(), e);
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.server;
+
+import com.google.common.base.Optional;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The phases of starting a {@link RatpackServer}, and how long each took.
+ * <p>
+ * The timeline of a server is available from its registry, and is logged at {@code INFO} level once the server has started.
+ * The offsets of phases are relative to the start of the JVM, so that the timeline covers all of the time taken to start serving requests.
+ * <p>
+ * The phases are:
+ * <ul>
+ * <li>{@code jvm} - from the start of the JVM until the server started to start</li>
+ * <li>{@code handler} - creating the application handler via the {@link ratpack.launch.HandlerFactory}</li>
+ * <li>{@code base registry} - creating the objects that the server makes available to all requests</li>
+ * <li>{@code bind} - binding to the server socket</li>
+ * </ul>
+ * <p>
+ * Extensions may record their own phases, which will be nested within the above.
+ * For example, when using Guice the {@code handler} phase contains the {@code guice modules}, {@code guice injector} and {@code guice handler} phases,
+ * and Groovy script apps also record compiling the script as the {@code groovy script} phase.
+ */
+public interface StartupTimeline {
+
+  /**
+   * The phases of startup, ordered by the time they started.
+   *
+   * @return the phases of startup
+   */
+  List<Phase> getPhases();
+
+  /**
+   * The time from the start of the JVM until the server was ready to accept requests.
+   *
+   * @return the time from the start of the JVM until the server was ready to accept requests
+   */
+  Duration getStartupTime();
+
+  /**
+   * The time from the start of the JVM until the first request was received, if one has been received.
+   *
+   * @return the time from the start of the JVM until the first request was received
+   */
+  Optional<Duration> getFirstRequestTime();
+
+  /**
+   * A phase of startup.
+   */
+  interface Phase {
+
+    /**
+     * The name of the phase.
+     *
+     * @return the name of the phase
+     */
+    String getName();
+
+    /**
+     * When the phase started, relative to the start of the JVM.
+     *
+     * @return when the phase started, relative to the start of the JVM
+     */
+    Duration getOffset();
+
+    /**
+     * How long the phase took.
+     *
+     * @return how long the phase took
+     */
+    Duration getDuration();
+
+  }
+
+}
@@ -91,6 +91,10 @@ public class DefaultResponseTransmitter implements ResponseTransmitter {
       HttpResponse headersResponse = new CustomHttpResponse(responseStatus, responseHeaders);
       nettyRequest.release();
 
+      if (!headersResponse.headers().contains(HttpHeaderConstants.DATE)) {
+        headersResponse.headers().set(HttpHeaderConstants.DATE, HttpHeaderValues.date());
+      }
+
       if (isKeepAlive) {
         headersResponse.headers().set(HttpHeaderConstants.CONNECTION, HttpHeaderConstants.KEEP_ALIVE);
       }
@@ -112,7 +116,7 @@ public class DefaultResponseTransmitter implements ResponseTransmitter {
 
   @Override
   public void transmit(final HttpResponseStatus responseStatus, final ByteBuf body) {
-    responseHeaders.set(HttpHeaderConstants.CONTENT_LENGTH, body.readableBytes());
+    responseHeaders.set(HttpHeaderConstants.CONTENT_LENGTH, HttpHeaderValues.contentLength(body.readableBytes()));
     transmit(responseStatus, new DefaultHttpContent(body));
   }
 
@@ -142,7 +146,7 @@ public class DefaultResponseTransmitter implements ResponseTransmitter {
       responseHeaders.set(HttpHeaderConstants.CONTENT_ENCODING, HttpHeaderConstants.IDENTITY);
     }
 
-    responseHeaders.set(HttpHeaderConstants.CONTENT_LENGTH, size);
+    responseHeaders.set(HttpHeaderConstants.CONTENT_LENGTH, HttpHeaderValues.contentLength(size));
 
     if (!compressThis && file.getFileSystem().equals(FileSystems.getDefault())) {
       execControl.blocking(() -> new FileInputStream(file.toFile()).getChannel()).then(fileChannel -> {
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.server.internal;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ratpack.server.StartupTimeline;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DefaultStartupTimeline implements StartupTimeline {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DefaultStartupTimeline.class);
+
+  private static final ThreadLocal<DefaultStartupTimeline> THREAD_BINDING = new ThreadLocal<>();
+
+  private final long jvmStartNanos;
+  private final List<Phase> phases = new ArrayList<>();
+  private volatile long startedNanos;
+  private final AtomicLong firstRequestNanos = new AtomicLong();
+
+  public DefaultStartupTimeline() {
+    long now = System.nanoTime();
+    this.jvmStartNanos = now - TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+    add("jvm", jvmStartNanos, now);
+  }
+
+  /**
+   * The timeline of the server being started by the current thread, if any.
+   */
+  public static Optional<DefaultStartupTimeline> current() {
+    return Optional.fromNullable(THREAD_BINDING.get());
+  }
+
+  /**
+   * Records the given action as a phase of the timeline of the server being started by the current thread.
+   * <p>
+   * If no server is being started by the current thread (e.g. when reloading in development), the action is simply executed.
+   */
+  public static <T> T phase(String name, Callable<T> action) throws Exception {
+    DefaultStartupTimeline timeline = THREAD_BINDING.get();
+    if (timeline == null) {
+      return action.call();
+    }
+
+    long start = System.nanoTime();
+    try {
+      return action.call();
+    } finally {
+      timeline.add(name, start, System.nanoTime());
+    }
+  }
+
+  /**
+   * Executes the given action with this timeline bound to the current thread, so that phases can be recorded.
+   */
+  public <T> T during(Callable<T> action) throws Exception {
+    DefaultStartupTimeline previous = THREAD_BINDING.get();
+    THREAD_BINDING.set(this);
+    try {
+      return action.call();
+    } finally {
+      if (previous == null) {
+        THREAD_BINDING.remove();
+      } else {
+        THREAD_BINDING.set(previous);
+      }
+    }
+  }
+
+  public void started() {
+    startedNanos = System.nanoTime();
+    if (LOGGER.isInfoEnabled()) {
+      LOGGER.info("Started in " + millis(startedNanos - jvmStartNanos) + " since JVM start (" + describePhases() + ")");
+    }
+  }
+
+  public void firstRequest() {
+    long now = System.nanoTime();
+    if (firstRequestNanos.compareAndSet(0, now) && LOGGER.isInfoEnabled()) {
+      LOGGER.info("First request received " + millis(now - jvmStartNanos) + " since JVM start");
+    }
+  }
+
+  @Override
+  public synchronized List<Phase> getPhases() {
+    List<Phase> sorted = new ArrayList<>(phases);
+    sorted.sort(Comparator.comparing(Phase::getOffset));
+    return ImmutableList.copyOf(sorted);
+  }
+
+  @Override
+  public Duration getStartupTime() {
+    long started = startedNanos;
+    return Duration.ofNanos((started == 0 ? System.nanoTime() : started) - jvmStartNanos);
+  }
+
+  @Override
+  public Optional<Duration> getFirstRequestTime() {
+    long firstRequest = firstRequestNanos.get();
+    return firstRequest == 0 ? Optional.<Duration>absent() : Optional.of(Duration.ofNanos(firstRequest - jvmStartNanos));
+  }
+
+  private synchronized void add(String name, long startNanos, long endNanos) {
+    phases.add(new DefaultPhase(name, Duration.ofNanos(startNanos - jvmStartNanos), Duration.ofNanos(endNanos - startNanos)));
+  }
+
+  private String describePhases() {
+    List<String> descriptions = new ArrayList<>();
+    for (Phase phase : getPhases()) {
+      descriptions.add(phase.getName() + " " + millis(phase.getDuration().toNanos()));
+    }
+    return Joiner.on(", ").join(descriptions);
+  }
+
+  private static String millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos) + "ms";
+  }
+
+  private static class DefaultPhase implements Phase {
+    private final String name;
+    private final Duration offset;
+    private final Duration duration;
+
+    private DefaultPhase(String name, Duration offset, Duration duration) {
+      this.name = name;
+      this.offset = offset;
+      this.duration = duration;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public Duration getOffset() {
+      return offset;
+    }
+
+    @Override
+    public Duration getDuration() {
+      return duration;
+    }
+
+    @Override
+    public String toString() {
+      return name + " " + millis(duration.toNanos());
+    }
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.server.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.util.CharsetUtil;
+
+import java.util.List;
+
+/**
+ * Turns away clients that start a connection with the HTTP/2 connection preface (i.e. “h2c” with prior knowledge).
+ * <p>
+ * Only HTTP/1.x is supported, so these clients are sent an empty SETTINGS frame (the server's connection preface) followed by
+ * a GOAWAY frame with the {@code HTTP_1_1_REQUIRED} error code, as described by RFC 7540.
+ * Without this, the preface would be decoded as an HTTP/1.x request with the method {@code PRI}.
+ * <p>
+ * The handler removes itself as soon as the first bytes of the connection can't be the preface, which for HTTP/1.x requests is the first or second byte.
+ */
+public class Http2PriorKnowledgeHandler extends ByteToMessageDecoder {
+
+  private static final ByteBuf PREFACE = Unpooled.unreleasableBuffer(Unpooled.copiedBuffer("PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n", CharsetUtil.US_ASCII));
+
+  private static final int FRAME_HEADER_LENGTH = 9;
+  private static final int SETTINGS = 0x4;
+  private static final int GOAWAY = 0x7;
+  private static final int HTTP_1_1_REQUIRED = 0xd;
+
+  @Override
+  protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+    int length = Math.min(in.readableBytes(), PREFACE.readableBytes());
+    for (int i = 0; i < length; ++i) {
+      if (in.getByte(in.readerIndex() + i) != PREFACE.getByte(i)) {
+        // passes what has been read so far on to the HTTP/1.x decoder
+        ctx.pipeline().remove(this);
+        return;
+      }
+    }
+    if (length == PREFACE.readableBytes()) {
+      in.skipBytes(in.readableBytes());
+      ctx.writeAndFlush(goAway(ctx)).addListener(ChannelFutureListener.CLOSE);
+    }
+  }
+
+  private static ByteBuf goAway(ChannelHandlerContext ctx) {
+    ByteBuf frames = ctx.alloc().buffer(FRAME_HEADER_LENGTH * 2 + 8);
+    frameHeader(frames, 0, SETTINGS);
+    frameHeader(frames, 8, GOAWAY);
+    frames.writeInt(0); // last stream id
+    frames.writeInt(HTTP_1_1_REQUIRED);
+    return frames;
+  }
+
+  private static void frameHeader(ByteBuf buffer, int payloadLength, int type) {
+    buffer.writeMedium(payloadLength);
+    buffer.writeByte(type);
+    buffer.writeByte(0); // flags
+    buffer.writeInt(0); // stream id
+  }
+
+}
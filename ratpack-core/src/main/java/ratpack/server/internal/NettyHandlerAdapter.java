@@ -26,6 +26,7 @@ import io.netty.util.AttributeKey;
 import io.netty.util.CharsetUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ratpack.api.Nullable;
 import ratpack.error.ClientErrorHandler;
 import ratpack.error.ServerErrorHandler;
 import ratpack.error.internal.DefaultClientErrorHandler;
@@ -41,14 +42,19 @@ import ratpack.file.internal.DefaultFileRenderer;
 import ratpack.file.internal.ShouldCompressPredicate;
 import ratpack.form.internal.FormParser;
 import ratpack.func.Action;
+import ratpack.func.Factory;
 import ratpack.func.Pair;
+import ratpack.handling.ConcurrencyLimiter;
 import ratpack.handling.Handler;
+import ratpack.handling.HandlerProfiler;
 import ratpack.handling.Handlers;
 import ratpack.handling.Redirector;
 import ratpack.handling.RequestOutcome;
 import ratpack.handling.direct.DirectChannelAccess;
 import ratpack.handling.direct.internal.DefaultDirectChannelAccess;
+import ratpack.handling.internal.DefaultConcurrencyLimiter;
 import ratpack.handling.internal.DefaultContext;
+import ratpack.handling.internal.DefaultHandlerProfiler;
 import ratpack.handling.internal.DefaultRedirector;
 import ratpack.handling.internal.DescribingHandler;
 import ratpack.handling.internal.DescribingHandlers;
@@ -62,11 +68,14 @@ import ratpack.launch.LaunchConfig;
 import ratpack.registry.Registries;
 import ratpack.registry.Registry;
 import ratpack.registry.RegistryBuilder;
+import ratpack.registry.internal.CachingRegistry;
+import ratpack.registry.internal.HierarchicalRegistry;
 import ratpack.render.CharSequenceRenderer;
 import ratpack.render.internal.DefaultCharSequenceRenderer;
 import ratpack.render.internal.DefaultRenderController;
 import ratpack.server.BindAddress;
 import ratpack.server.PublicAddress;
+import ratpack.server.StartupTimeline;
 import ratpack.server.Stopper;
 import ratpack.sse.internal.ServerSentEventsRenderer;
 
@@ -75,6 +84,7 @@ import java.net.InetSocketAddress;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static ratpack.util.ExceptionUtils.uncheck;
 import static ratpack.util.internal.ProtocolUtil.HTTPS_SCHEME;
 import static ratpack.util.internal.ProtocolUtil.HTTP_SCHEME;
 
@@ -100,13 +110,39 @@ public class NettyHandlerAdapter extends SimpleChannelInboundHandler<FullHttpReq
   private final boolean addResponseTimeHeader;
   private final ExecControl execControl;
 
+  private final DefaultStartupTimeline startupTimeline;
+  private boolean receivedRequest;
+
+  private final DefaultConcurrencyLimiter requestLimiter;
+
   public NettyHandlerAdapter(Stopper stopper, Handler handler, LaunchConfig launchConfig) {
     this.handlers = new Handler[]{handler};
     this.return404 = Handlers.notFound();
     this.launchConfig = launchConfig;
-    this.registry = buildBaseRegistry(stopper, launchConfig);
     this.addResponseTimeHeader = launchConfig.isTimeResponses();
-    this.applicationConstants = new DefaultContext.ApplicationConstants(launchConfig, new DefaultRenderController());
+
+    DefaultHandlerProfiler handlerProfiler = launchConfig.isProfileHandlers() ? new DefaultHandlerProfiler() : null;
+    this.startupTimeline = DefaultStartupTimeline.current().orNull();
+    Registry baseRegistry;
+    try {
+      baseRegistry = DefaultStartupTimeline.phase("base registry", () -> buildBaseRegistry(stopper, launchConfig, startupTimeline));
+    } catch (Exception e) {
+      throw uncheck(e);
+    }
+    if (handlerProfiler != null) {
+      baseRegistry = Registries.join(baseRegistry, Registries.just(HandlerProfiler.class, handlerProfiler));
+    }
+    int maxConcurrentRequests = launchConfig.getMaxConcurrentRequests();
+    this.requestLimiter = maxConcurrentRequests > 0 ? new DefaultConcurrencyLimiter(maxConcurrentRequests, maxConcurrentRequests, maxConcurrentRequests, 0, 0, 0) : null;
+    if (requestLimiter != null) {
+      baseRegistry = Registries.join(baseRegistry, Registries.just(ConcurrencyLimiter.class, requestLimiter));
+    }
+    if (baseRegistry instanceof HierarchicalRegistry) {
+      // The base registry is the parent of every request's registry, so resolve each type through its layers once
+      baseRegistry = new CachingRegistry(baseRegistry);
+    }
+    this.registry = baseRegistry;
+    this.applicationConstants = new DefaultContext.ApplicationConstants(launchConfig, new DefaultRenderController(), handlerProfiler);
     this.execController = launchConfig.getExecController();
     this.execControl = execController.getControl();
 
@@ -140,6 +176,17 @@ public class NettyHandlerAdapter extends SimpleChannelInboundHandler<FullHttpReq
       return;
     }
 
+    if (!receivedRequest && startupTimeline != null) {
+      receivedRequest = true;
+      startupTimeline.firstRequest();
+    }
+
+    if (requestLimiter != null && !requestLimiter.tryAcquire()) {
+      requestLimiter.reject();
+      sendServiceUnavailable(ctx, nettyRequest);
+      return;
+    }
+
     final long startTime = addResponseTimeHeader ? System.nanoTime() : 0;
     final Request request = new DefaultRequest(new NettyHeadersBackedHeaders(nettyRequest.headers()), nettyRequest.getMethod().name(), nettyRequest.getUri(), nettyRequest.content());
     final Channel channel = ctx.channel();
@@ -169,6 +216,9 @@ public class NettyHandlerAdapter extends SimpleChannelInboundHandler<FullHttpReq
     );
 
     DefaultContext.start(execController.getControl(), requestConstants, registry, handlers, return404, execution -> {
+      if (requestLimiter != null) {
+        requestLimiter.release(0);
+      }
       if (!transmitted.get()) {
         Handler lastHandler = requestConstants.handler;
         StringBuilder description = new StringBuilder();
@@ -229,27 +279,49 @@ public class NettyHandlerAdapter extends SimpleChannelInboundHandler<FullHttpReq
     ctx.write(response).addListener(ChannelFutureListener.CLOSE);
   }
 
+  private static void sendServiceUnavailable(ChannelHandlerContext ctx, FullHttpRequest request) {
+    FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.SERVICE_UNAVAILABLE);
+    response.headers().set(HttpHeaderConstants.DATE, HttpHeaderValues.date());
+    response.headers().set(HttpHeaderConstants.CONTENT_LENGTH, HttpHeaderValues.contentLength(0));
+
+    if (HttpHeaders.isKeepAlive(request)) {
+      response.headers().set(HttpHeaderConstants.CONNECTION, HttpHeaderConstants.KEEP_ALIVE);
+      ctx.writeAndFlush(response);
+    } else {
+      ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+    }
+  }
+
   public static Registry buildBaseRegistry(Stopper stopper, LaunchConfig launchConfig) {
+    return buildBaseRegistry(stopper, launchConfig, null);
+  }
+
+  public static Registry buildBaseRegistry(Stopper stopper, LaunchConfig launchConfig, @Nullable StartupTimeline startupTimeline) {
+    // Objects that are not needed by every app are created on first use, to keep startup fast
     RegistryBuilder registryBuilder = Registries.registry()
       .add(Stopper.class, stopper)
-      .add(MimeTypes.class, new ActivationBackedMimeTypes())
+      .add(MimeTypes.class, (Factory<MimeTypes>) ActivationBackedMimeTypes::new)
       .add(PublicAddress.class, new DefaultPublicAddress(launchConfig.getPublicAddress(), launchConfig.getSSLContext() == null ? HTTP_SCHEME : HTTPS_SCHEME))
       .add(Redirector.class, new DefaultRedirector())
       .add(ClientErrorHandler.class, new DefaultClientErrorHandler())
       .add(ServerErrorHandler.class, new DefaultServerErrorHandler())
       .add(LaunchConfig.class, launchConfig)
-      .add(FileRenderer.class, new DefaultFileRenderer())
-      .add(ServerSentEventsRenderer.TYPE, new ServerSentEventsRenderer(launchConfig.getBufferAllocator()))
-      .add(HttpResponseChunksRenderer.TYPE, new HttpResponseChunksRenderer())
+      .add(FileRenderer.class, (Factory<FileRenderer>) DefaultFileRenderer::new)
+      .add(ServerSentEventsRenderer.TYPE, (Factory<ServerSentEventsRenderer>) () -> new ServerSentEventsRenderer(launchConfig.getBufferAllocator()))
+      .add(HttpResponseChunksRenderer.TYPE, (Factory<HttpResponseChunksRenderer>) HttpResponseChunksRenderer::new)
       .add(CharSequenceRenderer.class, new DefaultCharSequenceRenderer())
-      .add(FormParser.class, FormParser.multiPart())
-      .add(FormParser.class, FormParser.urlEncoded())
-      .add(HttpClient.class, HttpClients.httpClient(launchConfig));
+      .add(FormParser.class, (Factory<FormParser>) FormParser::multiPart)
+      .add(FormParser.class, (Factory<FormParser>) FormParser::urlEncoded)
+      .add(HttpClient.class, (Factory<HttpClient>) () -> HttpClients.httpClient(launchConfig));
 
     if (launchConfig.isHasBaseDir()) {
       registryBuilder.add(FileSystemBinding.class, launchConfig.getBaseDir());
     }
 
+    if (startupTimeline != null) {
+      registryBuilder.add(StartupTimeline.class, startupTimeline);
+    }
+
     return registryBuilder.build();
   }
 
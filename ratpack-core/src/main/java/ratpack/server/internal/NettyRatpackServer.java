@@ -78,27 +78,31 @@ public class NettyRatpackServer implements RatpackServer {
         }
       };
 
-      ServerBootstrap bootstrap = new ServerBootstrap();
+      DefaultStartupTimeline timeline = new DefaultStartupTimeline();
+      channel = timeline.during(() -> {
+        ServerBootstrap bootstrap = new ServerBootstrap();
 
-      ChannelInitializer<SocketChannel> channelInitializer = channelInitializerTransformer.apply(stopper);
+        ChannelInitializer<SocketChannel> channelInitializer = channelInitializerTransformer.apply(stopper);
 
-      bootstrap
-        .group(launchConfig.getExecController().getEventLoopGroup())
-        .childHandler(channelInitializer)
-        .channel(NioServerSocketChannel.class)
-        .childOption(ChannelOption.ALLOCATOR, launchConfig.getBufferAllocator());
+        bootstrap
+          .group(launchConfig.getExecController().getEventLoopGroup())
+          .childHandler(channelInitializer)
+          .channel(NioServerSocketChannel.class)
+          .childOption(ChannelOption.ALLOCATOR, launchConfig.getBufferAllocator());
 
-      if (System.getProperty("io.netty.leakDetectionLevel", null) == null) {
-        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.DISABLED);
-      }
+        if (System.getProperty("io.netty.leakDetectionLevel", null) == null) {
+          ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.DISABLED);
+        }
 
-      channel = bootstrap.bind(buildSocketAddress()).sync().channel();
+        return DefaultStartupTimeline.phase("bind", () -> bootstrap.bind(buildSocketAddress()).sync().channel());
+      });
 
       boundAddress = (InetSocketAddress) channel.localAddress();
 
       if (logger.isInfoEnabled()) {
         logger.info(String.format("Ratpack started for http://%s:%s", getBindHost(), getBindPort()));
       }
+      timeline.started();
       running.set(true);
     } catch (Exception e) {
       Throwables.propagateIfInstanceOf(e, BaseDirRequiredException.class);
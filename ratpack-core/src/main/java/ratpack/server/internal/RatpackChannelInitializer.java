@@ -54,6 +54,7 @@ public class RatpackChannelInitializer extends ChannelInitializer<SocketChannel>
       pipeline.addLast("ssl", new SslHandler(engine));
     }
 
+    pipeline.addLast("http2", new Http2PriorKnowledgeHandler());
     pipeline.addLast("decoder", new HttpRequestDecoder(4096, 8192, 8192, false));
     pipeline.addLast("aggregator", new HttpObjectAggregator(maxContentLength));
     pipeline.addLast("encoder", new HttpResponseEncoder());
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.stream.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ratpack.api.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the content of an input stream, as chunks read into buffers from an allocator.
+ * <p>
+ * Reads are performed on the given executor, as they may block, and only while there is outstanding demand.
+ * The input stream is closed once it has been fully read, if reading fails, or if the subscription is cancelled.
+ * <p>
+ * A chunk that has already been read from the stream can be given, which is published before anything else is read.
+ */
+public class InputStreamPublisher implements Publisher<ByteBuf> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(InputStreamPublisher.class);
+
+  private final Executor executor;
+  private final ByteBufAllocator allocator;
+  private final int chunkSize;
+  private final InputStream inputStream;
+  private final ByteBuf first;
+
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+
+  public InputStreamPublisher(Executor executor, ByteBufAllocator allocator, int chunkSize, InputStream inputStream) {
+    this(executor, allocator, chunkSize, inputStream, null);
+  }
+
+  public InputStreamPublisher(Executor executor, ByteBufAllocator allocator, int chunkSize, InputStream inputStream, @Nullable ByteBuf first) {
+    this.executor = executor;
+    this.allocator = allocator;
+    this.chunkSize = chunkSize;
+    this.inputStream = inputStream;
+    this.first = first;
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super ByteBuf> subscriber) {
+    if (subscribed.compareAndSet(false, true)) {
+      new Subscription(subscriber);
+    } else {
+      subscriber.onError(new IllegalStateException("The content of an input stream can only be published once"));
+    }
+  }
+
+  private class Subscription extends SubscriptionSupport<ByteBuf> implements Runnable {
+
+    // Reading is in progress while there is outstanding demand, so only one thread reads at a time
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    // only accessed by the reader
+    private ByteBuf pending = first;
+
+    public Subscription(Subscriber<? super ByteBuf> subscriber) {
+      super(subscriber);
+      start();
+    }
+
+    @Override
+    protected void doRequest(long n) {
+      addDemand(n);
+    }
+
+    @Override
+    protected void doCancel() {
+      // Wakes the reader if it is idle, so that it closes the stream
+      addDemand(1);
+    }
+
+    private void addDemand(long n) {
+      long current;
+      long next;
+      do {
+        current = demand.get();
+        next = current + n < 0 ? Long.MAX_VALUE : current + n;
+      } while (!demand.compareAndSet(current, next));
+      if (current == 0) {
+        executor.execute(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      do {
+        if (isStopped()) {
+          if (pending != null) {
+            pending.release();
+            pending = null;
+          }
+          close();
+          return;
+        }
+
+        if (pending != null) {
+          onNext(pending);
+          pending = null;
+          continue;
+        }
+
+        ByteBuf chunk = allocator.buffer(chunkSize, chunkSize);
+        int read;
+        try {
+          read = chunk.writeBytes(inputStream, chunkSize);
+        } catch (Throwable e) {
+          chunk.release();
+          close();
+          onError(e);
+          return;
+        }
+
+        if (read < 0) {
+          chunk.release();
+          close();
+          onComplete();
+          return;
+        }
+
+        onNext(chunk);
+      } while (demand.decrementAndGet() > 0);
+    }
+
+    private void close() {
+      if (closed.compareAndSet(false, true)) {
+        try {
+          inputStream.close();
+        } catch (IOException e) {
+          LOGGER.warn("exception raised closing input stream", e);
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.stream.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import ratpack.func.Action;
+import ratpack.util.internal.ChunkedByteBufOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes the output of an action that writes characters, as chunks of encoded bytes.
+ * <p>
+ * The action is run on the given executor once demand is first signalled.
+ * The writing thread blocks while there is no outstanding demand, and writing is aborted if the subscription is cancelled.
+ */
+public class WriterPublisher implements Publisher<ByteBuf> {
+
+  private final Executor executor;
+  private final ByteBufAllocator allocator;
+  private final int chunkSize;
+  private final Charset charset;
+  private final Action<? super Writer> action;
+
+  public WriterPublisher(Executor executor, ByteBufAllocator allocator, int chunkSize, Charset charset, Action<? super Writer> action) {
+    this.executor = executor;
+    this.allocator = allocator;
+    this.chunkSize = chunkSize;
+    this.charset = charset;
+    this.action = action;
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super ByteBuf> subscriber) {
+    new Subscription(subscriber);
+  }
+
+  private class Subscription extends SubscriptionSupport<ByteBuf> implements Runnable {
+
+    private final Object lock = new Object();
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private long demand;
+
+    public Subscription(Subscriber<? super ByteBuf> subscriber) {
+      super(subscriber);
+      start();
+    }
+
+    @Override
+    protected void doRequest(long n) {
+      synchronized (lock) {
+        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        lock.notifyAll();
+      }
+      if (writing.compareAndSet(false, true)) {
+        executor.execute(this);
+      }
+    }
+
+    @Override
+    protected void doCancel() {
+      synchronized (lock) {
+        lock.notifyAll();
+      }
+    }
+
+    @Override
+    public void run() {
+      ChunkedByteBufOutputStream out = new ChunkedByteBufOutputStream(allocator, chunkSize, this::emit);
+      try {
+        Writer writer = new OutputStreamWriter(out, charset);
+        action.execute(writer);
+        writer.close();
+        onComplete();
+      } catch (Throwable e) {
+        out.discard();
+        onError(e);
+      }
+    }
+
+    private void emit(ByteBuf chunk) throws IOException {
+      synchronized (lock) {
+        while (demand == 0 && !isStopped()) {
+          try {
+            lock.wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            break;
+          }
+        }
+        if (demand == 0 || isStopped()) {
+          chunk.release();
+          throw new IOException("Subscription cancelled");
+        }
+        --demand;
+      }
+      onNext(chunk);
+    }
+  }
+
+}
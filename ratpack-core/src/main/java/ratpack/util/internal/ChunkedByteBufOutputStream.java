@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.util.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import ratpack.func.Action;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream that writes into fixed size buffers obtained from an allocator, handing each one off as it fills.
+ * <p>
+ * Ownership of each chunk passes to the consumer. A partially filled chunk is handed off on {@link #close()}.
+ */
+public class ChunkedByteBufOutputStream extends OutputStream {
+
+  public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+  private final ByteBufAllocator allocator;
+  private final int chunkSize;
+  private final Action<? super ByteBuf> chunkConsumer;
+
+  private ByteBuf current;
+  private boolean closed;
+
+  public ChunkedByteBufOutputStream(ByteBufAllocator allocator, int chunkSize, Action<? super ByteBuf> chunkConsumer) {
+    this.allocator = allocator;
+    this.chunkSize = chunkSize;
+    this.chunkConsumer = chunkConsumer;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    chunk().writeByte(b);
+    if (!current.isWritable()) {
+      emit();
+    }
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    while (len > 0) {
+      ByteBuf chunk = chunk();
+      int n = Math.min(len, chunk.writableBytes());
+      chunk.writeBytes(b, off, n);
+      off += n;
+      len -= n;
+      if (!chunk.isWritable()) {
+        emit();
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      if (current != null) {
+        if (current.isReadable()) {
+          emit();
+        } else {
+          discard();
+        }
+      }
+    }
+  }
+
+  /**
+   * Releases any chunk that has not yet been handed off, without handing it off.
+   */
+  public void discard() {
+    closed = true;
+    if (current != null) {
+      current.release();
+      current = null;
+    }
+  }
+
+  private ByteBuf chunk() throws IOException {
+    if (closed) {
+      throw new IOException("Stream is closed");
+    }
+    if (current == null) {
+      current = allocator.buffer(chunkSize, chunkSize);
+    }
+    return current;
+  }
+
+  private void emit() throws IOException {
+    ByteBuf chunk = current;
+    current = null;
+    try {
+      chunkConsumer.execute(chunk);
+    } catch (IOException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
+  }
+
+}
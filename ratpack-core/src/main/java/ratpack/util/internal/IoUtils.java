@@ -17,6 +17,7 @@
 package ratpack.util.internal;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.util.CharsetUtil;
 
@@ -55,6 +56,108 @@ public abstract class IoUtils {
     return Unpooled.copiedBuffer(str, CharsetUtil.UTF_8);
   }
 
+  /**
+   * Encodes the given characters as UTF-8 into a buffer of exactly the right size from the given allocator.
+   * <p>
+   * Unlike {@link #utf8Bytes(String)}, no intermediate byte array is created.
+   * Unpaired surrogates are encoded as {@code '?'}, as {@link String#getBytes(java.nio.charset.Charset)} does.
+   *
+   * @param allocator the allocator to obtain the buffer from
+   * @param chars the characters to encode
+   * @return a buffer containing the encoded characters, owned by the caller
+   */
+  public static ByteBuf utf8Buffer(ByteBufAllocator allocator, CharSequence chars) {
+    int length = utf8Length(chars);
+    ByteBuf buffer = allocator.buffer(length, length);
+    writeUtf8(buffer, chars, length);
+    return buffer;
+  }
+
+  /**
+   * Encodes the given characters as UTF-8 onto the end of the given buffer, expanding it if necessary.
+   *
+   * @param buffer the buffer to write to
+   * @param chars the characters to encode
+   */
+  public static void writeUtf8(ByteBuf buffer, CharSequence chars) {
+    writeUtf8(buffer, chars, utf8Length(chars));
+  }
+
+  private static void writeUtf8(ByteBuf buffer, CharSequence chars, int length) {
+    if (length == 0) {
+      return;
+    }
+    buffer.ensureWritable(length);
+    int writerIndex = buffer.writerIndex();
+    if (buffer.nioBufferCount() != 1) {
+      buffer.writeBytes(chars.toString().getBytes(CharsetUtil.UTF_8));
+      return;
+    }
+
+    ByteBuffer out = buffer.internalNioBuffer(writerIndex, length);
+    int charCount = chars.length();
+    if (length == charCount) {
+      // only ascii, or lone surrogates which encode as a single byte
+      for (int i = 0; i < charCount; ++i) {
+        char c = chars.charAt(i);
+        out.put(c < 0x80 ? (byte) c : (byte) '?');
+      }
+    } else {
+      for (int i = 0; i < charCount; ++i) {
+        char c = chars.charAt(i);
+        if (c < 0x80) {
+          out.put((byte) c);
+        } else if (c < 0x800) {
+          out.put((byte) (0xc0 | (c >> 6)));
+          out.put((byte) (0x80 | (c & 0x3f)));
+        } else if (Character.isSurrogate(c)) {
+          if (Character.isHighSurrogate(c) && i + 1 < charCount && Character.isLowSurrogate(chars.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+            out.put((byte) (0xf0 | (codePoint >> 18)));
+            out.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+            out.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+            out.put((byte) (0x80 | (codePoint & 0x3f)));
+          } else {
+            out.put((byte) '?');
+          }
+        } else {
+          out.put((byte) (0xe0 | (c >> 12)));
+          out.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+          out.put((byte) (0x80 | (c & 0x3f)));
+        }
+      }
+    }
+    buffer.writerIndex(writerIndex + length);
+  }
+
+  /**
+   * The number of bytes needed to encode the given characters as UTF-8.
+   *
+   * @param chars the characters
+   * @return the number of bytes needed to encode them
+   */
+  public static int utf8Length(CharSequence chars) {
+    int charCount = chars.length();
+    int length = charCount;
+    for (int i = 0; i < charCount; ++i) {
+      char c = chars.charAt(i);
+      if (c >= 0x80) {
+        if (c < 0x800) {
+          length += 1;
+        } else if (Character.isSurrogate(c)) {
+          if (Character.isHighSurrogate(c) && i + 1 < charCount && Character.isLowSurrogate(chars.charAt(i + 1))) {
+            // 4 bytes for the pair
+            length += 2;
+            ++i;
+          }
+        } else {
+          length += 2;
+        }
+      }
+    }
+    return length;
+  }
+
   public static byte[] utf8Bytes(String str) {
     return str.getBytes(CharsetUtil.UTF_8);
   }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.exec
+
+import ratpack.launch.LaunchConfigBuilder
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class CoalescerSpec extends Specification {
+
+  @AutoCleanup
+  ExecController controller
+  ExecControl control
+  List<Object> events = [].asSynchronized()
+  def invocations = new AtomicInteger()
+
+  def setup() {
+    controller = LaunchConfigBuilder.noBaseDir().build().execController
+    control = controller.control
+  }
+
+  def request(Coalescer<String, Integer> coalescer, String key, Closure<Integer> operation = { invocations.get() }) {
+    def latch = new CountDownLatch(1)
+    control.fork({
+      coalescer.coalesce(key, {
+        invocations.incrementAndGet()
+        control.blocking(operation)
+      }).onError {
+        events << it.message
+      } then {
+        events << it
+      }
+    }, { events << it }, {
+      events << "complete"
+      latch.countDown()
+    })
+    latch
+  }
+
+  def "concurrent callers share the result of a single operation"() {
+    given:
+    def coalescer = control.<String, Integer> coalescer(Duration.ZERO)
+    def release = new CountDownLatch(1)
+    def operation = {
+      release.await()
+      42
+    }
+
+    when:
+    def latches = (1..5).collect { request(coalescer, "a", operation) }
+    sleep 500
+    release.countDown()
+    latches*.await(10, TimeUnit.SECONDS)
+
+    then:
+    invocations.get() == 1
+    events.findAll { it == 42 }.size() == 5
+    // each result is delivered on the caller's execution, before it completes
+    events == [42, "complete"] * 5
+  }
+
+  def "operations are only shared by callers of the same key"() {
+    given:
+    def coalescer = control.<String, Integer> coalescer(Duration.ofMinutes(1))
+
+    when:
+    request(coalescer, "a").await()
+    request(coalescer, "b").await()
+    request(coalescer, "a").await()
+
+    then:
+    invocations.get() == 2
+    events == [1, "complete", 2, "complete", 1, "complete"]
+  }
+
+  def "results are not retained by default"() {
+    given:
+    def coalescer = control.<String, Integer> coalescer(Duration.ZERO)
+
+    when:
+    request(coalescer, "a").await()
+    request(coalescer, "a").await()
+
+    then:
+    events == [1, "complete", 2, "complete"]
+  }
+
+  def "results are retained for the given time"() {
+    given:
+    def coalescer = control.<String, Integer> coalescer(Duration.ofMillis(200))
+
+    when:
+    request(coalescer, "a").await()
+    request(coalescer, "a").await()
+    sleep 400
+    request(coalescer, "a").await()
+
+    then:
+    events == [1, "complete", 1, "complete", 2, "complete"]
+  }
+
+  def "failures are shared but not retained"() {
+    given:
+    def coalescer = control.<String, Integer> coalescer(Duration.ofMinutes(1))
+    def failing = { throw new IllegalStateException("failed " + invocations.get()) }
+
+    when:
+    request(coalescer, "a", failing).await()
+    request(coalescer, "a", failing).await()
+
+    then:
+    events == ["failed 1", "complete", "failed 2", "complete"]
+  }
+
+  def "failure to create operation is propagated"() {
+    given:
+    def coalescer = control.<String, Integer> coalescer(Duration.ZERO)
+    def latch = new CountDownLatch(1)
+
+    when:
+    control.fork({
+      coalescer.coalesce("a", { throw new IllegalStateException("no operation") }).onError {
+        events << it.message
+      } then {
+        events << it
+      }
+    }, { events << it }, {
+      events << "complete"
+      latch.countDown()
+    })
+    latch.await()
+
+    then:
+    events == ["no operation", "complete"]
+  }
+
+}
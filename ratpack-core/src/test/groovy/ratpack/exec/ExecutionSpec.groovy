@@ -23,11 +23,13 @@ import ratpack.exec.internal.MultiplePromiseSubscriptionException
 import ratpack.func.Action
 import ratpack.func.Actions
 import ratpack.launch.LaunchConfigBuilder
+import ratpack.stream.Streams
 import spock.lang.AutoCleanup
 import spock.lang.Specification
 import spock.lang.Unroll
 
 import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.concurrent.atomic.AtomicLong
 
 class ExecutionSpec extends Specification {
@@ -268,6 +270,48 @@ class ExecutionSpec extends Specification {
     ]
   }
 
+  def "stream elements published while delivering an element are delivered in the same segment"() {
+    given:
+    def segments = new AtomicInteger()
+    def received = []
+
+    when:
+    exec { e ->
+      e.addInterceptor({ type, continuation -> segments.incrementAndGet(); continuation.run() } as ExecInterceptor) {
+        e.stream(Streams.publish(1..1000), new Subscriber<Integer>() {
+          Subscription subscription
+
+          @Override
+          void onSubscribe(Subscription subscription) {
+            this.subscription = subscription
+            subscription.request(1)
+          }
+
+          @Override
+          void onNext(Integer element) {
+            received << element
+            subscription.request(1)
+          }
+
+          @Override
+          void onComplete() {
+            events << "stream-complete"
+          }
+
+          @Override
+          void onError(Throwable cause) {
+            events << cause
+          }
+        })
+      }
+    }
+
+    then:
+    received == (1..1000).toList()
+    events == ["stream-complete", "complete"]
+    segments.get() < 10
+  }
+
   @Unroll
   def "cannot subscribe to promise more than once"() {
     when:
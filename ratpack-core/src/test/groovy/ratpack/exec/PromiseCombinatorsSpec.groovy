@@ -0,0 +1,267 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.exec
+
+import ratpack.func.Action
+import ratpack.func.Actions
+import ratpack.func.Pair
+import ratpack.launch.LaunchConfigBuilder
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
+
+class PromiseCombinatorsSpec extends Specification {
+
+  @AutoCleanup
+  ExecController controller
+  List<Object> events = [].asSynchronized()
+  def latch = new CountDownLatch(1)
+
+  def setup() {
+    controller = LaunchConfigBuilder.noBaseDir().build().execController
+  }
+
+  def exec(Action<? super ExecControl> action, Action<? super Throwable> onError = Actions.noop()) {
+    controller.control.fork({
+      action.execute(it.control)
+    }, onError, {
+      events << "complete"
+      latch.countDown()
+    })
+    latch.await()
+  }
+
+  def "can produce values of all promises concurrently"() {
+    given:
+    def started = new CountDownLatch(3)
+
+    when:
+    exec { e ->
+      def promises = (1..3).collect { i ->
+        e.blocking {
+          started.countDown()
+          // each operation only completes once all have started, so this would never complete if they were performed one at a time
+          assert started.await(10, java.util.concurrent.TimeUnit.SECONDS)
+          i
+        }
+      }
+      e.all(promises).then { events << it }
+    }
+
+    then:
+    events == [[1, 2, 3], "complete"]
+  }
+
+  def "all of no promises is an empty list"() {
+    when:
+    exec { e ->
+      e.all([]).then { events << it }
+    }
+
+    then:
+    events == [[], "complete"]
+  }
+
+  def "all fails with the first error"() {
+    given:
+    def ex = new RuntimeException("!")
+
+    when:
+    exec { e ->
+      e.all([e.blocking { "foo" }, e.promise { it.error(ex) }])
+        .onError { events << it }
+        .then { events << "shouldn't get here" }
+    }
+
+    then:
+    events == [ex, "complete"]
+  }
+
+  def "can produce a pair of values concurrently"() {
+    when:
+    exec { e ->
+      e.all(e.blocking { "foo" }, e.blocking { 1 }).then { events << it }
+    }
+
+    then:
+    events == [Pair.of("foo", 1), "complete"]
+  }
+
+  def "any completes with the first outcome"() {
+    given:
+    def ex = new RuntimeException("!")
+
+    when:
+    exec { e ->
+      e.any([e.promise {}, e.promise { it.error(ex) }])
+        .onError { events << it }
+        .then { events << "shouldn't get here" }
+    }
+
+    then:
+    events == [ex, "complete"]
+  }
+
+  def "first success ignores errors"() {
+    when:
+    exec { e ->
+      e.firstSuccess([e.promise { it.error(new RuntimeException("!")) }, e.blocking { sleep 100; "foo" }]).then { events << it }
+    }
+
+    then:
+    events == ["foo", "complete"]
+  }
+
+  def "first success fails when all promises fail"() {
+    given:
+    def ex1 = new RuntimeException("1")
+    def ex2 = new RuntimeException("2")
+
+    when:
+    exec { e ->
+      e.firstSuccess([e.promise { it.error(ex1) }, e.blocking { sleep 100; throw ex2 }])
+        .onError { events << it << it.suppressed.toList() }
+        .then { events << "shouldn't get here" }
+    }
+
+    then:
+    events == [ex1, [ex2], "complete"]
+  }
+
+  def "promise fails if not fulfilled in time"() {
+    when:
+    exec { e ->
+      e.promise {}
+        .timeout(Duration.ofMillis(50))
+        .onError { events << it.class }
+        .then { events << "shouldn't get here" }
+    }
+
+    then:
+    events == [TimeoutException, "complete"]
+  }
+
+  def "late completion of a timed out transformed promise does not resume the execution"() {
+    when:
+    exec({ e ->
+      e.blocking { sleep 200; "slow" }
+        .map { it.toUpperCase() }
+        .timeout(Duration.ofMillis(50))
+        .onError {
+          events << it.class
+          e.blocking { sleep 300; "next" }.then { events << it }
+        }
+        .then { events << "shouldn't get here" }
+    }, { events << it })
+
+    then:
+    events == [TimeoutException, "next", "complete"]
+  }
+
+  def "late completion of a timed out flat mapped promise does not resume the execution"() {
+    when:
+    exec({ e ->
+      e.blocking { "fast" }
+        .flatMap { v -> e.blocking { sleep 200; v } }
+        .timeout(Duration.ofMillis(50))
+        .onError {
+          events << it.class
+          e.blocking { sleep 300; "next" }.then { events << it }
+        }
+        .then { events << "shouldn't get here" }
+    }, { events << it })
+
+    then:
+    events == [TimeoutException, "next", "complete"]
+  }
+
+  def "timeout stops retries"() {
+    given:
+    def attempts = new AtomicInteger()
+
+    when:
+    exec({ e ->
+      e.blocking { throw new IllegalStateException("attempt ${attempts.incrementAndGet()}") }
+        .retry(5, Duration.ofMillis(100))
+        .timeout(Duration.ofMillis(200))
+        .onError {
+          events << it.class
+          e.blocking { sleep 400; "next" }.then { events << it }
+        }
+        .then { events << "shouldn't get here" }
+    }, { events << it })
+
+    then:
+    events == [TimeoutException, "next", "complete"]
+    attempts.get() == 2
+  }
+
+  def "promise fulfilled in time is not affected by timeout"() {
+    when:
+    exec { e ->
+      e.blocking { "foo" }
+        .timeout(Duration.ofSeconds(10))
+        .map { it.toUpperCase() }
+        .then { events << it }
+    }
+
+    then:
+    events == ["FOO", "complete"]
+  }
+
+  def "can retry failing operation"() {
+    given:
+    def attempts = new AtomicInteger()
+
+    when:
+    exec { e ->
+      e.blocking {
+        if (attempts.incrementAndGet() < 3) {
+          throw new IllegalStateException("attempt $attempts")
+        }
+        "foo"
+      }
+        .retry(3, Duration.ofMillis(10))
+        .then { events << it }
+    }
+
+    then:
+    attempts.get() == 3
+    events == ["foo", "complete"]
+  }
+
+  def "error of last attempt is propagated"() {
+    given:
+    def attempts = new AtomicInteger()
+
+    when:
+    exec { e ->
+      e.blocking { throw new IllegalStateException("attempt ${attempts.incrementAndGet()}") }
+        .retry(2, Duration.ofMillis(10))
+        .onError { events << it.message }
+        .then { events << "shouldn't get here" }
+    }
+
+    then:
+    events == ["attempt 2", "complete"]
+  }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.handling
+
+import ratpack.exec.Fulfiller
+import ratpack.test.internal.RatpackGroovyDslSpec
+
+import java.time.Duration
+import java.util.concurrent.*
+
+class ConcurrencyLimitingSpec extends RatpackGroovyDslSpec {
+
+  def executor = Executors.newCachedThreadPool()
+  def pending = new LinkedBlockingQueue<Fulfiller<String>>()
+
+  def cleanup() {
+    executor.shutdownNow()
+  }
+
+  Handler hanging() {
+    { Context context ->
+      context.promise { pending.put(it) } then { context.render it }
+    } as Handler
+  }
+
+  Future<String> request(String path = "") {
+    def url = new URL("${applicationUnderTest.address}$path")
+    executor.submit({
+      def connection = (HttpURLConnection) url.openConnection()
+      connection.responseCode == 200 ? connection.inputStream.text : connection.responseCode.toString()
+    } as Callable<String>)
+  }
+
+  static void await(Closure<Boolean> condition) {
+    def deadline = System.currentTimeMillis() + 5000
+    while (!condition()) {
+      assert System.currentTimeMillis() < deadline
+      sleep 10
+    }
+  }
+
+  def "rejects requests over the limit"() {
+    given:
+    def limiter = ConcurrencyLimiterBuilder.limit(1).build()
+
+    when:
+    handlers {
+      handler(Handlers.concurrencyLimit(limiter, hanging()))
+    }
+
+    and:
+    def first = request()
+    def fulfiller = pending.poll(5, TimeUnit.SECONDS)
+
+    then:
+    limiter.inFlight == 1
+    get().statusCode == 503
+
+    when:
+    fulfiller.success("ok")
+
+    then:
+    first.get() == "ok"
+    await { limiter.inFlight == 0 }
+    limiter.accepted == 1
+    limiter.rejected == 1
+  }
+
+  def "queued requests are admitted when capacity is available"() {
+    given:
+    def limiter = ConcurrencyLimiterBuilder.limit(1).queue(1, Duration.ofSeconds(10)).build()
+
+    when:
+    handlers {
+      handler(Handlers.concurrencyLimit(limiter, hanging()))
+    }
+
+    and:
+    def first = request()
+    def firstFulfiller = pending.poll(5, TimeUnit.SECONDS)
+    def second = request()
+    await { limiter.queued == 1 }
+
+    then:
+    request().get() == "503"
+
+    when:
+    firstFulfiller.success("first")
+    pending.poll(5, TimeUnit.SECONDS).success("second")
+
+    then:
+    first.get() == "first"
+    second.get() == "second"
+    limiter.queued == 0
+    limiter.accepted == 2
+    limiter.rejected == 1
+  }
+
+  def "queued requests are rejected after waiting too long"() {
+    given:
+    def limiter = ConcurrencyLimiterBuilder.limit(1).queue(1, Duration.ofMillis(100)).build()
+
+    when:
+    handlers {
+      handler(Handlers.concurrencyLimit(limiter, hanging()))
+    }
+
+    and:
+    request()
+    def fulfiller = pending.poll(5, TimeUnit.SECONDS)
+
+    then:
+    get().statusCode == 503
+    limiter.queued == 0
+    limiter.rejected == 1
+
+    cleanup:
+    fulfiller?.success("ok")
+  }
+
+  def "adapts limit to latency"() {
+    given:
+    def limiter = ConcurrencyLimiterBuilder.limit(10).adaptive(2, 12, Duration.ofMillis(100)).build()
+
+    when:
+    3.times {
+      assert limiter.tryAcquire()
+    }
+    3.times {
+      limiter.release(TimeUnit.SECONDS.toNanos(1))
+    }
+
+    then:
+    limiter.limit == 7
+
+    when:
+    10.times {
+      limiter.tryAcquire()
+      limiter.release(TimeUnit.SECONDS.toNanos(1))
+    }
+
+    then:
+    limiter.limit == 2
+
+    when:
+    20.times {
+      while (limiter.tryAcquire()) {
+      }
+      limiter.release(TimeUnit.MILLISECONDS.toNanos(10))
+    }
+
+    then:
+    limiter.limit == 12
+
+    when:
+    while (limiter.inFlight > 0) {
+      limiter.release(TimeUnit.MILLISECONDS.toNanos(10))
+    }
+    limiter.tryAcquire()
+    limiter.release(TimeUnit.MILLISECONDS.toNanos(10))
+
+    then:
+    limiter.limit == 12
+    limiter.inFlight == 0
+  }
+
+  def "can limit concurrent requests for the whole application"() {
+    given:
+    launchConfig {
+      maxConcurrentRequests 1
+    }
+
+    when:
+    handlers {
+      get("limiter") { render "${get(ConcurrencyLimiter).limit}" }
+      handler(hanging())
+    }
+
+    and:
+    def first = request()
+    def fulfiller = pending.poll(5, TimeUnit.SECONDS)
+
+    then:
+    get("limiter").statusCode == 503
+
+    when:
+    fulfiller.success("ok")
+
+    then:
+    first.get() == "ok"
+    await { getText("limiter") == "1" }
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.handling
+
+import ratpack.test.internal.RatpackGroovyDslSpec
+
+class HandlerProfilingSpec extends RatpackGroovyDslSpec {
+
+  static class BlockingHandler implements Handler {
+    @Override
+    void handle(Context context) throws Exception {
+      context.blocking { sleep 100; "ok" } then { context.render it }
+    }
+  }
+
+  def "handler profiles are not available by default"() {
+    when:
+    handlers {
+      get("profiles", Handlers.handlerProfiles())
+    }
+
+    then:
+    with(get("profiles")) {
+      statusCode == 404
+    }
+  }
+
+  def "can profile handlers"() {
+    given:
+    launchConfig {
+      profileHandlers true
+    }
+
+    when:
+    handlers {
+      get("profiles", Handlers.handlerProfiles())
+      get("blocking", new BlockingHandler())
+    }
+
+    and:
+    2.times { assert getText("blocking") == "ok" }
+
+    then:
+    def profile = getText("profiles").readLines().find { it.endsWith(BlockingHandler.name) }.trim().split(/\s+/)
+    profile[0].toLong() == 2
+    profile[2].toDouble() >= 200
+    profile[3].toDouble() >= 200
+  }
+
+  def "can access profiler from registry"() {
+    given:
+    launchConfig {
+      profileHandlers true
+    }
+
+    when:
+    handlers {
+      get { HandlerProfiler profiler ->
+        render profiler.profiles.find { it.description == BlockingHandler.name }?.invocations?.toString()
+      }
+      get("blocking", new BlockingHandler())
+    }
+
+    and:
+    getText("blocking")
+
+    then:
+    text == "1"
+  }
+
+}
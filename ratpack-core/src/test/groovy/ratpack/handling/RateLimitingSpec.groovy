@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.handling
+
+import ratpack.handling.internal.DefaultRateLimiter
+import ratpack.test.internal.RatpackGroovyDslSpec
+
+import java.util.concurrent.TimeUnit
+
+class RateLimitingSpec extends RatpackGroovyDslSpec {
+
+  def "rejects requests over the rate with retry after"() {
+    given:
+    def limiter = RateLimiterBuilder.perSecond(0.1).burst(2).build()
+
+    when:
+    handlers {
+      handler(Handlers.rateLimit(limiter, Handlers.next()))
+      get { render "ok" }
+    }
+
+    then:
+    text == "ok"
+    text == "ok"
+
+    when:
+    def response = get()
+
+    then:
+    response.statusCode == 429
+    response.headers.get("Retry-After").toInteger() in 1..10
+    limiter.allowed == 2
+    limiter.rejected == 1
+    limiter.keys == 1
+  }
+
+  def "limits each key separately"() {
+    given:
+    def limiter = RateLimiterBuilder.perSecond(0.1).burst(1).keyByHeader("X-Api-Key").build()
+
+    when:
+    handlers {
+      get(Handlers.rateLimit(limiter, { it.render "ok" } as Handler))
+    }
+
+    then:
+    requestSpec { it.headers.set("X-Api-Key", "a") }
+    text == "ok"
+    get().statusCode == 429
+
+    when:
+    resetRequest()
+    requestSpec { it.headers.set("X-Api-Key", "b") }
+
+    then:
+    text == "ok"
+    get().statusCode == 429
+
+    when:
+    resetRequest()
+
+    then:
+    text == "ok"
+    text == "ok"
+    limiter.keys == 2
+  }
+
+  def "can key by path token"() {
+    given:
+    def limiter = RateLimiterBuilder.perSecond(0.1).burst(1).keyByPathToken("user").build()
+
+    when:
+    handlers {
+      get(":user", Handlers.rateLimit(limiter, { it.render it.pathTokens.user } as Handler))
+    }
+
+    then:
+    getText("a") == "a"
+    get("a").statusCode == 429
+    getText("b") == "b"
+  }
+
+  def "bucket refills at rate"() {
+    given:
+    def limiter = (DefaultRateLimiter) RateLimiterBuilder.perSecond(10).burst(2).build()
+    def now = 0L
+    def second = TimeUnit.SECONDS.toNanos(1)
+
+    expect:
+    limiter.tryAcquire("a", now) == 0
+    limiter.tryAcquire("a", now) == 0
+    limiter.tryAcquire("a", now) == second.intdiv(10)
+
+    when:
+    now += second.intdiv(20)
+
+    then:
+    limiter.tryAcquire("a", now) == second.intdiv(20)
+
+    when:
+    now += second.intdiv(20)
+
+    then:
+    limiter.tryAcquire("a", now) == 0
+    limiter.tryAcquire("a", now) > 0
+
+    when:
+    now += second
+
+    then:
+    limiter.tryAcquire("a", now) == 0
+    limiter.tryAcquire("a", now) == 0
+    limiter.tryAcquire("a", now) > 0
+  }
+
+  def "bucket is full at any start time"() {
+    given:
+    def limiter = (DefaultRateLimiter) RateLimiterBuilder.perSecond(1).burst(1).build()
+
+    expect:
+    limiter.tryAcquire("a", now) == 0
+    limiter.tryAcquire("a", now) > 0
+
+    where:
+    now << [Long.MIN_VALUE + 1, -1, 0, Long.MAX_VALUE - TimeUnit.SECONDS.toNanos(10)]
+  }
+
+  def "requests without a key are not limited"() {
+    given:
+    def limiter = RateLimiterBuilder.perSecond(0.1).burst(1).keyByHeader("X-Api-Key").build()
+
+    when:
+    handlers {
+      handler(Handlers.rateLimit(limiter, Handlers.next()))
+      get { render "ok" }
+    }
+
+    then:
+    3.times { assert text == "ok" }
+    limiter.allowed == 0
+    limiter.keys == 0
+  }
+
+  def "limiter must be built by builder"() {
+    when:
+    Handlers.rateLimit([getAllowed: { 0 }, getRejected: { 0 }, getKeys: { 0 }] as RateLimiter, Handlers.next())
+
+    then:
+    thrown IllegalArgumentException
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.handling.internal
+
+import ratpack.exec.Fulfiller
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
+class DefaultConcurrencyLimiterSpec extends Specification {
+
+  @AutoCleanup("shutdownNow")
+  def scheduler = new ScheduledThreadPoolExecutor(1)
+
+  def limiter = new DefaultConcurrencyLimiter(1, 1, 1, 0, 1, TimeUnit.HOURS.toNanos(1))
+  def results = []
+
+  def setup() {
+    scheduler.removeOnCancelPolicy = true
+  }
+
+  Fulfiller<Boolean> fulfiller() {
+    [success: { results << it }, error: { throw it }] as Fulfiller<Boolean>
+  }
+
+  def "admitting a waiter cancels its deadline"() {
+    given:
+    limiter.tryAcquire()
+
+    when:
+    limiter.enqueue(fulfiller(), scheduler)
+
+    then:
+    scheduler.queue.size() == 1
+
+    when:
+    limiter.release(0)
+
+    then:
+    results == [true]
+    scheduler.queue.empty
+    limiter.inFlight == 1
+    limiter.queued == 0
+  }
+
+  def "waiter admitted while enqueueing does not leave a deadline behind"() {
+    when:
+    limiter.enqueue(fulfiller(), scheduler)
+
+    then:
+    results == [true]
+    scheduler.queue.empty
+  }
+
+}
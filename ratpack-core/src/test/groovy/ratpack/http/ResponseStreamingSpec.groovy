@@ -18,11 +18,14 @@ package ratpack.http
 
 import io.netty.buffer.Unpooled
 import io.netty.util.CharsetUtil
+import ratpack.error.DebugErrorHandler
+import ratpack.error.ServerErrorHandler
 import ratpack.test.internal.RatpackGroovyDslSpec
 import spock.lang.Ignore
 
 import java.util.concurrent.CountDownLatch
 import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
 
 import static ratpack.stream.Streams.*
 
@@ -116,4 +119,116 @@ class ResponseStreamingSpec extends RatpackGroovyDslSpec {
       read -= bytesRead
     }
   }
+
+  def "can send input stream in chunks"() {
+    given:
+    def bytes = (0..<20000).collect { (byte) (it % 128) } as byte[]
+    def closed = new CountDownLatch(1)
+    def inputStream = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+      @Override
+      void close() {
+        super.close()
+        closed.countDown()
+      }
+    }
+
+    when:
+    handlers {
+      get {
+        response.send(inputStream)
+      }
+    }
+
+    then:
+    def response = get()
+    response.headers.get("Content-Type") == "application/octet-stream"
+    response.body.bytes == bytes
+    closed.await(5, TimeUnit.SECONDS)
+  }
+
+  def "input stream that fits in one chunk is sent with a content length"() {
+    given:
+    def bytes = (0..<1000).collect { (byte) (it % 128) } as byte[]
+    def closed = new CountDownLatch(1)
+    def inputStream = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+      @Override
+      int read(byte[] b, int off, int len) throws IOException {
+        // Short reads, as from a socket or pipe
+        super.read(b, off, Math.min(len, 100))
+      }
+
+      @Override
+      void close() {
+        super.close()
+        closed.countDown()
+      }
+    }
+
+    when:
+    handlers {
+      get {
+        response.send(inputStream)
+      }
+    }
+
+    then:
+    def headers = http10ResponseHeaders()
+    headers.contains("Content-Length: 1000")
+    !headers.contains("Transfer-Encoding: chunked")
+    closed.await(5, TimeUnit.SECONDS)
+  }
+
+  def "input stream that can't be read is passed to the server error handler and closed"() {
+    given:
+    def closed = new CountDownLatch(1)
+    def inputStream = new InputStream() {
+      @Override
+      int read() throws IOException {
+        throw new IOException("can't read")
+      }
+
+      @Override
+      void close() {
+        closed.countDown()
+      }
+    }
+
+    when:
+    bindings {
+      bind ServerErrorHandler, DebugErrorHandler
+    }
+    handlers {
+      get {
+        response.send(inputStream)
+      }
+    }
+
+    then:
+    def response = get()
+    response.statusCode == 500
+    response.body.text.contains("can't read")
+    closed.await(5, TimeUnit.SECONDS)
+  }
+
+  List<String> http10ResponseHeaders() {
+    Socket socket = new Socket(address.host, address.port)
+    try {
+      new OutputStreamWriter(socket.outputStream, "UTF-8").with {
+        write("GET / HTTP/1.0\r\n")
+        write("\r\n")
+        flush()
+      }
+
+      def reader = new BufferedReader(new InputStreamReader(socket.inputStream, CharsetUtil.UTF_8))
+      def headers = []
+      def line
+      while ((line = reader.readLine())) {
+        headers << line
+      }
+      headers
+    } finally {
+      socket.close()
+    }
+  }
+
 }
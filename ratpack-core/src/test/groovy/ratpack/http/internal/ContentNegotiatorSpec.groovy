@@ -0,0 +1,54 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.http.internal
+
+import spock.lang.Specification
+
+class ContentNegotiatorSpec extends Specification {
+
+  def "negotiates against accept header"() {
+    given:
+    def negotiator = ContentNegotiator.of(["application/json", "text/html"])
+
+    expect:
+    negotiator.negotiate(header) == result
+    negotiator.negotiate(header) == result
+
+    where:
+    header                                   | result
+    null                                     | "application/json"
+    ""                                       | "application/json"
+    "text/html"                              | "text/html"
+    "application/json;q=0.5,text/html;q=1"   | "text/html"
+    "application/json,text/html"             | "application/json"
+    "*"                                      | "application/json"
+    "text/plain"                             | null
+  }
+
+  def "negotiators are shared by type list"() {
+    expect:
+    ContentNegotiator.of(["a/a", "a/b"]).is(ContentNegotiator.of([new StringBuilder("a/a"), "a/b"]))
+    !ContentNegotiator.of(["a/a", "a/b"]).is(ContentNegotiator.of(["a/b", "a/a"]))
+  }
+
+  def "nothing is acceptable when no types are supported"() {
+    expect:
+    ContentNegotiator.of([]).negotiate("*/*") == null
+    ContentNegotiator.of([]).negotiate(null) == null
+  }
+
+}
@@ -24,6 +24,7 @@ import java.nio.file.attribute.BasicFileAttributes
 
 import static io.netty.handler.codec.http.HttpHeaders.Names.CONTENT_LENGTH
 import static io.netty.handler.codec.http.HttpHeaders.Names.CONTENT_TYPE
+import static io.netty.handler.codec.http.HttpHeaders.Names.DATE
 import static io.netty.handler.codec.http.HttpResponseStatus.OK
 
 class DefaultResponseSpec extends RatpackGroovyDslSpec {
@@ -50,6 +51,22 @@ class DefaultResponseSpec extends RatpackGroovyDslSpec {
     }
   }
 
+  def "sends current date"() {
+    given:
+    handlers {
+      get {
+        response.send BODY
+      }
+    }
+
+    when:
+    def before = System.currentTimeMillis().intdiv(1000) * 1000
+    get()
+
+    then:
+    HttpHeaderDateFormat.get().parse(response.headers.get(DATE)).time in before..System.currentTimeMillis()
+  }
+
   def "can set content type and override with send byte array"() {
     given:
     handlers {
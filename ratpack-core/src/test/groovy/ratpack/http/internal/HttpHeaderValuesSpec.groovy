@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.http.internal
+
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneOffset
+
+class HttpHeaderValuesSpec extends Specification {
+
+  def "formats dates like the header date format"() {
+    given:
+    def date = new Date(millis)
+
+    expect:
+    HttpHeaderValues.format(date) == HttpHeaderDateFormat.get().format(date)
+
+    where:
+    millis << [0L, 784111777000L, 1412345678999L, System.currentTimeMillis()]
+  }
+
+  def "current date is shared within a second and changes at the next second"() {
+    given:
+    def start = Instant.ofEpochSecond(1412345678)
+
+    when:
+    def date = HttpHeaderValues.date(clock(start))
+
+    then:
+    date.toString() == "Fri, 03 Oct 2014 14:14:38 GMT"
+    HttpHeaderValues.date(clock(start.plusMillis(999))).is(date)
+
+    when:
+    def next = HttpHeaderValues.date(clock(start.plusMillis(1000)))
+
+    then:
+    next.toString() == "Fri, 03 Oct 2014 14:14:39 GMT"
+    HttpHeaderValues.date(clock(start.plusMillis(1999))).is(next)
+  }
+
+  def "current date is the system time"() {
+    when:
+    def before = System.currentTimeMillis().intdiv(1000) * 1000
+    def date = HttpHeaderValues.date()
+
+    then:
+    HttpHeaderDateFormat.get().parse(date.toString()).time in before..System.currentTimeMillis()
+  }
+
+  static Clock clock(Instant instant) {
+    Clock.fixed(instant, ZoneOffset.UTC)
+  }
+
+  def "content lengths are reused when small"() {
+    expect:
+    HttpHeaderValues.contentLength(length).toString() == length.toString()
+    HttpHeaderValues.contentLength(length).is(HttpHeaderValues.contentLength(length)) == reused
+
+    where:
+    length         | reused
+    0              | true
+    1              | true
+    1023           | true
+    1024           | false
+    Long.MAX_VALUE | false
+  }
+
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.http.internal
+
+import ratpack.handling.Context
+import ratpack.handling.Handler
+import ratpack.handling.Handlers
+import ratpack.test.internal.RatpackGroovyDslSpec
+
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+class ResponseCachingHandlerSpec extends RatpackGroovyDslSpec {
+
+  def invocations = new AtomicInteger()
+
+  Handler cache(Duration ttl = Duration.ofMinutes(1), long maxSize = 1024 * 1024, Closure<?> closure) {
+    Handlers.cache(ttl, maxSize, { Context context ->
+      invocations.incrementAndGet()
+      def handler = closure.rehydrate(context, this, this)
+      handler.resolveStrategy = Closure.DELEGATE_FIRST
+      handler.call(context)
+    } as Handler)
+  }
+
+  def "caches responses by uri"() {
+    when:
+    handlers {
+      handler(cache { render "${request.queryParams.q}:${invocations.get()}" })
+    }
+
+    then:
+    getText("?q=a") == "a:1"
+    getText("?q=a") == "a:1"
+    response.headers.get("Content-Type") == "text/plain;charset=UTF-8"
+    response.headers.get("Age") == "0"
+    getText("?q=b") == "b:2"
+    getText("?q=a") == "a:1"
+    invocations.get() == 2
+  }
+
+  def "serves not modified when etag matches"() {
+    when:
+    handlers {
+      handler(cache { render "foo" })
+    }
+
+    and:
+    def etag = get().headers.get("ETag")
+
+    then:
+    etag != null
+
+    when:
+    requestSpec { it.headers.add("If-None-Match", "\"other\", $etag") }
+
+    then:
+    get().statusCode == 304
+    response.body.text == ""
+    response.headers.get("ETag") == etag
+    invocations.get() == 1
+
+    when:
+    resetRequest()
+    requestSpec { it.headers.add("If-None-Match", "\"other\"") }
+
+    then:
+    getText() == "foo"
+    response.statusCode == 200
+  }
+
+  def "honours cache control of response"() {
+    when:
+    handlers {
+      get("no-store", cache { response.headers.set("Cache-Control", "no-store"); render "no-store" })
+      get("private", cache { response.headers.set("Cache-Control", "private, max-age=60"); render "private" })
+      get("expired", cache { response.headers.set("Cache-Control", "max-age=0"); render "expired" })
+      get("cookie", cache { response.cookie("a", "b"); render "cookie" })
+      get("error", cache { response.status(500); render "error" })
+      get("ttl", cache(Duration.ofMillis(200)) { render "ttl" })
+    }
+
+    then:
+    ["no-store", "private", "expired", "cookie", "error"].each { path ->
+      2.times { getText(path) }
+    }
+    invocations.get() == 10
+
+    when:
+    invocations.set(0)
+    2.times { getText("ttl") }
+    sleep 300
+    getText("ttl")
+
+    then:
+    invocations.get() == 2
+  }
+
+  def "prefers s-maxage over max-age and rejects private wherever it appears"() {
+    when:
+    handlers {
+      get("s-maxage", cache { response.headers.set("Cache-Control", "max-age=0, s-maxage=60"); render "s-maxage" })
+      get("private", cache { response.headers.set("Cache-Control", "s-maxage=60, private"); render "private" })
+    }
+
+    and:
+    2.times { getText("s-maxage") }
+
+    then:
+    invocations.get() == 1
+
+    when:
+    2.times { getText("private") }
+
+    then:
+    invocations.get() == 3
+  }
+
+  def "only shares responses to authorized requests when the response allows it"() {
+    when:
+    handlers {
+      get("default", cache { render "default" })
+      get("public", cache { response.headers.set("Cache-Control", "public"); render "public" })
+    }
+
+    and:
+    requestSpec { it.headers.add("Authorization", "Basic dXNlcjpwYXNz") }
+    2.times { getText("default") }
+    2.times { getText("public") }
+
+    then:
+    invocations.get() == 3
+
+    when:
+    resetRequest()
+    getText("default")
+    requestSpec { it.headers.add("Authorization", "Basic dXNlcjpwYXNz") }
+    getText("default")
+
+    then:
+    invocations.get() == 5
+  }
+
+  def "caches responses by host"() {
+    when:
+    handlers {
+      handler(cache { render request.headers.get("Host") })
+    }
+
+    and:
+    requestSpec { it.headers.set("Host", "a.example.com") }
+    2.times { getText() }
+    requestSpec { it.headers.set("Host", "b.example.com") }
+
+    then:
+    getText() == "b.example.com"
+    invocations.get() == 2
+  }
+
+  def "request can bypass cache"() {
+    when:
+    handlers {
+      handler(cache { render invocations.get().toString() })
+    }
+
+    then:
+    getText() == "1"
+
+    when:
+    requestSpec { it.headers.add("Cache-Control", "no-cache") }
+
+    then:
+    getText() == "2"
+
+    when:
+    resetRequest()
+
+    then:
+    getText() == "2"
+  }
+
+  def "caches variants by vary header"() {
+    when:
+    handlers {
+      handler(cache {
+        response.headers.set("Vary", "Accept")
+        render request.headers.get("Accept") ?: "none"
+      })
+    }
+
+    then:
+    getText() == "none"
+
+    when:
+    requestSpec { it.headers.add("Accept", "text/plain") }
+
+    then:
+    getText() == "text/plain"
+    getText() == "text/plain"
+
+    when:
+    resetRequest()
+
+    then:
+    getText() == "none"
+    invocations.get() == 2
+  }
+
+  def "evicts least recently used when size exceeded"() {
+    when:
+    handlers {
+      handler(cache(Duration.ofMinutes(1), 100) { render "${request.path}-".padRight(40, "x") })
+    }
+
+    and:
+    ["a", "b", "a", "c"].each { getText(it) }
+
+    then:
+    invocations.get() == 3
+
+    when:
+    getText("a")
+    getText("b")
+
+    then:
+    invocations.get() == 4
+  }
+
+  def "coalesces concurrent requests for the same uri"() {
+    when:
+    handlers {
+      handler(cache {
+        blocking { sleep 500; invocations.get() } then { render it.toString() }
+      })
+    }
+
+    and:
+    def url = applicationUnderTest.address.toURL()
+    def executor = Executors.newFixedThreadPool(5)
+    def results = executor.invokeAll((1..5).collect { { -> url.text } as Callable<String> })*.get()
+    executor.shutdown()
+
+    then:
+    results == ["1"] * 5
+    invocations.get() == 1
+  }
+
+}
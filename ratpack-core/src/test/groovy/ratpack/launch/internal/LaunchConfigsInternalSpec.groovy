@@ -168,6 +168,18 @@ class LaunchConfigsInternalSpec extends Specification {
     createLaunchConfig(p(TIME_RESPONSES, "true")).timeResponses
   }
 
+  def "profileHandlers is respected"() {
+    expect:
+    !createLaunchConfig().profileHandlers
+    createLaunchConfig(p(PROFILE_HANDLERS, "true")).profileHandlers
+  }
+
+  def "maxConcurrentRequests is respected"() {
+    expect:
+    createLaunchConfig().maxConcurrentRequests == 0
+    createLaunchConfig(p(MAX_CONCURRENT_REQUESTS, "20")).maxConcurrentRequests == 20
+  }
+
   def "compressResponses is respected"() {
     expect:
     !createLaunchConfig().compressResponses
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.registry.internal
+
+import com.google.common.base.Predicates
+import com.google.common.reflect.TypeToken
+import ratpack.registry.Registries
+import spock.lang.Specification
+
+import static ratpack.registry.Registries.just
+
+class HierarchicalRegistrySpec extends Specification {
+
+  def "nested hierarchies are searched most specific first"() {
+    given:
+    def r = Registries.join(Registries.join(Registries.join(just("a"), just(1)), just("b")), just(2L))
+
+    expect:
+    r.get(String) == "b"
+    r.get(Integer) == 1
+    r.get(Number) == 2L
+    r.maybeGet(Map) == null
+    r.getAll(CharSequence).toList() == ["b", "a"]
+    r.getAll(Number).toList() == [2L, 1]
+    r.first(TypeToken.of(String), { it == "a" }) == "a"
+    r.all(TypeToken.of(Object), Predicates.alwaysTrue()).toList() == [2L, "b", 1, "a"]
+  }
+
+  def "each visits all layers"() {
+    given:
+    def r = Registries.join(Registries.join(just("a"), just(1)), Registries.join(just("b"), just("c")))
+    def visited = []
+
+    expect:
+    r.each(TypeToken.of(String), Predicates.alwaysTrue()) { visited << it }
+    visited == ["c", "b", "a"]
+    !r.each(TypeToken.of(Map), Predicates.alwaysTrue()) { visited << it }
+  }
+
+  def "generic types are matched"() {
+    given:
+    def listOfString = new TypeToken<List<String>>() {}
+    def listOfInteger = new TypeToken<List<Integer>>() {}
+    def r = Registries.join(Registries.registry().add(listOfString, ["a"]).build(), just(1))
+
+    expect:
+    r.maybeGet(listOfString) == ["a"]
+    r.maybeGet(listOfInteger) == null
+    r.maybeGet(List) == ["a"]
+  }
+
+}
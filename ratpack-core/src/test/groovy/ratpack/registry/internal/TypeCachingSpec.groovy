@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.registry.internal
+
+import spock.lang.Specification
+
+import java.lang.ref.WeakReference
+
+class TypeCachingSpec extends Specification {
+
+  def "type tokens are reused while in use"() {
+    when:
+    def token = TypeCaching.typeToken(String)
+
+    then:
+    TypeCaching.typeToken(String).is(token)
+    token.rawType == String
+  }
+
+  def "classes of discarded class loaders can be collected"() {
+    given:
+    def loader = new GroovyClassLoader(getClass().classLoader)
+    def type = loader.parseClass("class Discarded {}")
+    TypeCaching.typeToken(type)
+    def reference = new WeakReference(type)
+
+    when:
+    type = null
+    loader.clearCache()
+    loader = null
+
+    then:
+    def deadline = System.currentTimeMillis() + 10000
+    while (reference.get() != null && System.currentTimeMillis() < deadline) {
+      System.gc()
+      sleep 10
+    }
+    reference.get() == null
+  }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.reload.internal
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.atomic.AtomicInteger
+
+class FileWatcherSpec extends Specification {
+
+  @Rule TemporaryFolder temporaryFolder
+
+  PollingConditions conditions = new PollingConditions()
+
+  def "closed watches are no longer notified"() {
+    given:
+    def foo = temporaryFolder.newFile("foo.txt")
+    def bar = temporaryFolder.newFile("bar.txt")
+    def fooChanges = new AtomicInteger()
+    def barChanges = new AtomicInteger()
+    def fooWatch = FileWatcher.watch(foo.toPath(), { fooChanges.incrementAndGet() })
+    def barWatch = FileWatcher.watch(bar.toPath(), { barChanges.incrementAndGet() })
+
+    when:
+    fooWatch.close()
+    foo.text = "1"
+    bar.text = "1"
+
+    then:
+    conditions.eventually {
+      assert barChanges.get() > 0
+    }
+    fooChanges.get() == 0
+
+    cleanup:
+    barWatch?.close()
+  }
+
+  def "directory can be watched again after all watches are closed"() {
+    given:
+    def foo = temporaryFolder.newFile("foo.txt")
+    def changes = new AtomicInteger()
+    FileWatcher.watch(foo.toPath(), { throw new IllegalStateException("closed") }).close()
+    def watch = FileWatcher.watch(foo.toPath(), { changes.incrementAndGet() })
+
+    when:
+    foo.text = "1"
+
+    then:
+    conditions.eventually {
+      assert changes.get() > 0
+    }
+
+    cleanup:
+    watch?.close()
+  }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.reload.internal
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import ratpack.exec.internal.DefaultExecController
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+
+class ReloadableFileBackedFactorySpec extends Specification {
+
+  @Rule TemporaryFolder temporaryFolder
+
+  PollingConditions conditions = new PollingConditions()
+
+  def produced = new AtomicInteger()
+  def released = new CopyOnWriteArrayList()
+
+  ReloadableFileBackedFactory<String> factory(File file, boolean reloadable) {
+    new ReloadableFileBackedFactory<String>(file.toPath(), reloadable, { path, bytes ->
+      produced.incrementAndGet()
+      bytes.toString(StandardCharsets.UTF_8)
+    }, { released << it })
+  }
+
+  String createOrFailure(ReloadableFileBackedFactory<String> factory) {
+    try {
+      factory.create()
+    } catch (IllegalStateException e) {
+      "failed: $e.message"
+    }
+  }
+
+  def "non reloadable factory produces once"() {
+    given:
+    def file = temporaryFolder.newFile("foo.txt")
+    file.text = "1"
+    def factory = factory(file, false)
+
+    when:
+    file.text = "2"
+
+    then:
+    factory.create() == "1"
+    factory.create() == "1"
+    produced.get() == 1
+  }
+
+  def "reloadable factory only produces again when the file changes"() {
+    given:
+    def file = temporaryFolder.newFile("foo.txt")
+    file.text = "1"
+    def factory = factory(file, true)
+
+    expect:
+    factory.create() == "1"
+    factory.create() == "1"
+    produced.get() == 1
+
+    when:
+    file.text = "2"
+
+    then:
+    conditions.eventually {
+      assert factory.create() == "2"
+    }
+    factory.create() == "2"
+    produced.get() == 2
+    conditions.eventually {
+      assert released == ["1"]
+    }
+  }
+
+  def "current object is served while a change is produced in the background"() {
+    given:
+    def file = temporaryFolder.newFile("foo.txt")
+    file.text = "1"
+    def producing = new CountDownLatch(1)
+    def proceed = new CountDownLatch(1)
+    def factory = new ReloadableFileBackedFactory<String>(file.toPath(), true, { path, bytes ->
+      def text = bytes.toString(StandardCharsets.UTF_8)
+      if (text == "2") {
+        producing.countDown()
+        proceed.await()
+      }
+      text
+    })
+
+    expect:
+    factory.create() == "1"
+
+    when:
+    file.text = "2"
+    producing.await()
+
+    then:
+    factory.create() == "1"
+
+    when:
+    proceed.countDown()
+
+    then:
+    conditions.eventually {
+      assert factory.create() == "2"
+    }
+  }
+
+  def "failure to produce a changed file is reported until the file changes again"() {
+    given:
+    def file = temporaryFolder.newFile("foo.txt")
+    file.text = "1"
+    def factory = new ReloadableFileBackedFactory<String>(file.toPath(), true, { path, bytes ->
+      def text = bytes.toString(StandardCharsets.UTF_8)
+      if (text == "bad") {
+        throw new IllegalStateException(text)
+      }
+      text
+    })
+    factory.create()
+
+    when:
+    file.text = "bad"
+
+    then:
+    conditions.eventually {
+      assert createOrFailure(factory) == "failed: bad"
+    }
+    createOrFailure(factory) == "failed: bad"
+
+    when:
+    file.text = "2"
+
+    then:
+    conditions.eventually {
+      assert createOrFailure(factory) == "2"
+    }
+  }
+
+  def "rapid changes are coalesced"() {
+    given:
+    def file = temporaryFolder.newFile("foo.txt")
+    file.text = "0"
+    def factory = factory(file, true)
+    factory.create()
+
+    when:
+    (1..5).each { file.text = it.toString() }
+
+    then:
+    conditions.eventually {
+      assert factory.create() == "5"
+    }
+    produced.get() <= 6
+  }
+
+  def "factory stops reloading when closed with the exec controller"() {
+    given:
+    def file = temporaryFolder.newFile("foo.txt")
+    file.text = "1"
+    def execController = new DefaultExecController(1)
+    def factory = factory(file, true).closeWith(execController)
+    factory.create()
+
+    when:
+    execController.close()
+    execController.eventLoopGroup.terminationFuture().await()
+    file.text = "2"
+    sleep(ReloadableFileBackedFactory.DEBOUNCE_MILLIS * 5)
+
+    then:
+    produced.get() == 1
+  }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.server
+
+import ratpack.test.internal.RatpackGroovyDslSpec
+
+class StartupTimelineSpec extends RatpackGroovyDslSpec {
+
+  def "startup timeline is available via registry"() {
+    when:
+    handlers {
+      get {
+        def timeline = get(StartupTimeline)
+        response.send timeline.phases*.name.join(",") + ":" + timeline.firstRequestTime.present
+      }
+    }
+
+    then:
+    def (phases, firstRequestReceived) = text.split(":")
+    phases.split(",").toList().containsAll(["jvm", "handler", "base registry", "bind"])
+    firstRequestReceived == "true"
+  }
+
+  def "phases are ordered and within startup time"() {
+    when:
+    handlers {
+      get {
+        def timeline = get(StartupTimeline)
+        def offsets = timeline.phases*.offset
+        def ends = timeline.phases.collect { it.offset + it.duration }
+        response.send((offsets == offsets.sort(false) && ends.every { it <= timeline.startupTime }).toString())
+      }
+    }
+
+    then:
+    text == "true"
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.server.internal
+
+import ratpack.test.internal.RatpackGroovyDslSpec
+
+class Http2PriorKnowledgeSpec extends RatpackGroovyDslSpec {
+
+  Socket connect() {
+    def address = applicationUnderTest.address
+    def socket = new Socket(address.host, address.port)
+    socket.soTimeout = 5000
+    socket
+  }
+
+  def "http/2 prior knowledge clients are told to use http/1.1"() {
+    given:
+    handlers {
+      get { render "ok" }
+    }
+
+    when:
+    def socket = connect()
+    socket.outputStream.write("PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".bytes)
+    socket.outputStream.flush()
+    def response = socket.inputStream.bytes
+    socket.close()
+
+    then:
+    response as List == [
+      0, 0, 0, 0x4, 0, 0, 0, 0, 0, // SETTINGS
+      0, 0, 8, 0x7, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0xd // GOAWAY, HTTP_1_1_REQUIRED
+    ]
+  }
+
+  def "http/1.1 requests are handled when sent a byte at a time"() {
+    given:
+    handlers {
+      handler { render request.method.name }
+    }
+
+    when:
+    def socket = connect()
+    "$method / HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\nContent-Length: 0\r\n\r\n".bytes.each {
+      socket.outputStream.write(it)
+      socket.outputStream.flush()
+    }
+    def response = socket.inputStream.text
+    socket.close()
+
+    then:
+    response.startsWith("HTTP/1.1 200 OK")
+    response.endsWith(method)
+
+    where:
+    method << ["GET", "POST", "PUT", "PATCH"]
+  }
+
+}
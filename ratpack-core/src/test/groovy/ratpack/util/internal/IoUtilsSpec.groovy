@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ratpack.util.internal
+
+import io.netty.buffer.PooledByteBufAllocator
+import io.netty.buffer.UnpooledByteBufAllocator
+import io.netty.util.CharsetUtil
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class IoUtilsSpec extends Specification {
+
+  @Unroll
+  def "encodes #text.length() chars as UTF-8 into exactly sized #allocator buffer"() {
+    when:
+    def buffer = IoUtils.utf8Buffer(allocator, text)
+
+    then:
+    buffer.capacity() == buffer.readableBytes()
+    IoUtils.utf8Length(text) == text.getBytes(CharsetUtil.UTF_8).length
+    buffer.toString(CharsetUtil.UTF_8) == new String(text.getBytes(CharsetUtil.UTF_8), CharsetUtil.UTF_8)
+
+    cleanup:
+    buffer?.release()
+
+    where:
+    [allocator, text] << [
+      [new UnpooledByteBufAllocator(false), PooledByteBufAllocator.DEFAULT],
+      ["", "ascii only", "café üß", "€ 中文", "emoji 😀 pair", "lone \ud83d surrogate", "lone \ude00 low", "end \ud83d"]
+    ].combinations()
+  }
+
+  def "can append UTF-8 to buffer"() {
+    given:
+    def buffer = new UnpooledByteBufAllocator(false).buffer(1)
+
+    when:
+    buffer.writeByte((int) ('>' as char))
+    IoUtils.writeUtf8(buffer, new StringBuilder("café"))
+
+    then:
+    buffer.toString(CharsetUtil.UTF_8) == ">café"
+
+    cleanup:
+    buffer.release()
+  }
+
+}
@@ -160,7 +160,7 @@ public abstract class Groovy {
    */
   public static Handler chain(@Nullable LaunchConfig launchConfig, @Nullable Registry registry, @DelegatesTo(value = GroovyChain.class, strategy = Closure.DELEGATE_FIRST) Closure<?> closure) throws Exception {
     return ChainBuilders.build(
-      launchConfig != null && launchConfig.isDevelopment(),
+      launchConfig,
       new GroovyDslChainActionTransformer(launchConfig, registry),
       new ClosureInvoker<Object, GroovyChain>(closure).toAction(registry, Closure.DELEGATE_FIRST)
     );
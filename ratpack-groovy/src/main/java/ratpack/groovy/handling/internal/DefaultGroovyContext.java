@@ -25,6 +25,7 @@ import ratpack.api.NonBlocking;
 import ratpack.api.Nullable;
 import ratpack.exec.*;
 import ratpack.func.Action;
+import ratpack.func.Pair;
 import ratpack.groovy.handling.GroovyByContentSpec;
 import ratpack.groovy.handling.GroovyByMethodSpec;
 import ratpack.groovy.handling.GroovyContext;
@@ -47,8 +48,10 @@ import ratpack.registry.Registry;
 import ratpack.server.BindAddress;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Date;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
@@ -211,6 +214,31 @@ public class DefaultGroovyContext implements GroovyContext {
     return delegate.promise(action);
   }
 
+  @Override
+  public <T> Promise<List<T>> all(Iterable<? extends Promise<? extends T>> promises) {
+    return delegate.all(promises);
+  }
+
+  @Override
+  public <L, R> Promise<Pair<L, R>> all(Promise<L> left, Promise<R> right) {
+    return delegate.all(left, right);
+  }
+
+  @Override
+  public <T> Promise<T> any(Iterable<? extends Promise<? extends T>> promises) {
+    return delegate.any(promises);
+  }
+
+  @Override
+  public <T> Promise<T> firstSuccess(Iterable<? extends Promise<? extends T>> promises) {
+    return delegate.firstSuccess(promises);
+  }
+
+  @Override
+  public <K, T> Coalescer<K, T> coalescer(Duration retainFor) {
+    return delegate.coalescer(retainFor);
+  }
+
   @Override
   public void fork(Action<? super Execution> action) {
     delegate.fork(action);
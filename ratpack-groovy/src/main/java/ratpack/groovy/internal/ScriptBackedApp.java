@@ -19,39 +19,54 @@ package ratpack.groovy.internal;
 import groovy.lang.Closure;
 import groovy.lang.Script;
 import io.netty.buffer.ByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ratpack.exec.ExecController;
 import ratpack.func.Action;
-import ratpack.func.Factory;
 import ratpack.func.Function;
+import ratpack.groovy.script.internal.CompiledClassCache;
 import ratpack.groovy.script.internal.ScriptEngine;
 import ratpack.handling.Context;
 import ratpack.handling.Handler;
 import ratpack.reload.internal.ReloadableFileBackedFactory;
+import ratpack.server.internal.DefaultStartupTimeline;
 import ratpack.util.internal.IoUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
 
 import static ratpack.util.ExceptionUtils.uncheck;
 
-public class ScriptBackedApp implements Handler {
+public class ScriptBackedApp implements Handler, AutoCloseable {
 
-  private final Factory<Handler> reloadHandler;
+  private static final Logger LOGGER = LoggerFactory.getLogger(ScriptBackedApp.class);
+
+  private final ReloadableFileBackedFactory<Handler> reloadHandler;
   private final Path script;
 
-  public ScriptBackedApp(Path script, final boolean staticCompile, boolean reloadable, final Function<Closure<?>, Handler> closureTransformer) {
+  public ScriptBackedApp(Path script, boolean staticCompile, boolean reloadable, Function<Closure<?>, Handler> closureTransformer) {
+    this(script, staticCompile, reloadable, null, closureTransformer);
+  }
+
+  public ScriptBackedApp(Path script, final boolean staticCompile, boolean reloadable, final CompiledClassCache compiledClassCache, final Function<Closure<?>, Handler> closureTransformer) {
     this.script = script;
     this.reloadHandler = new ReloadableFileBackedFactory<>(script, reloadable, new ReloadableFileBackedFactory.Producer<Handler>() {
       public Handler produce(final Path file, final ByteBuf bytes) {
         try {
           final String string = IoUtils.utf8String(bytes);
-          final ScriptEngine<Script> scriptEngine = new ScriptEngine<>(getClass().getClassLoader(), staticCompile, Script.class);
+          final ScriptEngine<Script> scriptEngine = new ScriptEngine<>(getClass().getClassLoader(), staticCompile, Script.class, compiledClassCache);
+
+          long start = System.nanoTime();
+          final Class<Script> scriptClass = DefaultStartupTimeline.phase("groovy script", () -> scriptEngine.compile(file.getFileName().toString(), file, string));
+          LOGGER.info("Compiled {} in {}ms{}", file, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), compiledClassCache == null ? "" : " (compiled class cache: " + compiledClassCache.getDirectory() + ")");
 
           Runnable runScript = new Runnable() {
             public void run() {
               try {
-                scriptEngine.create(file.getFileName().toString(), file, string).run();
+                scriptClass.newInstance().run();
               } catch (Exception e) {
                 throw uncheck(e);
               }
@@ -79,6 +94,16 @@ public class ScriptBackedApp implements Handler {
     }).run();
   }
 
+  public ScriptBackedApp closeWith(ExecController execController) {
+    reloadHandler.closeWith(execController);
+    return this;
+  }
+
+  @Override
+  public void close() {
+    reloadHandler.close();
+  }
+
   public void handle(Context context) throws Exception {
     Handler handler;
     try {
@@ -22,6 +22,7 @@ import groovy.lang.Closure;
 import ratpack.func.Function;
 import ratpack.groovy.internal.RatpackDslClosureToHandlerTransformer;
 import ratpack.groovy.internal.ScriptBackedApp;
+import ratpack.groovy.script.internal.CompiledClassCache;
 import ratpack.groovy.server.internal.GroovyKitAppFactory;
 import ratpack.guice.Guice;
 import ratpack.guice.GuiceBackedHandlerFactory;
@@ -32,6 +33,7 @@ import ratpack.launch.LaunchConfig;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class GroovyScriptFileHandlerFactory implements HandlerFactory {
 
@@ -41,6 +43,8 @@ public class GroovyScriptFileHandlerFactory implements HandlerFactory {
   public static final String COMPILE_STATIC_PROPERTY_NAME = "groovy.compileStatic";
   public static final String COMPILE_STATIC_PROPERTY_DEFAULT = "false";
 
+  public static final String COMPILED_CLASS_CACHE_PROPERTY_NAME = "groovy.compiledClassCache";
+
   public Handler create(LaunchConfig launchConfig) {
     String scriptName = launchConfig.getOther(SCRIPT_PROPERTY_NAME, SCRIPT_PROPERTY_DEFAULT);
     Path script = launchConfig.getBaseDir().file(scriptName);
@@ -69,7 +73,21 @@ public class GroovyScriptFileHandlerFactory implements HandlerFactory {
     GuiceBackedHandlerFactory handlerFactory = new GroovyKitAppFactory(launchConfig);
     Function<Closure<?>, Handler> closureTransformer = new RatpackDslClosureToHandlerTransformer(launchConfig, handlerFactory, moduleTransformer);
 
-    return new ScriptBackedApp(script, compileStatic, launchConfig.isDevelopment(), closureTransformer);
+    return new ScriptBackedApp(script, compileStatic, launchConfig.isDevelopment(), compiledClassCache(launchConfig), closureTransformer)
+      .closeWith(launchConfig.getExecController());
+  }
+
+  /**
+   * The on-disk cache of compiled script classes to use, if the {@value #COMPILED_CLASS_CACHE_PROPERTY_NAME} property is set to a directory.
+   * <p>
+   * Changes to the script are detected, but changes to the application classes it uses are not, so the directory should be cleared when deploying new application classes.
+   *
+   * @param launchConfig the launch config
+   * @return the compiled class cache, or {@code null} if not configured
+   */
+  public static CompiledClassCache compiledClassCache(LaunchConfig launchConfig) {
+    String directory = launchConfig.getOther(COMPILED_CLASS_CACHE_PROPERTY_NAME, null);
+    return directory == null || directory.isEmpty() ? null : new CompiledClassCache(Paths.get(directory).toAbsolutePath());
   }
 
 }
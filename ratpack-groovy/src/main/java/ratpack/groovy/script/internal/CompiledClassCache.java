@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.groovy.script.internal;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import groovy.lang.GroovySystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An on-disk cache of the classes generated by compiling a script.
+ * <p>
+ * Entries are keyed by a hash of the given parts (for scripts: the source, name, location, base class and whether it is statically compiled)
+ * and the Groovy and Ratpack versions, so an entry is not used once any of these change.
+ * The key does not cover the classpath the script was compiled against.
+ * If classes the script uses change without the Ratpack version changing (e.g. a new build of the application), the cached classes may fail to link,
+ * so the directory should be deleted when deploying such changes. It can be deleted at any time.
+ * The classes are loaded from the directory as is, so it must not be writable by anyone who is not trusted to run code in the application.
+ */
+public class CompiledClassCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CompiledClassCache.class);
+
+  private static final String SUFFIX = ".classes";
+
+  private final Path directory;
+
+  public CompiledClassCache(Path directory) {
+    this.directory = directory;
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  public String key(String... parts) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putString(GroovySystem.getVersion(), Charsets.UTF_8);
+    String ratpackVersion = getClass().getPackage().getImplementationVersion();
+    hasher.putString(ratpackVersion == null ? "" : ratpackVersion, Charsets.UTF_8);
+    for (String part : parts) {
+      hasher.putInt(part.length()).putString(part, Charsets.UTF_8);
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Loads the classes stored for the given key, returning the main class or {@code null} if there is no (readable) entry.
+   */
+  public Class<?> load(String key, ClassLoader parentLoader) {
+    Path file = directory.resolve(key + SUFFIX);
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+
+    Map<String, byte[]> classes = new LinkedHashMap<>();
+    String mainClassName;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      mainClassName = in.readUTF();
+      int count = in.readInt();
+      for (int i = 0; i < count; ++i) {
+        String name = in.readUTF();
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        classes.put(name, bytes);
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Ignoring unreadable compiled class cache entry " + file, e);
+      return null;
+    }
+
+    try {
+      return new CachedClassLoader(parentLoader, classes).loadClass(mainClassName);
+    } catch (ClassNotFoundException | LinkageError e) {
+      LOGGER.warn("Ignoring unusable compiled class cache entry " + file, e);
+      return null;
+    }
+  }
+
+  /**
+   * Stores the given classes, which must include the main class.
+   * <p>
+   * Failure to write the entry is logged and otherwise ignored.
+   */
+  public void store(String key, String mainClassName, Map<String, byte[]> classes) {
+    Path file = directory.resolve(key + SUFFIX);
+    try {
+      Files.createDirectories(directory);
+      Path temp = Files.createTempFile(directory, key, ".tmp");
+      try {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+          out.writeUTF(mainClassName);
+          out.writeInt(classes.size());
+          for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().length);
+            out.write(entry.getValue());
+          }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Unable to write compiled class cache entry " + file, e);
+    }
+  }
+
+  private static class CachedClassLoader extends ClassLoader {
+
+    private final Map<String, byte[]> classes;
+
+    private CachedClassLoader(ClassLoader parent, Map<String, byte[]> classes) {
+      super(parent);
+      this.classes = classes;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+      byte[] bytes = classes.remove(name);
+      if (bytes == null) {
+        throw new ClassNotFoundException(name);
+      }
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+
+}
@@ -29,22 +29,37 @@ import org.codehaus.groovy.classgen.Verifier;
 import org.codehaus.groovy.control.*;
 import org.codehaus.groovy.control.customizers.CompilationCustomizer;
 import org.codehaus.groovy.runtime.DefaultGroovyMethods;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
+import java.security.AccessController;
 import java.security.CodeSource;
+import java.security.PrivilegedAction;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class ScriptEngine<T extends Script> {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(ScriptEngine.class);
+
   private static final ClassNode LINE_NUMBER_CLASS_NODE = new ClassNode(LineNumber.class);
 
   private final boolean staticCompile;
   private final Class<T> scriptBaseClass;
+  private final CompiledClassCache compiledClassCache;
   private ClassLoader parentLoader;
 
   public ScriptEngine(ClassLoader parentLoader, boolean staticCompile, Class<T> scriptBaseClass) {
+    this(parentLoader, staticCompile, scriptBaseClass, null);
+  }
+
+  public ScriptEngine(ClassLoader parentLoader, boolean staticCompile, Class<T> scriptBaseClass, CompiledClassCache compiledClassCache) {
     this.parentLoader = parentLoader;
     this.staticCompile = staticCompile;
     this.scriptBaseClass = scriptBaseClass;
+    this.compiledClassCache = compiledClassCache;
   }
 
   public T create(String scriptName, Path scriptPath, String scriptText, Object... scriptConstructionArgs) throws IllegalAccessException, InstantiationException {
@@ -52,17 +67,35 @@ public class ScriptEngine<T extends Script> {
     return DefaultGroovyMethods.newInstance(scriptClass, scriptConstructionArgs);
   }
 
-  @SuppressWarnings("unchecked")
   public Class<T> compile(String scriptName, String scriptText) throws IllegalAccessException, InstantiationException {
-    return createClassLoader(null).parseClass(scriptText, scriptName);
+    return compile(scriptName, null, scriptText);
   }
 
   @SuppressWarnings("unchecked")
   public Class<T> compile(String scriptName, Path scriptPath, String scriptText) throws IllegalAccessException, InstantiationException {
-    return createClassLoader(scriptPath).parseClass(scriptText, scriptName);
+    if (compiledClassCache == null) {
+      return createClassLoader(scriptPath, null).parseClass(scriptText, scriptName);
+    }
+
+    long start = System.nanoTime();
+    String key = compiledClassCache.key(
+      scriptBaseClass.getName(), Boolean.toString(staticCompile), scriptName, scriptPath == null ? "" : scriptPath.toUri().toString(), scriptText
+    );
+
+    Class<T> scriptClass = (Class<T>) compiledClassCache.load(key, parentLoader);
+    if (scriptClass != null) {
+      LOGGER.debug("Loaded {} from compiled class cache in {}ms", scriptName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      return scriptClass;
+    }
+
+    Map<String, byte[]> classes = new LinkedHashMap<>();
+    scriptClass = createClassLoader(scriptPath, classes).parseClass(scriptText, scriptName);
+    compiledClassCache.store(key, scriptClass.getName(), classes);
+    LOGGER.debug("Compiled {} in {}ms", scriptName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return scriptClass;
   }
 
-  private GroovyClassLoader createClassLoader(final Path scriptPath) {
+  private GroovyClassLoader createClassLoader(final Path scriptPath, final Map<String, byte[]> generatedClasses) {
     final CompilerConfiguration compilerConfiguration = new CompilerConfiguration();
     if (!scriptBaseClass.equals(Script.class)) {
       compilerConfiguration.setScriptBaseClass(scriptBaseClass.getName());
@@ -83,6 +116,27 @@ public class ScriptEngine<T extends Script> {
     });
 
     return new GroovyClassLoader(parentLoader, compilerConfiguration) {
+      @Override
+      protected ClassCollector createCollector(CompilationUnit unit, SourceUnit su) {
+        if (generatedClasses == null) {
+          return super.createCollector(unit, su);
+        }
+
+        final GroovyClassLoader groovyClassLoader = this;
+        InnerLoader loader = AccessController.doPrivileged(new PrivilegedAction<InnerLoader>() {
+          public InnerLoader run() {
+            return new InnerLoader(groovyClassLoader);
+          }
+        });
+        return new ClassCollector(loader, unit, su) {
+          @Override
+          protected Class<?> createClass(byte[] code, ClassNode classNode) {
+            generatedClasses.put(classNode.getName(), code);
+            return super.createClass(code, classNode);
+          }
+        };
+      }
+
       @Override
       protected CompilationUnit createCompilationUnit(CompilerConfiguration config, CodeSource source) {
         return new CompilationUnit(config, source, this) {
@@ -26,4 +26,6 @@ public interface TemplatingConfig {
 
   String getTemplatesPath();
 
+  boolean isPrecompile();
+
 }
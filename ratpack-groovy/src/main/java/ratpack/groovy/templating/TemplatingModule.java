@@ -32,6 +32,7 @@ public class TemplatingModule extends AbstractModule {
   private int cacheSize = 100;
   private boolean reloadable;
   private boolean staticallyCompile;
+  private Boolean precompile;
 
   public String getTemplatesPath() {
     return templatesPath;
@@ -65,9 +66,30 @@ public class TemplatingModule extends AbstractModule {
     this.staticallyCompile = staticallyCompile;
   }
 
+  public Boolean getPrecompile() {
+    return precompile;
+  }
+
+  /**
+   * Whether to compile all templates when the application starts, instead of when each is first rendered.
+   * <p>
+   * Templates are compiled in parallel on the blocking executor, and the application does not start handling requests until they are done.
+   * If not set, the {@code other.templating.precompile} configuration property is used, which defaults to {@code false}.
+   * <p>
+   * To also keep the compiled template classes on disk between restarts, set the {@code other.groovy.compiledClassCache} configuration property
+   * (see {@link ratpack.groovy.launch.GroovyScriptFileHandlerFactory#COMPILED_CLASS_CACHE_PROPERTY_NAME}) to a directory.
+   * Templates are then only compiled again when they change.
+   *
+   * @param precompile whether to compile all templates at startup, or {@code null} to use the configuration property
+   */
+  public void setPrecompile(Boolean precompile) {
+    this.precompile = precompile;
+  }
+
   @Override
   protected void configure() {
     bind(GroovyTemplateRenderingEngine.class).in(Singleton.class);
+    bind(GroovyTemplatePrecompiler.class).asEagerSingleton();
     bind(ClientErrorHandler.class).to(TemplateRenderingClientErrorHandler.class).in(Singleton.class);
     bind(ServerErrorHandler.class).to(TemplateRenderingServerErrorHandler.class).in(Singleton.class);
     bind(TemplateRenderer.class);
@@ -75,6 +97,7 @@ public class TemplatingModule extends AbstractModule {
 
   @Provides
   TemplatingConfig provideTemplatingConfig(LaunchConfig launchConfig) {
-    return new DefaultTemplatingConfig(templatesPath, cacheSize, reloadable || launchConfig.isDevelopment(), staticallyCompile);
+    boolean precompile = this.precompile == null ? Boolean.parseBoolean(launchConfig.getOther("templating.precompile", "false")) : this.precompile;
+    return new DefaultTemplatingConfig(templatesPath, cacheSize, reloadable || launchConfig.isDevelopment(), staticallyCompile, precompile);
   }
 }
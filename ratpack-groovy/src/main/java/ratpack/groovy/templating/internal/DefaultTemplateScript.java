@@ -76,7 +76,7 @@ public abstract class DefaultTemplateScript extends Script implements TemplateSc
   @SuppressWarnings("UnusedDeclaration")
   public void $(CharSequence charSequence) {
     //CHECKSTYLE:ON
-    buffer.writeBytes(IoUtils.utf8Bytes(charSequence.toString()));
+    IoUtils.writeUtf8(buffer, charSequence);
   }
 
 }
@@ -24,12 +24,14 @@ public class DefaultTemplatingConfig implements TemplatingConfig {
   private final int cacheSize;
   private final boolean reloadable;
   private final boolean staticallyCompile;
+  private final boolean precompile;
 
-  public DefaultTemplatingConfig(String templatesPath, int cacheSize, boolean reloadable, boolean staticallyCompile) {
+  public DefaultTemplatingConfig(String templatesPath, int cacheSize, boolean reloadable, boolean staticallyCompile, boolean precompile) {
     this.templatesPath = templatesPath;
     this.cacheSize = cacheSize;
     this.reloadable = reloadable;
     this.staticallyCompile = staticallyCompile;
+    this.precompile = precompile;
   }
 
   public int getCacheSize() {
@@ -48,4 +50,8 @@ public class DefaultTemplatingConfig implements TemplatingConfig {
     return templatesPath;
   }
 
+  public boolean isPrecompile() {
+    return precompile;
+  }
+
 }
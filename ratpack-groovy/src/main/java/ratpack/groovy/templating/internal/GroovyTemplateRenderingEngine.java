@@ -19,12 +19,15 @@ package ratpack.groovy.templating.internal;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ListeningExecutorService;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import ratpack.exec.ExecControl;
 import ratpack.exec.Promise;
 import ratpack.file.FileSystemBinding;
+import ratpack.file.internal.FileTreePrecompiler;
 import ratpack.func.Function;
+import ratpack.groovy.launch.GroovyScriptFileHandlerFactory;
 import ratpack.groovy.script.internal.ScriptEngine;
 import ratpack.groovy.templating.TemplatingConfig;
 import ratpack.launch.LaunchConfig;
@@ -51,7 +54,9 @@ public class GroovyTemplateRenderingEngine {
     this.execControl = execControl;
     this.byteBufAllocator = launchConfig.getBufferAllocator();
 
-    ScriptEngine<DefaultTemplateScript> scriptEngine = new ScriptEngine<>(getClass().getClassLoader(), templatingConfig.isStaticallyCompile(), DefaultTemplateScript.class);
+    ScriptEngine<DefaultTemplateScript> scriptEngine = new ScriptEngine<>(
+      getClass().getClassLoader(), templatingConfig.isStaticallyCompile(), DefaultTemplateScript.class, GroovyScriptFileHandlerFactory.compiledClassCache(launchConfig)
+    );
     templateCompiler = new TemplateCompiler(scriptEngine, byteBufAllocator);
     //noinspection NullableProblems
     this.compiledTemplateCache = CacheBuilder.newBuilder().maximumSize(templatingConfig.getCacheSize()).build(new CacheLoader<TemplateSource, CompiledTemplate>() {
@@ -101,6 +106,12 @@ public class GroovyTemplateRenderingEngine {
     });
   }
 
+  public int precompile(ListeningExecutorService executorService) throws InterruptedException {
+    return new FileTreePrecompiler(templateDir.getFile(), "", executorService).precompile("Groovy templates", templateId ->
+        compiledTemplateCache.get(toTemplateSource(templateId, getTemplateFile(templateId)))
+    );
+  }
+
   private Path getTemplateFile(String templateName) {
     return templateDir.file(templateName);
   }
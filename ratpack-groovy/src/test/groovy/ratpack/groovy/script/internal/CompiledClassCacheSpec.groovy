@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.groovy.script.internal
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class CompiledClassCacheSpec extends Specification {
+
+  @Rule TemporaryFolder temporaryFolder
+
+  CompiledClassCache cache
+
+  def setup() {
+    cache = new CompiledClassCache(temporaryFolder.root.toPath().resolve("classes"))
+  }
+
+  ScriptEngine<Script> engine() {
+    new ScriptEngine<Script>(getClass().classLoader, false, Script, cache)
+  }
+
+  def "compiled classes are reused by later engines"() {
+    given:
+    def text = "[1, 2, 3].collect { it * 2 }.sum()"
+
+    when:
+    def compiled = engine().compile("foo.groovy", text)
+
+    then:
+    compiled.newInstance().run() == 12
+    compiled.classLoader instanceof GroovyClassLoader.InnerLoader
+    cache.directory.toFile().listFiles().size() == 1
+
+    when:
+    def cached = engine().compile("foo.groovy", text)
+
+    then:
+    cached.name == compiled.name
+    !(cached.classLoader instanceof GroovyClassLoader.InnerLoader)
+    cached.newInstance().run() == 12
+  }
+
+  def "changed scripts are compiled again"() {
+    when:
+    def first = engine().compile("foo.groovy", "1")
+    def second = engine().compile("foo.groovy", "2")
+
+    then:
+    first.newInstance().run() == 1
+    second.newInstance().run() == 2
+    cache.directory.toFile().listFiles().size() == 2
+  }
+
+  def "unreadable entries are ignored"() {
+    given:
+    engine().compile("foo.groovy", "1")
+    cache.directory.toFile().listFiles().each { it.text = "garbage" }
+
+    expect:
+    engine().compile("foo.groovy", "1").newInstance().run() == 1
+  }
+
+}
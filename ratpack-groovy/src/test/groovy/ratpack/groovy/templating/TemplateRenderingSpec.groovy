@@ -285,6 +285,34 @@ class TemplateRenderingSpec extends RatpackGroovyDslSpec {
     text == "1"
   }
 
+  def "templates can be precompiled at startup"() {
+    given:
+    launchConfig { development(false) }
+    file "templates/t", "1"
+    file "templates/nested/u", "a"
+
+    when:
+    bindings {
+      config(TemplatingModule).precompile = true
+    }
+    handlers {
+      get("t") { render groovyTemplate("t") }
+      get("u") { render groovyTemplate("nested/u") }
+      get("other") { render "other" }
+    }
+
+    then:
+    getText("other") == "other"
+
+    when:
+    file "templates/t", "2"
+    file "templates/nested/u", "b"
+
+    then:
+    getText("t") == "1"
+    getText("u") == "a"
+  }
+
   def "templates are reloadable if reloading is forced"() {
     given:
     file "templates/t", "1"
@@ -151,6 +151,14 @@ import static com.google.inject.Guice.createInjector;
  * <p>
  * However, this will not create “just-in-time” bindings. Only objects that were explicitly bound can be retrieved this way.
  * </p>
+ * <h4>Precomputed bindings</h4>
+ * <p>
+ * By default, objects retrieved from the context are provided by the injector on each lookup.
+ * If the {@code other.guice.precomputeBindings} launch config property is {@code true}, all singleton bindings are instead provisioned
+ * when the application starts, and the context refers to the instances directly.
+ * Any failure to provision a singleton then prevents the application from starting, instead of failing the first request that needs it.
+ * Objects bound in other scopes are still provided by the injector on each lookup.
+ * </p>
  * <h3>Guice modules as Ratpack “plugins”.</h3>
  * <p>
  * Add on Ratpack functionality is typically provided via Guice modules.
@@ -32,8 +32,10 @@ import ratpack.handling.Handler;
 import ratpack.handling.Handlers;
 import ratpack.handling.internal.FactoryHandler;
 import ratpack.launch.LaunchConfig;
+import ratpack.registry.Registries;
 import ratpack.reload.internal.ClassUtil;
 import ratpack.reload.internal.ReloadableFileBackedFactory;
+import ratpack.server.internal.DefaultStartupTimeline;
 
 import javax.inject.Provider;
 import java.io.File;
@@ -62,7 +64,7 @@ public class DefaultGuiceBackedHandlerFactory implements GuiceBackedHandlerFacto
           public InjectorBindingHandler produce(Path file, ByteBuf bytes) throws Exception {
             return doCreate(modulesAction, moduleTransformer, injectorTransformer);
           }
-        });
+        }).closeWith(launchConfig.getExecController());
 
         return new FactoryHandler(factory);
       }
@@ -74,44 +76,58 @@ public class DefaultGuiceBackedHandlerFactory implements GuiceBackedHandlerFacto
   private InjectorBindingHandler doCreate(Action<? super BindingsSpec> modulesAction, Function<? super Module, ? extends Injector> moduleTransformer, Function<? super Injector, ? extends Handler> injectorTransformer) throws Exception {
     DefaultBindingsSpec moduleRegistry = new DefaultBindingsSpec(launchConfig);
 
-    registerDefaultModules(moduleRegistry);
-    try {
-      modulesAction.execute(moduleRegistry);
-    } catch (Exception e) {
-      throw uncheck(e);
-    }
+    List<? extends Module> modules = DefaultStartupTimeline.phase("guice modules", () -> {
+      registerDefaultModules(moduleRegistry);
+      try {
+        modulesAction.execute(moduleRegistry);
+      } catch (Exception e) {
+        throw uncheck(e);
+      }
+      return moduleRegistry.getModules();
+    });
 
-    Module masterModule = null;
-    List<? extends Module> modules = moduleRegistry.getModules();
-    for (Module module : modules) {
-      if (masterModule == null) {
-        masterModule = module;
-      } else {
-        masterModule = Modules.override(masterModule).with(module);
+    Injector injector = DefaultStartupTimeline.phase("guice injector", () -> {
+      Module masterModule = null;
+      for (Module module : modules) {
+        if (masterModule == null) {
+          masterModule = module;
+        } else {
+          masterModule = Modules.override(masterModule).with(module);
+        }
       }
-    }
 
-    Injector injector = moduleTransformer.apply(masterModule);
+      Injector created = moduleTransformer.apply(masterModule);
 
-    List<Action<Injector>> init = moduleRegistry.init;
-    for (Action<Injector> initAction : init) {
-      initAction.execute(injector);
-    }
+      List<Action<Injector>> init = moduleRegistry.init;
+      for (Action<Injector> initAction : init) {
+        initAction.execute(created);
+      }
+
+      return created;
+    });
 
-    Handler decorated = injectorTransformer.apply(injector);
+    Handler decorated = DefaultStartupTimeline.phase("guice handler", () -> {
+      Handler handler = injectorTransformer.apply(injector);
 
-    List<Module> modulesReversed = new ArrayList<>(modules);
-    Collections.reverse(modulesReversed);
+      List<Module> modulesReversed = new ArrayList<>(modules);
+      Collections.reverse(modulesReversed);
 
-    for (Module module : modulesReversed) {
-      if (module instanceof HandlerDecoratingModule) {
-        decorated = ((HandlerDecoratingModule) module).decorate(injector, decorated);
+      for (Module module : modulesReversed) {
+        if (module instanceof HandlerDecoratingModule) {
+          handler = ((HandlerDecoratingModule) module).decorate(injector, handler);
+        }
       }
-    }
+
+      return handler;
+    });
 
     decorated = Handlers.chain(decorateHandler(decorated), Handlers.notFound());
 
-    return new InjectorBindingHandler(injector, decorated);
+    if (Boolean.parseBoolean(launchConfig.getOther("guice.precomputeBindings", "false"))) {
+      return new InjectorBindingHandler(Registries.backedRegistry(new PrecomputedInjectorRegistryBacking(injector)), decorated);
+    } else {
+      return new InjectorBindingHandler(injector, decorated);
+    }
   }
 
   protected Handler decorateHandler(Handler handler) {
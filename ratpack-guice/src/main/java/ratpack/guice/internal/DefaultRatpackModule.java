@@ -39,6 +39,9 @@ public class DefaultRatpackModule extends AbstractModule {
   @Override
   protected void configure() {
     bind(LaunchConfig.class).toInstance(launchConfig);
+    if (Boolean.parseBoolean(launchConfig.getOther(ProvisioningMetrics.ENABLED_PROPERTY_NAME, "false"))) {
+      bind(ProvisioningMetrics.class).toInstance(new ProvisioningMetrics());
+    }
   }
 
   @Provides
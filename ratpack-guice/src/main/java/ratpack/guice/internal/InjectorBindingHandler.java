@@ -28,8 +28,12 @@ public class InjectorBindingHandler implements Handler {
   private final Registry registry;
 
   public InjectorBindingHandler(Injector injector, Handler handler) {
+    this(Guice.registry(injector), handler);
+  }
+
+  public InjectorBindingHandler(Registry registry, Handler handler) {
     this.handler = handler;
-    this.registry = Guice.registry(injector);
+    this.registry = registry;
   }
 
   public void handle(Context context) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2013 the original author or authors.
+ * Copyright 2014 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -14,35 +14,101 @@
  * limitations under the License.
  */
 
+
 package ratpack.guice.internal;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.reflect.TypeToken;
-import com.google.inject.ConfigurationException;
-import com.google.inject.Injector;
-import com.google.inject.Key;
-import com.google.inject.TypeLiteral;
+import com.google.inject.*;
+import ratpack.api.Nullable;
 import ratpack.guice.Guice;
 import ratpack.registry.internal.CachingBackedRegistry;
+import ratpack.registry.internal.TypeCaching;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static ratpack.util.Types.cast;
 
+/**
+ * A registry that will create objects via “just-in-time” binding if they are not explicitly bound.
+ * <p>
+ * The outcome of resolving each type is cached, including the absence of a binding, so that repeated misses do not go back to the injector
+ * (which reports them by throwing an exception).
+ * Singletons are held once provisioned.
+ * If {@link ProvisioningMetrics} is bound in the injector, the provisioning of everything else is timed in it.
+ */
 public class JustInTimeInjectorRegistry extends CachingBackedRegistry {
 
+  private static final Supplier<Object> ABSENT = () -> null;
+
   private final Injector injector;
+  private final ProvisioningMetrics provisioningMetrics; // null if not timing
+  private final ConcurrentMap<TypeToken<?>, Supplier<?>> suppliers = new ConcurrentHashMap<>();
 
   public JustInTimeInjectorRegistry(Injector injector) {
     super(Guice.registryBacking(injector));
     this.injector = injector;
+
+    Binding<ProvisioningMetrics> metricsBinding = injector.getExistingBinding(Key.get(ProvisioningMetrics.class));
+    this.provisioningMetrics = metricsBinding == null ? null : metricsBinding.getProvider().get();
+  }
+
+  @Nullable
+  public ProvisioningMetrics getProvisioningMetrics() {
+    return provisioningMetrics;
   }
 
   public <T> T maybeGet(Class<T> type) {
-    return maybeGet(TypeToken.of(type));
+    return maybeGet(TypeCaching.typeToken(type));
   }
 
   public <T> T maybeGet(TypeToken<T> type) {
-    @SuppressWarnings("unchecked") TypeLiteral<T> typeLiteral = (TypeLiteral<T>) TypeLiteral.get(type.getType());
-    try {
-      return injector.getInstance(Key.get(typeLiteral));
-    } catch (ConfigurationException e) {
-      return null;
+    Supplier<?> supplier = suppliers.get(type);
+    if (supplier == null) {
+      supplier = resolve(type);
+      Supplier<?> existing = suppliers.putIfAbsent(type, supplier);
+      if (existing != null) {
+        supplier = existing;
+      }
+    }
+    return cast(supplier.get());
+  }
+
+  private <T> Supplier<?> resolve(TypeToken<T> type) {
+    @SuppressWarnings("unchecked") Key<T> key = (Key<T>) Key.get(type.getType());
+    Binding<T> binding = injector.getExistingBinding(key);
+    if (binding == null) {
+      try {
+        binding = injector.getBinding(key);
+      } catch (ConfigurationException e) {
+        return ABSENT;
+      }
+    }
+
+    Provider<T> provider = binding.getProvider();
+    Supplier<T> supplier = provisioningMetrics == null ? provider::get : new TimedSupplier<>(provider, provisioningMetrics.metric(key));
+    return Scopes.isSingleton(binding) ? Suppliers.memoize(supplier) : supplier;
+  }
+
+  private static class TimedSupplier<T> implements Supplier<T> {
+    private final Provider<T> provider;
+    private final ProvisioningMetrics.Metric metric;
+
+    private TimedSupplier(Provider<T> provider, ProvisioningMetrics.Metric metric) {
+      this.provider = provider;
+      this.metric = metric;
+    }
+
+    @Override
+    public T get() {
+      long start = System.nanoTime();
+      try {
+        return provider.get();
+      } finally {
+        metric.record(System.nanoTime() - start);
+      }
     }
   }
 
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.guice.internal;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.TypeToken;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Scopes;
+import ratpack.registry.RegistryBacking;
+import ratpack.registry.internal.TypeCaching;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A registry backing that resolves all singleton bindings of an injector (and its parents) up front.
+ * <p>
+ * Lookups of singletons then return direct references without going through the injector.
+ * Bindings in other scopes are still provisioned from their provider for each lookup.
+ * Any failure to provision a singleton is thrown from the constructor, so that it is reported at startup.
+ */
+public class PrecomputedInjectorRegistryBacking implements RegistryBacking {
+
+  private final List<Entry> entries;
+  private final Injector injector;
+
+  public PrecomputedInjectorRegistryBacking(Injector injector) {
+    this.injector = injector;
+    ImmutableList.Builder<Entry> builder = ImmutableList.builder();
+    for (Injector current = injector; current != null; current = current.getParent()) {
+      for (Map.Entry<Key<?>, Binding<?>> binding : current.getAllBindings().entrySet()) {
+        builder.add(entry(binding.getKey(), binding.getValue()));
+      }
+    }
+    this.entries = builder.build();
+  }
+
+  private static Entry entry(Key<?> key, Binding<?> binding) {
+    TypeToken<?> type = GuiceUtil.toTypeToken(key.getTypeLiteral());
+    Provider<?> provider = binding.getProvider();
+    if (Scopes.isSingleton(binding)) {
+      return new Entry(type, Suppliers.ofInstance(provider.get()));
+    } else {
+      return new Entry(type, provider::get);
+    }
+  }
+
+  @Override
+  public <T> Iterable<Supplier<? extends T>> provide(TypeToken<T> type) {
+    ImmutableList.Builder<Supplier<? extends T>> suppliers = ImmutableList.builder();
+    for (Entry entry : entries) {
+      if (TypeCaching.isAssignableFrom(type, entry.type)) {
+        @SuppressWarnings("unchecked") Supplier<? extends T> supplier = (Supplier<? extends T>) entry.supplier;
+        suppliers.add(supplier);
+      }
+    }
+    return suppliers.build();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+
+    PrecomputedInjectorRegistryBacking that = (PrecomputedInjectorRegistryBacking) o;
+
+    return injector.equals(that.injector);
+  }
+
+  @Override
+  public int hashCode() {
+    return injector.hashCode();
+  }
+
+  private static class Entry {
+    private final TypeToken<?> type;
+    private final Supplier<?> supplier;
+
+    private Entry(TypeToken<?> type, Supplier<?> supplier) {
+      this.type = type;
+      this.supplier = supplier;
+    }
+  }
+
+}
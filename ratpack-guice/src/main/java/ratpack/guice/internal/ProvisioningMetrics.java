@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.guice.internal;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Key;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts and times the provisioning of objects retrieved from an injector through a registry, by key.
+ * <p>
+ * Provisioning is only timed if this is bound in the injector, which Ratpack does when the {@value #ENABLED_PROPERTY_NAME} property is {@code true}
+ * (e.g. {@code -Dratpack.other.guice.provisioningMetrics=true}).
+ */
+public class ProvisioningMetrics {
+
+  public static final String ENABLED_PROPERTY_NAME = "guice.provisioningMetrics";
+
+  private final ConcurrentMap<Key<?>, Metric> metrics = new ConcurrentHashMap<>();
+
+  public Metric metric(Key<?> key) {
+    Metric metric = metrics.get(key);
+    if (metric == null) {
+      metric = new Metric();
+      Metric existing = metrics.putIfAbsent(key, metric);
+      if (existing != null) {
+        metric = existing;
+      }
+    }
+    return metric;
+  }
+
+  public ImmutableMap<Key<?>, Metric> getMetrics() {
+    return ImmutableMap.copyOf(metrics);
+  }
+
+  public static class Metric {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+      count.increment();
+      totalNanos.add(nanos);
+      long max = maxNanos.get();
+      while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+        max = maxNanos.get();
+      }
+    }
+
+    public long getCount() {
+      return count.sum();
+    }
+
+    public long getTotalNanos() {
+      return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+      return maxNanos.get();
+    }
+
+    @Override
+    public String toString() {
+      return "Metric{count=" + getCount() + ", totalNanos=" + getTotalNanos() + ", maxNanos=" + getMaxNanos() + '}';
+    }
+  }
+
+}
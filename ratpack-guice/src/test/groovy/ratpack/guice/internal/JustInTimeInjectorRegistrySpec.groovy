@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.guice.internal
+
+import com.google.inject.AbstractModule
+import com.google.inject.Guice
+import com.google.inject.Key
+import com.google.inject.Singleton
+import spock.lang.Specification
+
+class JustInTimeInjectorRegistrySpec extends Specification {
+
+  static interface Unbound {}
+
+  static class Thing {}
+
+  @Singleton
+  static class SingletonThing {}
+
+  def injector = Guice.createInjector(new AbstractModule() {
+    @Override
+    protected void configure() {
+      bind(ProvisioningMetrics).toInstance(new ProvisioningMetrics())
+      bind(CharSequence).toInstance("bound")
+    }
+  })
+
+  def registry = new JustInTimeInjectorRegistry(injector)
+
+  def "misses return null"() {
+    expect:
+    registry.maybeGet(Unbound) == null
+    registry.maybeGet(Unbound) == null
+    registry.getAll(Unbound).toList().empty
+  }
+
+  def "provides explicit and just in time bindings"() {
+    expect:
+    registry.get(CharSequence) == "bound"
+    registry.get(Thing) instanceof Thing
+    !registry.get(Thing).is(registry.get(Thing))
+    registry.get(SingletonThing).is(registry.get(SingletonThing))
+  }
+
+  def "provisioning is recorded by key"() {
+    when:
+    3.times { registry.get(Thing) }
+    3.times { registry.get(SingletonThing) }
+
+    then:
+    registry.provisioningMetrics.is(injector.getInstance(ProvisioningMetrics))
+    def metrics = registry.provisioningMetrics.metrics
+    metrics[Key.get(Thing)].count == 3
+    metrics[Key.get(SingletonThing)].count == 1
+    metrics[Key.get(Thing)].totalNanos >= metrics[Key.get(Thing)].maxNanos
+  }
+
+  def "provisioning is not timed unless metrics are bound"() {
+    given:
+    def registry = new JustInTimeInjectorRegistry(Guice.createInjector())
+
+    expect:
+    registry.provisioningMetrics == null
+    registry.get(Thing) instanceof Thing
+    registry.get(SingletonThing).is(registry.get(SingletonThing))
+  }
+
+}
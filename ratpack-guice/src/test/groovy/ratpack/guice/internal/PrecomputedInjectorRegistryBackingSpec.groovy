@@ -0,0 +1,105 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.guice.internal
+
+import com.google.inject.AbstractModule
+import com.google.inject.Guice
+import com.google.inject.ProvisionException
+import ratpack.registry.Registries
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.atomic.AtomicInteger
+
+class PrecomputedInjectorRegistryBackingSpec extends Specification {
+
+  @Singleton
+  static class Service {
+    static final AtomicInteger CREATED = new AtomicInteger()
+
+    Service() {
+      CREATED.incrementAndGet()
+    }
+  }
+
+  def "singletons are provisioned up front and others on each lookup"() {
+    given:
+    Service.CREATED.set(0)
+    def counter = new AtomicInteger()
+    def injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bind(Service)
+        bind(Integer).toProvider({ counter.incrementAndGet() } as com.google.inject.Provider)
+      }
+    })
+
+    when:
+    def registry = Registries.backedRegistry(new PrecomputedInjectorRegistryBacking(injector))
+
+    then:
+    Service.CREATED.get() == 1
+    registry.get(Service).is(registry.get(Service))
+    registry.get(Service).is(injector.getInstance(Service))
+    Service.CREATED.get() == 1
+    registry.get(Integer) == 1
+    registry.get(Integer) == 2
+    registry.maybeGet(Map) == null
+  }
+
+  def "parent bindings are included"() {
+    given:
+    def parent = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bind(String).toInstance("parent")
+      }
+    })
+    def child = parent.createChildInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bind(CharSequence).toInstance(new StringBuilder("child"))
+      }
+    })
+
+    when:
+    def registry = Registries.backedRegistry(new PrecomputedInjectorRegistryBacking(child))
+
+    then:
+    registry.get(String) == "parent"
+    registry.getAll(CharSequence)*.toString() == ["child", "parent"]
+  }
+
+  def "singleton provisioning failures are thrown up front"() {
+    given:
+    def injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bind(String).toProvider({ throw new IllegalStateException("!") } as com.google.inject.Provider).in(com.google.inject.Singleton)
+      }
+    })
+
+    when:
+    new PrecomputedInjectorRegistryBacking(injector)
+
+    then:
+    def e = thrown ProvisionException
+    e.cause instanceof IllegalStateException
+  }
+
+}
@@ -29,6 +29,7 @@ import ratpack.file.FileSystemBinding;
 import ratpack.func.Action;
 import ratpack.guice.internal.GuiceUtil;
 import ratpack.handlebars.internal.FileSystemBindingTemplateLoader;
+import ratpack.handlebars.internal.HandlebarsTemplatePrecompiler;
 import ratpack.handlebars.internal.HandlebarsTemplateRenderer;
 import ratpack.handlebars.internal.RatpackTemplateCache;
 import ratpack.handlebars.internal.TemplateKey;
@@ -56,6 +57,18 @@ import ratpack.launch.LaunchConfig;
  * </p>
  * <p>Custom handlebars helpers can be registered by binding instances of {@link ratpack.handlebars.NamedHelper}.</p>
  * <p>
+ * Rendered output is written directly into pooled buffers and sent in one piece.
+ * For large pages, {@link #setStreaming(Boolean)} or the {@code other.handlebars.streaming} configuration property can be used to
+ * render on a blocking thread and send the output to the client in chunks as it is produced, instead of holding it all in memory.
+ * </p>
+ * <p>
+ * Templates are compiled when first rendered by default.
+ * {@link #setPrecompile(Boolean)} or the {@code other.handlebars.precompile} configuration property can be used to compile all templates
+ * in parallel on the blocking executor when the application starts, before it handles any requests.
+ * Compiled Handlebars templates are held in memory as objects rather than classes, so unlike Groovy templates
+ * (see {@code other.groovy.compiledClassCache}) they cannot be stored on disk between restarts.
+ * </p>
+ * <p>
  * Example usage: (Java DSL)
  * </p>
  * <pre class="tested">
@@ -123,6 +136,10 @@ public class HandlebarsModule extends AbstractModule {
 
   private Boolean reloadable;
 
+  private Boolean streaming;
+
+  private Boolean precompile;
+
   public String getTemplatesPath() {
     return templatesPath;
   }
@@ -155,9 +172,33 @@ public class HandlebarsModule extends AbstractModule {
     this.reloadable = reloadable;
   }
 
+  public Boolean getStreaming() {
+    return streaming;
+  }
+
+  public void setStreaming(Boolean streaming) {
+    this.streaming = streaming;
+  }
+
+  public Boolean getPrecompile() {
+    return precompile;
+  }
+
+  public void setPrecompile(Boolean precompile) {
+    this.precompile = precompile;
+  }
+
   @Override
   protected void configure() {
-    bind(HandlebarsTemplateRenderer.class).in(Singleton.class);
+    requestInjection(new HandlebarsTemplatePrecompiler(precompile));
+  }
+
+  @SuppressWarnings("UnusedDeclaration")
+  @Provides
+  @Singleton
+  HandlebarsTemplateRenderer provideTemplateRenderer(Handlebars handlebars, LaunchConfig launchConfig) {
+    boolean streaming = this.streaming == null ? Boolean.parseBoolean(launchConfig.getOther("handlebars.streaming", "false")) : this.streaming;
+    return new HandlebarsTemplateRenderer(handlebars, streaming);
   }
 
   @SuppressWarnings("UnusedDeclaration")
@@ -33,6 +33,10 @@ public class FileSystemBindingTemplateLoader extends AbstractTemplateLoader {
     setSuffix(suffix);
   }
 
+  public FileSystemBinding getFileSystemBinding() {
+    return fileSystemBinding;
+  }
+
   @Override
   public TemplateSource sourceAt(String location) throws IOException {
     String resolved = resolve(location);
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.handlebars.internal;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.io.TemplateLoader;
+import ratpack.file.internal.FileTreePrecompiler;
+import ratpack.launch.LaunchConfig;
+
+import javax.inject.Inject;
+
+public class HandlebarsTemplatePrecompiler {
+
+  private final Boolean precompile;
+
+  public HandlebarsTemplatePrecompiler(Boolean precompile) {
+    this.precompile = precompile;
+  }
+
+  @Inject
+  public void precompile(LaunchConfig launchConfig, Handlebars handlebars, TemplateLoader templateLoader) throws InterruptedException {
+    boolean precompile = this.precompile == null ? Boolean.parseBoolean(launchConfig.getOther("handlebars.precompile", "false")) : this.precompile;
+    if (precompile && templateLoader instanceof FileSystemBindingTemplateLoader) {
+      FileSystemBindingTemplateLoader loader = (FileSystemBindingTemplateLoader) templateLoader;
+      String suffix = loader.getSuffix();
+      new FileTreePrecompiler(loader.getFileSystemBinding().getFile(), suffix, launchConfig.getExecController().getBlockingExecutor())
+        .precompile("Handlebars templates", path -> handlebars.compile(path.substring(0, path.length() - suffix.length())));
+    }
+  }
+
+}
@@ -21,17 +21,18 @@ import ratpack.file.MimeTypes;
 import ratpack.handlebars.Template;
 import ratpack.handling.Context;
 import ratpack.render.RendererSupport;
+import ratpack.render.internal.WriterRendering;
 
-import javax.inject.Inject;
 import java.io.IOException;
 
 public class HandlebarsTemplateRenderer extends RendererSupport<Template> {
 
   private final Handlebars handlebars;
+  private final boolean streaming;
 
-  @Inject
-  public HandlebarsTemplateRenderer(Handlebars handlebars) {
+  public HandlebarsTemplateRenderer(Handlebars handlebars, boolean streaming) {
     this.handlebars = handlebars;
+    this.streaming = streaming;
   }
 
   @Override
@@ -39,16 +40,15 @@ public class HandlebarsTemplateRenderer extends RendererSupport<Template> {
     String contentType = template.getContentType();
     String templateName = template.getName();
     contentType = contentType == null ? context.get(MimeTypes.class).getContentType(templateName) : contentType;
-    String renderedTemplate;
+    com.github.jknack.handlebars.Template compiledTemplate;
     try {
-      com.github.jknack.handlebars.Template compiledTemplate = handlebars.compile(templateName);
-      Object templateModel = template.getModel();
-      renderedTemplate = compiledTemplate.apply(templateModel);
+      compiledTemplate = handlebars.compile(templateName);
     } catch (IOException e) {
       context.error(e);
       return;
     }
 
-    context.getResponse().send(contentType, renderedTemplate);
+    Object templateModel = template.getModel();
+    WriterRendering.render(context, contentType, streaming, writer -> compiledTemplate.apply(templateModel, writer));
   }
 }
@@ -188,6 +188,121 @@ class HandlebarsTemplateRenderingSpec extends RatpackGroovyDslSpec {
     then:
     text == 'A'
   }
+
+  void "templates can be precompiled at startup"() {
+    given:
+    launchConfig { development(false) }
+    file 'handlebars/simple.hbs', 'A'
+    file 'handlebars/nested/other.hbs', 'X'
+
+    when:
+    bindings {
+      add new HandlebarsModule(reloadable: false, precompile: true)
+    }
+    handlers {
+      get('simple') {
+        render handlebarsTemplate('simple')
+      }
+      get('other') {
+        render handlebarsTemplate('nested/other')
+      }
+      get('none') {
+        render 'none'
+      }
+    }
+
+    then:
+    getText('none') == 'none'
+
+    when:
+    file 'handlebars/simple.hbs', 'B'
+    file 'handlebars/nested/other.hbs', 'Y'
+
+    then:
+    getText('simple') == 'A'
+    getText('other') == 'X'
+  }
+
+  @Unroll
+  void 'can render large templates when streaming is #streaming'() {
+    given:
+    file 'handlebars/large.hbs', '{{#each items}}<p>{{this}} é</p>{{/each}}'
+    def items = (1..10000).collect { "item $it" }
+
+    when:
+    bindings {
+      add new HandlebarsModule(streaming: streaming)
+    }
+    handlers {
+      get {
+        render handlebarsTemplate('large', items: items, 'text/html')
+      }
+    }
+
+    then:
+    def response = get()
+    response.body.text == items.collect { "<p>$it é</p>" }.join('')
+    response.headers.get(CONTENT_TYPE) == 'text/html'
+
+    where:
+    streaming << [false, true]
+  }
+
+  void 'streamed templates are chunked so connections can be kept alive'() {
+    given:
+    file 'handlebars/large.hbs', '{{#each items}}<p>{{this}}</p>{{/each}}'
+    def items = (1..10000).collect { "item $it" }
+
+    when:
+    bindings {
+      add new HandlebarsModule(streaming: true)
+    }
+    handlers {
+      get {
+        render handlebarsTemplate('large', items: items, 'text/html')
+      }
+    }
+
+    and:
+    def socket = new Socket(applicationUnderTest.address.host, applicationUnderTest.address.port)
+    socket.soTimeout = 5000
+    def input = new DataInputStream(new BufferedInputStream(socket.inputStream))
+    def responses = (1..2).collect {
+      socket.outputStream.write("GET / HTTP/1.1\r\nHost: localhost\r\nConnection: keep-alive\r\n\r\n".getBytes("US-ASCII"))
+      socket.outputStream.flush()
+      [readHeaders(input), readChunked(input)]
+    }
+
+    then:
+    responses.every { headers, body ->
+      headers.contains("Transfer-Encoding: chunked") && body == items.collect { "<p>$it</p>" }.join('')
+    }
+
+    cleanup:
+    socket?.close()
+  }
+
+  static List<String> readHeaders(DataInputStream input) {
+    def lines = []
+    def line
+    while ((line = input.readLine())) {
+      lines << line
+    }
+    lines
+  }
+
+  static String readChunked(DataInputStream input) {
+    def body = new ByteArrayOutputStream()
+    def size
+    while ((size = Integer.parseInt(input.readLine().split(';')[0], 16)) > 0) {
+      def chunk = new byte[size]
+      input.readFully(chunk)
+      body.write(chunk)
+      input.readLine()
+    }
+    input.readLine()
+    body.toString("UTF-8")
+  }
 }
 
 class TestHelper implements NamedHelper {
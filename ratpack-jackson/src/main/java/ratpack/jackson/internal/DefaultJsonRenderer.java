@@ -18,10 +18,10 @@ package ratpack.jackson.internal;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectWriter;
-import ratpack.func.Action;
-import ratpack.handling.ByContentSpec;
+import com.google.common.collect.ImmutableList;
+import io.netty.handler.codec.http.HttpHeaders;
 import ratpack.handling.Context;
-import ratpack.handling.Handler;
+import ratpack.http.internal.ContentNegotiator;
 import ratpack.jackson.JsonRender;
 import ratpack.jackson.JsonRenderer;
 import ratpack.render.RendererSupport;
@@ -30,6 +30,8 @@ import javax.inject.Inject;
 
 public class DefaultJsonRenderer extends RendererSupport<JsonRender> implements JsonRenderer {
 
+  private static final ContentNegotiator NEGOTIATOR = ContentNegotiator.of(ImmutableList.of("application/json"));
+
   private final ObjectWriter defaultObjectWriter;
 
   @Inject
@@ -38,31 +40,27 @@ public class DefaultJsonRenderer extends RendererSupport<JsonRender> implements
   }
 
   @Override
-  public void render(final Context context, final JsonRender object) throws Exception {
-    context.byContent(new Action<ByContentSpec>() {
-      @Override
-      public void execute(ByContentSpec byContentSpec) throws Exception {
-        byContentSpec.json(new Handler() {
-          @Override
-          public void handle(Context context) {
-            ObjectWriter writer = object.getObjectWriter();
-            if (writer == null) {
-              writer = defaultObjectWriter;
-            }
+  public void render(Context context, JsonRender object) throws Exception {
+    String contentType = NEGOTIATOR.negotiate(context.getRequest().getHeaders().get(HttpHeaders.Names.ACCEPT));
+    if (contentType == null) {
+      context.clientError(406);
+      return;
+    }
+
+    ObjectWriter writer = object.getObjectWriter();
+    if (writer == null) {
+      writer = defaultObjectWriter;
+    }
 
-            byte[] bytes;
-            try {
-              bytes = writer.writeValueAsBytes(object.getObject());
-            } catch (JsonProcessingException e) {
-              context.error(e);
-              return;
-            }
+    byte[] bytes;
+    try {
+      bytes = writer.writeValueAsBytes(object.getObject());
+    } catch (JsonProcessingException e) {
+      context.error(e);
+      return;
+    }
 
-            context.getResponse().send(bytes);
-          }
-        });
-      }
-    });
+    context.getResponse().contentType(contentType).send(bytes);
   }
 
 }
@@ -79,4 +79,28 @@ class JacksonRenderingSpec extends RatpackGroovyDslSpec {
     text == prettyString
   }
 
+  def "cannot render json when client does not accept it"() {
+    when:
+    handlers {
+      get {
+        render json(username: "foo")
+      }
+    }
+
+    and:
+    requestSpec { it.headers.add("Accept", "text/html") }
+
+    then:
+    get().statusCode == 406
+
+    when:
+    resetRequest()
+    requestSpec { it.headers.add("Accept", "text/html;q=0.5,application/json;q=0.1") }
+
+    then:
+    def response = get()
+    response.headers.get("Content-Type") == "application/json"
+    response.body.text == '{"username":"foo"}'
+  }
+
 }
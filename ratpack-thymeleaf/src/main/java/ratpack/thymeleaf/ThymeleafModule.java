@@ -29,6 +29,7 @@ import org.thymeleaf.templateresolver.ITemplateResolver;
 import org.thymeleaf.templateresolver.TemplateResolver;
 import ratpack.launch.LaunchConfig;
 import ratpack.thymeleaf.internal.FileSystemBindingThymeleafResourceResolver;
+import ratpack.thymeleaf.internal.ThymeleafTemplatePrecompiler;
 import ratpack.thymeleaf.internal.ThymeleafTemplateRenderer;
 
 import java.io.File;
@@ -52,6 +53,17 @@ import java.util.Set;
  * Response content type can be manually specified, i.e. {@code thymeleafTemplate("template", model, "text/html")} if
  * not specified will default to {@code text/html}.
  * </p>
+ * <p>
+ * Rendered output is written directly into pooled buffers and sent in one piece.
+ * For large pages, {@link #setStreaming(Boolean)} or the {@code other.thymeleaf.streaming} configuration property can be used to
+ * render on a blocking thread and send the output to the client in chunks as it is produced.
+ * </p>
+ * <p>
+ * When templates are cached, {@link #setPrecompile(Boolean)} or the {@code other.thymeleaf.precompile} configuration property can be used to
+ * parse all templates in parallel on the blocking executor when the application starts, before it handles any requests.
+ * Parsed Thymeleaf templates are held in memory as objects rather than classes, so unlike Groovy templates
+ * (see {@code other.groovy.compiledClassCache}) they cannot be stored on disk between restarts.
+ * </p>
  *
  * Example usage: (Java DSL)
  * <pre class="tested">
@@ -171,6 +183,8 @@ public class ThymeleafModule extends AbstractModule {
   private String templatesPrefix;
   private String templatesSuffix;
   private Integer templatesCacheSize;
+  private Boolean streaming;
+  private Boolean precompile;
 
   public String getTemplatesMode() {
     return templatesMode;
@@ -204,10 +218,26 @@ public class ThymeleafModule extends AbstractModule {
     this.templatesCacheSize = templatesCacheSize;
   }
 
+  public Boolean getStreaming() {
+    return streaming;
+  }
+
+  public void setStreaming(Boolean streaming) {
+    this.streaming = streaming;
+  }
+
+  public Boolean getPrecompile() {
+    return precompile;
+  }
+
+  public void setPrecompile(Boolean precompile) {
+    this.precompile = precompile;
+  }
+
   @Override
   protected void configure() {
     Multibinder.newSetBinder(binder(), IDialect.class);
-    bind(ThymeleafTemplateRenderer.class).in(Singleton.class);
+    requestInjection(new ThymeleafTemplatePrecompiler(precompile));
     bind(ICacheManager.class).to(StandardCacheManager.class).in(Singleton.class);
   }
 
@@ -267,6 +297,14 @@ public class ThymeleafModule extends AbstractModule {
     return templateEngine;
   }
 
+  @SuppressWarnings("UnusedDeclaration")
+  @Provides
+  @Singleton
+  ThymeleafTemplateRenderer provideTemplateRenderer(TemplateEngine templateEngine, LaunchConfig launchConfig) {
+    boolean streaming = this.streaming == null ? Boolean.parseBoolean(launchConfig.getOther("thymeleaf.streaming", "false")) : this.streaming;
+    return new ThymeleafTemplateRenderer(templateEngine, streaming);
+  }
+
   private Integer getCacheSizeSetting(LaunchConfig launchConfig) {
     return templatesCacheSize == null ? Integer.valueOf(launchConfig.getOther("thymeleaf.templatesCacheSize", "0")) : templatesCacheSize;
   }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ratpack.thymeleaf.internal;
+
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.TemplateProcessingParameters;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+import org.thymeleaf.templateresolver.TemplateResolver;
+import ratpack.file.internal.FileTreePrecompiler;
+import ratpack.launch.LaunchConfig;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.nio.file.Path;
+
+public class ThymeleafTemplatePrecompiler {
+
+  private final Boolean precompile;
+
+  public ThymeleafTemplatePrecompiler(Boolean precompile) {
+    this.precompile = precompile;
+  }
+
+  @Inject
+  public void precompile(LaunchConfig launchConfig, TemplateEngine templateEngine, ITemplateResolver templateResolver) throws InterruptedException {
+    boolean precompile = this.precompile == null ? Boolean.parseBoolean(launchConfig.getOther("thymeleaf.precompile", "false")) : this.precompile;
+    if (!precompile || !(templateResolver instanceof TemplateResolver)) {
+      return;
+    }
+
+    // Parsed templates are only retained if the resolver is cacheable, which can only be asked once initialized
+    templateEngine.initialize();
+    TemplateResolver resolver = (TemplateResolver) templateResolver;
+    if (!resolver.isCacheable()) {
+      return;
+    }
+
+    String prefix = resolver.getPrefix();
+    if (prefix.endsWith(File.separator)) {
+      // Trailing separators confuse relativization on some file systems, e.g. zip
+      prefix = prefix.substring(0, prefix.length() - File.separator.length());
+    }
+    Path root = launchConfig.getBaseDir().file(prefix);
+    String suffix = resolver.getSuffix();
+    new FileTreePrecompiler(root, suffix, launchConfig.getExecController().getBlockingExecutor()).precompile("Thymeleaf templates", path -> {
+      String templateName = path.substring(0, path.length() - suffix.length());
+      templateEngine.getTemplateRepository().getTemplate(new TemplateProcessingParameters(templateEngine.getConfiguration(), templateName, new Context()));
+    });
+  }
+
+}
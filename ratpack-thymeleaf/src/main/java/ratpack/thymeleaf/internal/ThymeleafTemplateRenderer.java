@@ -19,27 +19,23 @@ package ratpack.thymeleaf.internal;
 import org.thymeleaf.TemplateEngine;
 import ratpack.handling.Context;
 import ratpack.render.RendererSupport;
+import ratpack.render.internal.WriterRendering;
 import ratpack.thymeleaf.Template;
 
-import javax.inject.Inject;
-
 public class ThymeleafTemplateRenderer extends RendererSupport<Template> {
 
   private final TemplateEngine thymeleaf;
+  private final boolean streaming;
 
-  @Inject
-  public ThymeleafTemplateRenderer(TemplateEngine thymeleaf) {
+  public ThymeleafTemplateRenderer(TemplateEngine thymeleaf, boolean streaming) {
     this.thymeleaf = thymeleaf;
+    this.streaming = streaming;
   }
 
   @Override
   public void render(Context context, Template template) {
     String contentType = template.getContentType();
     contentType = contentType == null ? "text/html" : contentType;
-    try {
-      context.getResponse().send(contentType, thymeleaf.process(template.getName(), template.getModel()));
-    } catch (Exception e) {
-      context.error(e);
-    }
+    WriterRendering.render(context, contentType, streaming, writer -> thymeleaf.process(template.getName(), template.getModel(), writer));
   }
 }
@@ -285,4 +285,118 @@ class ThymeleafTemplateSpec extends RatpackGroovyDslSpec {
     then:
     text == '<p>Hello, World!</p>'
   }
+  void 'templates can be precompiled at startup'() {
+    given:
+    launchConfig { development(false) }
+    file 'thymeleaf/simple.html', '<span>A</span>'
+    file 'thymeleaf/inside/simple.html', '<span>X</span>'
+
+    when:
+    bindings {
+      add new ThymeleafModule(templatesCacheSize: 10, precompile: true)
+    }
+    handlers {
+      get('simple') {
+        render thymeleafTemplate('simple')
+      }
+      get('inside') {
+        render thymeleafTemplate('inside/simple')
+      }
+      get('none') {
+        render 'none'
+      }
+    }
+
+    then:
+    getText('none') == 'none'
+
+    when:
+    file 'thymeleaf/simple.html', '<span>B</span>'
+    file 'thymeleaf/inside/simple.html', '<span>Y</span>'
+
+    then:
+    getText('simple') == '<span>A</span>'
+    getText('inside') == '<span>X</span>'
+  }
+
+  @Unroll
+  void 'can render large templates when streaming is #streaming'() {
+    given:
+    file 'thymeleaf/large.html', '<div><p th:each="item : ${items}" th:text="${item}"/></div>'
+    def items = (1..10000).collect { "item $it é" }
+
+    when:
+    bindings {
+      add new ThymeleafModule(streaming: streaming)
+    }
+    handlers {
+      get {
+        render thymeleafTemplate('large', items: items)
+      }
+    }
+
+    then:
+    def response = get()
+    response.body.text == '<div>' + items.collect { "<p>$it</p>" }.join('') + '</div>'
+
+    where:
+    streaming << [false, true]
+  }
+
+  void 'streamed templates are chunked so connections can be kept alive'() {
+    given:
+    file 'thymeleaf/large.html', '<div><p th:each="item : ${items}" th:text="${item}"/></div>'
+    def items = (1..10000).collect { "item $it" }
+
+    when:
+    bindings {
+      add new ThymeleafModule(streaming: true)
+    }
+    handlers {
+      get {
+        render thymeleafTemplate('large', items: items)
+      }
+    }
+
+    and:
+    def socket = new Socket(applicationUnderTest.address.host, applicationUnderTest.address.port)
+    socket.soTimeout = 5000
+    def input = new DataInputStream(new BufferedInputStream(socket.inputStream))
+    def responses = (1..2).collect {
+      socket.outputStream.write("GET / HTTP/1.1\r\nHost: localhost\r\nConnection: keep-alive\r\n\r\n".getBytes("US-ASCII"))
+      socket.outputStream.flush()
+      [readHeaders(input), readChunked(input)]
+    }
+
+    then:
+    responses.every { headers, body ->
+      headers.contains("Transfer-Encoding: chunked") && body == '<div>' + items.collect { "<p>$it</p>" }.join('') + '</div>'
+    }
+
+    cleanup:
+    socket?.close()
+  }
+
+  static List<String> readHeaders(DataInputStream input) {
+    def lines = []
+    def line
+    while ((line = input.readLine())) {
+      lines << line
+    }
+    lines
+  }
+
+  static String readChunked(DataInputStream input) {
+    def body = new ByteArrayOutputStream()
+    def size
+    while ((size = Integer.parseInt(input.readLine().split(';')[0], 16)) > 0) {
+      def chunk = new byte[size]
+      input.readFully(chunk)
+      body.write(chunk)
+      input.readLine()
+    }
+    input.readLine()
+    body.toString("UTF-8")
+  }
+
 }